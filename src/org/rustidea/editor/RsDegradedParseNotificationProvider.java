@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.editor;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.ui.EditorNotificationPanel;
+import com.intellij.ui.EditorNotifications;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.parser.RsParseBudget;
+import org.rustidea.psi.RsFile;
+
+public class RsDegradedParseNotificationProvider extends EditorNotifications.Provider<EditorNotificationPanel>
+    implements DumbAware {
+    private static final Key<EditorNotificationPanel> KEY = Key.create("rustidea.degraded.parse");
+
+    @NotNull
+    private final Project project;
+
+    public RsDegradedParseNotificationProvider(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @NotNull
+    @Override
+    public Key<EditorNotificationPanel> getKey() {
+        return KEY;
+    }
+
+    @Nullable
+    @Override
+    public EditorNotificationPanel createNotificationPanel(@NotNull final VirtualFile file,
+                                                           @NotNull FileEditor fileEditor) {
+        final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (!(psiFile instanceof RsFile)) {
+            return null;
+        }
+
+        final EditorNotificationPanel panel = new EditorNotificationPanel();
+        if (RsParseBudget.isFullParseForced(file)) {
+            panel.setText("Parse limits are turned off for this file");
+            panel.createActionLabel("Restore limits", new Runnable() {
+                @Override
+                public void run() {
+                    RsParseBudget.restoreLimits(project, file);
+                }
+            });
+            return panel;
+        }
+
+        // degraded mode depends only on text length, so it is known before the file is parsed
+        if (isOverSizeLimit(file)) {
+            panel.setText("This file is too large: only top-level items are parsed and code analysis is disabled");
+        } else if (RsParseBudget.isSlow(psiFile)) {
+            panel.setText("This file took too long to parse: code analysis is disabled");
+        } else {
+            return null;
+        }
+        panel.createActionLabel("Parse fully", new Runnable() {
+            @Override
+            public void run() {
+                RsParseBudget.forceFullParse(project, file);
+            }
+        });
+        return panel;
+    }
+
+    private static boolean isOverSizeLimit(@NotNull final VirtualFile file) {
+        final Document document = FileDocumentManager.getInstance().getDocument(file);
+        return document != null && RsParseBudget.exceedsSizeLimit(document.getTextLength());
+    }
+}
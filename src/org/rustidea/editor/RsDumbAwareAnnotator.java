@@ -17,7 +17,6 @@
 package org.rustidea.editor;
 
 import com.google.common.base.Strings;
-import com.google.common.collect.Lists;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.openapi.editor.colors.TextAttributesKey;
@@ -25,7 +24,10 @@ import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.util.Processor;
 import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParseBudget;
 import org.rustidea.psi.RsAttribute;
 import org.rustidea.psi.RsElementVisitor;
 import org.rustidea.psi.RsLiteral;
@@ -35,11 +37,17 @@ import org.rustidea.psi.util.RsPsiTreeUtil;
 import org.rustidea.psi.util.RsPsiUtil;
 
 import java.util.Collection;
-import java.util.List;
 
 public class RsDumbAwareAnnotator implements Annotator, DumbAware {
+    // literals never contain other literals, so there is no need to walk their tokens
+    private static final TokenSet LITERAL_TOKEN_SET = TokenSet.create(RsPsiTypes.LITERAL);
+
     @Override
     public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+        if (RsParseBudget.isAnalysisSkipped(element.getContainingFile())) {
+            return;
+        }
+
         element.accept(new Visitor(holder));
     }
 
@@ -59,23 +67,25 @@ public class RsDumbAwareAnnotator implements Annotator, DumbAware {
             final TextAttributesKey textAttributesKey =
                 attribute.isInner() ? RsSyntaxHighlighter.INNER_ATTRIBUTE : RsSyntaxHighlighter.ATTRIBUTE;
 
-            TextRange attrRange = attribute.getTextRange();
-            final List<TextRange> exclude = Lists.transform(
-                RsPsiTreeUtil.getChildrenOfTypeAsListRecursive(attribute, RsLiteral.class),
-                RsPsiUtil.TEXT_RANGE_EXTRACTOR);
+            final TextRange[] remaining = {attribute.getTextRange()};
+            RsPsiTreeUtil.processDescendantsOfType(attribute, RsLiteral.class, LITERAL_TOKEN_SET, new Processor<RsLiteral>() {
+                @Override
+                public boolean process(RsLiteral literal) {
+                    final TextRange attrRange = remaining[0];
+                    final TextRange rangeToExclude = literal.getTextRange();
+                    assert attrRange.contains(rangeToExclude);
 
-            for (TextRange rangeToExclude : exclude) {
-                assert attrRange.contains(rangeToExclude);
+                    final TextRange rangeToHighlight =
+                        TextRange.create(attrRange.getStartOffset(), rangeToExclude.getStartOffset());
+                    holder.createInfoAnnotation(rangeToHighlight, null).setTextAttributes(textAttributesKey);
 
-                final TextRange rangeToHighlight =
-                    TextRange.create(attrRange.getStartOffset(), rangeToExclude.getStartOffset());
-                holder.createInfoAnnotation(rangeToHighlight, null).setTextAttributes(textAttributesKey);
-
-                attrRange = TextRange.create(rangeToExclude.getEndOffset(), attrRange.getEndOffset());
-            }
+                    remaining[0] = TextRange.create(rangeToExclude.getEndOffset(), attrRange.getEndOffset());
+                    return true;
+                }
+            });
 
-            if (!attrRange.isEmpty()) {
-                holder.createInfoAnnotation(attrRange, null).setTextAttributes(textAttributesKey);
+            if (!remaining[0].isEmpty()) {
+                holder.createInfoAnnotation(remaining[0], null).setTextAttributes(textAttributesKey);
             }
         }
 
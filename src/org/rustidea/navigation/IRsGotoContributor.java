@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.navigation;
+
+import com.intellij.navigation.ChooseByNameContributor;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.ArrayUtil;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.stubs.index.IRsStringStubIndex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Go to contributor backed only by stub indices, so looking up names never loads file contents.
+ * Elements disabled by active {@code cfg} configuration are not shown.
+ */
+public abstract class IRsGotoContributor implements ChooseByNameContributor {
+    @NotNull
+    private final IRsStringStubIndex<?>[] indices;
+
+    protected IRsGotoContributor(@NotNull final IRsStringStubIndex<?>... indices) {
+        this.indices = indices;
+    }
+
+    @NotNull
+    @Override
+    public String[] getNames(Project project, boolean includeNonProjectItems) {
+        final Set<String> names = new LinkedHashSet<String>();
+        for (IRsStringStubIndex<?> index : indices) {
+            names.addAll(index.getAllKeys(project));
+        }
+        return ArrayUtil.toStringArray(names);
+    }
+
+    @NotNull
+    @Override
+    public NavigationItem[] getItemsByName(String name, String pattern, Project project, boolean includeNonProjectItems) {
+        final GlobalSearchScope scope = includeNonProjectItems
+            ? GlobalSearchScope.allScope(project)
+            : GlobalSearchScope.projectScope(project);
+        final List<NavigationItem> result = new ArrayList<NavigationItem>();
+        for (IRsStringStubIndex<?> index : indices) {
+            for (PsiElement element : index.getEnabled(name, project, scope)) {
+                if (element instanceof NavigationItem) {
+                    result.add((NavigationItem) element);
+                }
+            }
+        }
+        return result.toArray(new NavigationItem[result.size()]);
+    }
+}
@@ -18,25 +18,51 @@ package org.rustidea.parser;
 
 import com.intellij.lang.PsiBuilder.Marker;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
-import org.rustidea.util.NotImplementedException;
+import org.jetbrains.annotations.Nullable;
 
 import static com.intellij.lang.PsiBuilderUtil.expect;
 import static org.rustidea.parser.RsParserUtil.error;
 import static org.rustidea.parser.RsParserUtil.errorExpected;
-import static org.rustidea.psi.types.RsCompositeTypes.LITERAL;
-import static org.rustidea.psi.types.RsPsiTypes.LITERAL_TOKEN_SET;
+import static org.rustidea.parser.RsParserUtil.skipBalanced;
+import static org.rustidea.psi.types.RsPsiTypes.*;
 
 class RsExpressionParser extends IRsParserBase {
     private static final Logger LOG = Logger.getInstance(RsExpressionParser.class);
+    private static final TokenSet ITEM_KEYWORD_TOKEN_SET = TokenSet.create(KW_CONST, KW_EXTERN, KW_FN, KW_MOD, KW_PUB,
+        KW_STATIC, KW_STRUCT, KW_TYPE, KW_USE);
 
     public RsExpressionParser(@NotNull final RsParser parser) {
         super(parser);
     }
 
+    /**
+     * Placeholder until expressions are parsed: skips tokens up to semicolon, unmatched right delimiter or keyword
+     * starting an item, without building any PSI. Delimited groups are skipped as a whole.
+     */
     public boolean expression() {
         // TODO:RJP-12 Implement this.
-        throw new NotImplementedException();
+        if (!canStartExpression(builder.getTokenType())) {
+            return false;
+        }
+
+        while (canStartExpression(builder.getTokenType())) {
+            if (LEFT_DELIMITER_TOKEN_SET.contains(builder.getTokenType())) {
+                skipBalanced(builder);
+            } else {
+                builder.advanceLexer();
+            }
+        }
+        return true;
+    }
+
+    private static boolean canStartExpression(@Nullable final IElementType token) {
+        return token != null
+            && token != OP_SEMICOLON
+            && !RIGHT_DELIMITER_TOKEN_SET.contains(token)
+            && !ITEM_KEYWORD_TOKEN_SET.contains(token);
     }
 
     public boolean expectExpression() {
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.parser;
+
+import com.intellij.lang.PsiBuilder.Marker;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserMemo.Rule;
+
+import static com.intellij.lang.PsiBuilderUtil.expect;
+import static org.rustidea.parser.RsParserUtil.*;
+import static org.rustidea.psi.types.RsPsiTypes.*;
+import static org.rustidea.psi.util.RsPsiUtil.getHumanReadableName;
+
+class RsMacroParser extends IRsParserBase {
+    private static final Logger LOG = Logger.getInstance(RsMacroParser.class);
+
+    public RsMacroParser(@NotNull final RsParser parser) {
+        super(parser);
+    }
+
+    public boolean macroInvocation() {
+        final Marker marker = builder.mark();
+
+        if (!macroInvocationHead()) {
+            marker.rollbackTo();
+            return false;
+        }
+
+        final IElementType leftDelimiter = builder.getTokenType();
+        if (!tokenTree()) {
+            error(builder, "expected one of '(', '[' or '{'");
+        } else if (leftDelimiter != OP_LBRACE) {
+            semicolon(builder);
+        }
+
+        marker.drop(); // PSI element will be marked in #item()
+        return true;
+    }
+
+    /**
+     * Parse macro invocation in statement position. Unlike in items, invocation delimited with {@code ()} or
+     * {@code []} may end a block without semicolon. If it is followed by anything else, it is a part of
+     * some larger expression and is left for the caller.
+     */
+    public boolean macroInvocationStatement() {
+        parser.countExecution(Rule.MACRO_INVOCATION_STATEMENT);
+        final Marker marker = builder.mark();
+
+        if (!macroInvocationHead()) {
+            marker.rollbackTo();
+            return false;
+        }
+
+        final IElementType leftDelimiter = builder.getTokenType();
+        if (!tokenTree()) {
+            marker.rollbackTo();
+            return false;
+        }
+
+        if (leftDelimiter != OP_LBRACE && !expect(builder, OP_SEMICOLON) && builder.getTokenType() != OP_RBRACE) {
+            // - vec![1, 2].len();
+            marker.rollbackTo();
+            return false;
+        }
+
+        marker.done(MACRO_INVOCATION);
+        return true;
+    }
+
+    private boolean macroInvocationHead() {
+        if (!expect(builder, IDENTIFIER) || !expect(builder, OP_BANG)) {
+            return false;
+        }
+
+        // - macro_rules! foo { ... }
+        expect(builder, IDENTIFIER);
+        return true;
+    }
+
+    /**
+     * Token tree contents are not parsed here, see {@link #tokenTreeContents()}.
+     */
+    public boolean tokenTree() {
+        return collapseBalanced(builder, TOKEN_TREE);
+    }
+
+    /**
+     * Parse contents of lazy token tree. Builder should be placed at token tree's left delimiter.
+     */
+    public void tokenTreeContents() {
+        final IElementType rightDelimiter = getRightDelimiter(builder.getTokenType());
+        builder.advanceLexer();
+
+        while (!builder.eof()) {
+            final IElementType token = builder.getTokenType();
+            if (LEFT_DELIMITER_TOKEN_SET.contains(token)) {
+                tokenTree();
+            } else if (RIGHT_DELIMITER_TOKEN_SET.contains(token)) {
+                closeBalanced(builder, rightDelimiter);
+                return;
+            } else {
+                builder.advanceLexer();
+            }
+        }
+
+        error(builder, "missing " + getHumanReadableName(rightDelimiter));
+    }
+}
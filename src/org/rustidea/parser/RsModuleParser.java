@@ -20,6 +20,7 @@ import com.intellij.lang.PsiBuilder.Marker;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserMemo.Rule;
 
 import java.util.EnumSet;
 
@@ -31,6 +32,12 @@ class RsModuleParser extends IRsParserBase {
     private static final Logger LOG = Logger.getInstance(RsModuleParser.class);
     private static final TokenSet LINE_OR_BLOCK_DOC = TokenSet.create(LINE_DOC, BLOCK_DOC);
     private static final TokenSet LINE_OR_BLOCK_INNER_DOC = TokenSet.create(LINE_INNER_DOC, BLOCK_INNER_DOC);
+    private static final String CFG = "cfg";
+
+    /**
+     * Set by {@link #attribute(boolean)} when outer {@code #[cfg(...)]} attribute is parsed.
+     */
+    private boolean cfgAttributeSeen;
 
     public RsModuleParser(@NotNull final RsParser parser) {
         super(parser);
@@ -41,13 +48,24 @@ class RsModuleParser extends IRsParserBase {
             if (!(attribute(true) || item())) {
                 unexpected(builder);
             }
+            parser.checkBudget();
         }
     }
 
     public boolean item() {
+        return item(false);
+    }
+
+    /**
+     * @param inBlock if {@code true}, roll back when only modifier list has been parsed, so that attributes of
+     *                statements, e.g. {@code #[allow(unused)] let x = 1;}, are left for statement parser
+     */
+    public boolean item(final boolean inBlock) {
         final Marker marker = builder.mark();
 
+        cfgAttributeSeen = false;
         final boolean hasModifierList = modifierList();
+        final boolean isCfgGated = cfgAttributeSeen;
 
         if (externCrateDecl()) {
             marker.done(EXTERN_CRATE_DECL);
@@ -59,11 +77,16 @@ class RsModuleParser extends IRsParserBase {
             return true;
         }
 
-        if (mod()) {
+        if (mod(isCfgGated)) {
             marker.done(MODULE);
             return true;
         }
 
+        if (function()) {
+            marker.done(FUNCTION);
+            return true;
+        }
+
         if (constItem()) {
             marker.done(CONST_ITEM);
             return true;
@@ -84,7 +107,12 @@ class RsModuleParser extends IRsParserBase {
             return true;
         }
 
-        if (hasModifierList) {
+        if (parser.getMacroParser().macroInvocation()) {
+            marker.done(MACRO_INVOCATION);
+            return true;
+        }
+
+        if (hasModifierList && !inBlock) {
             RsParserUtil.error(builder, "expected item");
             marker.drop();
             return true;
@@ -149,7 +177,10 @@ class RsModuleParser extends IRsParserBase {
         return true;
     }
 
-    private boolean mod() {
+    /**
+     * @param lazyBody whether to leave inline module body unparsed, see {@link #moduleBodyContents()}
+     */
+    private boolean mod(final boolean lazyBody) {
         final Marker marker = builder.mark();
 
         if (!expect(builder, KW_MOD) || !identifier(builder)) {
@@ -160,6 +191,12 @@ class RsModuleParser extends IRsParserBase {
         //noinspection StatementWithEmptyBody
         if (expect(builder, OP_SEMICOLON)) {
             // do nothing
+        } else if (lazyBody && builder.getTokenType() == OP_LBRACE) {
+            // - cfg-gated module: #[cfg(test)] mod tests { ... }
+            collapseBalanced(builder, MODULE_BODY);
+        } else if (parser.isDegraded() && builder.getTokenType() == OP_LBRACE) {
+            // - degraded mode: leave module body unparsed, see RsParseBudget
+            parser.getMacroParser().tokenTree();
         } else if (expect(builder, OP_LBRACE)) {
             //noinspection StatementWithEmptyBody
             while (attribute(true) || item()) ;
@@ -172,6 +209,98 @@ class RsModuleParser extends IRsParserBase {
         return true;
     }
 
+    private boolean function() {
+        final Marker marker = builder.mark();
+
+        if (!expect(builder, KW_FN) || !identifier(builder)) {
+            marker.rollbackTo();
+            return false;
+        }
+
+        parser.getTypeParser().typeParameterList();
+
+        if (!parameterList()) {
+            error(builder, "expected '('");
+        }
+
+        if (expect(builder, OP_ARROW)) {
+            parser.getTypeParser().expectType();
+        }
+
+        //noinspection StatementWithEmptyBody
+        if (parser.getStatementParser().block()) {
+            // - function with body: fn foo() { ... }
+        } else {
+            // - function declaration: fn foo();
+            semicolon(builder);
+        }
+
+        marker.drop(); // PSI element will be marked in #item()
+        return true;
+    }
+
+    private boolean parameterList() {
+        return parenthesize(builder, OP_LPAREN, OP_RPAREN, new VoidParserWrapper() {
+            @Override
+            public void parse() {
+                sep(builder, OP_COMMA, new ParserWrapper() {
+                    @Override
+                    public boolean parse() {
+                        return parameter();
+                    }
+                }, EnumSet.of(SepCfg.ALLOW_TRAILING, SepCfg.TOLERATE_EMPTY));
+            }
+        }, PARAMETER_LIST);
+    }
+
+    private boolean parameter() {
+        final Marker marker = builder.mark();
+
+        // - self, mut self, &self, &mut self
+        final Marker selfMarker = builder.mark();
+        expect(builder, OP_AND);
+        expect(builder, KW_MUT);
+        if (expect(builder, KW_SELF)) {
+            selfMarker.drop();
+            marker.done(PARAMETER);
+            return true;
+        }
+        selfMarker.rollbackTo();
+
+        // TODO:RJP-12 Parse patterns
+        expect(builder, KW_MUT);
+        if (!expect(builder, IDENTIFIER)) {
+            marker.rollbackTo();
+            return false;
+        }
+
+        expectOrWarn(builder, OP_COLON);
+        parser.getTypeParser().expectType();
+
+        marker.done(PARAMETER);
+        return true;
+    }
+
+    /**
+     * Parse contents of lazy module body. Builder should be placed at body's left brace.
+     */
+    public void moduleBodyContents() {
+        builder.advanceLexer();
+
+        while (!builder.eof()) {
+            if (RIGHT_DELIMITER_TOKEN_SET.contains(builder.getTokenType())) {
+                closeBalanced(builder, OP_RBRACE);
+                return;
+            }
+
+            if (!(attribute(true) || item())) {
+                unexpected(builder);
+            }
+        }
+
+        error(builder, "missing '}'");
+    }
+
     private boolean constItem() {
         final Marker marker = builder.mark();
 
@@ -265,7 +394,20 @@ class RsModuleParser extends IRsParserBase {
         return true;
     }
 
+    /**
+     * Outer attributes in statement position are tried by {@link #item(boolean)} and then by statement parser,
+     * so this rule is memoized, see {@link RsParser#canBeFollowedBy}.
+     */
     public boolean attributeList() {
+        return parser.memoized(Rule.ATTRIBUTE_LIST, new ParserWrapper() {
+            @Override
+            public boolean parse() {
+                return doAttributeList();
+            }
+        });
+    }
+
+    private boolean doAttributeList() {
         final Marker marker = builder.mark();
         if (attribute(false)) {
             while (!builder.eof()) {
@@ -299,6 +441,10 @@ class RsModuleParser extends IRsParserBase {
 
         expectOrWarn(builder, OP_LBRACKET);
 
+        if (!inner && builder.getTokenType() == IDENTIFIER && CFG.equals(builder.getTokenText())) {
+            cfgAttributeSeen = true;
+        }
+
         meta();
 
         expectOrWarnMissing(builder, OP_RBRACKET);
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.parser;
+
+import com.google.common.base.Stopwatch;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWithId;
+import com.intellij.openapi.vfs.newvfs.FileAttribute;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.LightVirtualFile;
+import com.intellij.ui.EditorNotifications;
+import com.intellij.util.FileContentUtil;
+import com.intellij.util.indexing.IndexingDataKeys;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and time budget of a single file parse.
+ *
+ * <p>Files larger than {@link #getSizeLimit()} characters are parsed in degraded mode: only top-level items are
+ * built, bodies of inline modules are left as lazy token trees and the annotator is skipped. The size limit is the
+ * only thing that changes tree structure, so that the same text always gives the same tree and stubs built in
+ * background match the editor's AST.</p>
+ *
+ * <p>Files whose parse takes longer than {@link #getTimeLimit()} milliseconds are parsed fully, but are marked as
+ * slow, and the annotator skips them as well. Both limits can be changed with system properties; both modes can be
+ * turned off per file with {@link #forceFullParse} and turned back on with {@link #restoreLimits}. The per file
+ * setting is read only when a limit is exceeded.</p>
+ */
+public final class RsParseBudget {
+    private static final Logger LOG = Logger.getInstance(RsParseBudget.class);
+
+    public static final String SIZE_LIMIT_PROPERTY = "rustidea.parser.sizeLimit";
+    public static final String TIME_LIMIT_PROPERTY = "rustidea.parser.timeLimit";
+
+    private static final int DEFAULT_SIZE_LIMIT = 8 * 1024 * 1024;
+    private static final int DEFAULT_TIME_LIMIT = 2000;
+
+    private static final Key<Boolean> DEGRADED = Key.create("rustidea.parser.degraded");
+    private static final Key<Boolean> SLOW = Key.create("rustidea.parser.slow");
+    private static final Key<Boolean> FORCE_FULL_PARSE = Key.create("rustidea.parser.forceFullParse");
+    /**
+     * Persistent counterpart of {@link #FORCE_FULL_PARSE}, visible to stub building which works on light copies of
+     * files. Its version is part of {@link org.rustidea.psi.types.RsFileElementType#VERSION}.
+     */
+    private static final FileAttribute FORCE_FULL_PARSE_ATTRIBUTE =
+        new FileAttribute("rustidea.parser.forceFullParse", 1, true);
+
+    @Nullable
+    private final PsiFile file;
+    private final boolean degraded;
+    @NotNull
+    private final Stopwatch stopwatch = Stopwatch.createStarted();
+    private boolean slow;
+    @Nullable
+    private Boolean forced;
+
+    RsParseBudget(@Nullable final PsiFile file, final int textLength) {
+        this.file = file;
+        this.degraded = exceedsSizeLimit(textLength) && !isForced();
+    }
+
+    public static int getSizeLimit() {
+        return Integer.getInteger(SIZE_LIMIT_PROPERTY, DEFAULT_SIZE_LIMIT);
+    }
+
+    public static int getTimeLimit() {
+        return Integer.getInteger(TIME_LIMIT_PROPERTY, DEFAULT_TIME_LIMIT);
+    }
+
+    public static boolean exceedsSizeLimit(final int textLength) {
+        return textLength > getSizeLimit();
+    }
+
+    /**
+     * Check whether given file has been parsed in degraded mode, i.e. it exceeds size limit.
+     */
+    public static boolean isDegraded(@Nullable final PsiFile file) {
+        return file != null && file.getUserData(DEGRADED) == Boolean.TRUE;
+    }
+
+    /**
+     * Check whether parsing of given file has exceeded time limit. Tree of such file is complete.
+     */
+    public static boolean isSlow(@Nullable final PsiFile file) {
+        return file != null && file.getUserData(SLOW) == Boolean.TRUE;
+    }
+
+    /**
+     * Check whether code analysis should be skipped for given file, because it is either degraded or slow.
+     */
+    public static boolean isAnalysisSkipped(@Nullable final PsiFile file) {
+        return isDegraded(file) || isSlow(file);
+    }
+
+    /**
+     * Turn off degraded mode and time limit for given file and reparse it.
+     */
+    public static void forceFullParse(@NotNull final Project project, @NotNull final VirtualFile file) {
+        setFullParseForced(project, file, true);
+    }
+
+    /**
+     * Turn degraded mode and time limit back on for given file and reparse it.
+     */
+    public static void restoreLimits(@NotNull final Project project, @NotNull final VirtualFile file) {
+        setFullParseForced(project, file, false);
+    }
+
+    /**
+     * Check whether limits are turned off for given file with {@link #forceFullParse}. The persistent setting is read
+     * once per session and then cached in file's user data.
+     */
+    public static boolean isFullParseForced(@Nullable final VirtualFile file) {
+        if (file == null) {
+            return false;
+        }
+        final Boolean cached = file.getUserData(FORCE_FULL_PARSE);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean forced = false;
+        if (file instanceof VirtualFileWithId) {
+            try {
+                final DataInputStream in = FORCE_FULL_PARSE_ATTRIBUTE.readAttribute(file);
+                if (in != null) {
+                    try {
+                        forced = in.readBoolean();
+                    } finally {
+                        in.close();
+                    }
+                }
+            } catch (IOException e) {
+                LOG.warn(e);
+            }
+        }
+        file.putUserData(FORCE_FULL_PARSE, forced);
+        return forced;
+    }
+
+    private static void setFullParseForced(@NotNull final Project project,
+                                           @NotNull final VirtualFile file,
+                                           final boolean forced) {
+        if (file instanceof VirtualFileWithId) {
+            try {
+                final DataOutputStream out = FORCE_FULL_PARSE_ATTRIBUTE.writeAttribute(file);
+                try {
+                    out.writeBoolean(forced);
+                } finally {
+                    out.close();
+                }
+            } catch (IOException e) {
+                LOG.warn(e);
+            }
+        }
+        file.putUserData(FORCE_FULL_PARSE, forced);
+        // reparse also reindexes the file, so its stubs are rebuilt with new mode
+        FileContentUtil.reparseFiles(project, Collections.singletonList(file), false);
+        EditorNotifications.getInstance(project).updateNotifications(file);
+    }
+
+    /**
+     * Get physical file backing given PSI file. Stub indexer parses light copies of files, so the original file has
+     * to be found through indexing data or light file origin.
+     */
+    @Nullable
+    private static VirtualFile getOriginalFile(@Nullable final PsiFile file) {
+        if (file == null) {
+            return null;
+        }
+
+        VirtualFile virtualFile = file.getUserData(IndexingDataKeys.VIRTUAL_FILE);
+        if (virtualFile == null) {
+            virtualFile = file.getViewProvider().getVirtualFile();
+        }
+        if (virtualFile instanceof LightVirtualFile) {
+            final VirtualFile original = ((LightVirtualFile) virtualFile).getOriginalFile();
+            if (original != null) {
+                virtualFile = original;
+            }
+        }
+        return virtualFile;
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    public boolean isSlow() {
+        return slow;
+    }
+
+    /**
+     * Mark parse as slow if time limit has been exceeded. Does not affect tree structure. Should be called between
+     * top-level items.
+     */
+    public void checkTime() {
+        if (!slow && stopwatch.elapsed(TimeUnit.MILLISECONDS) >= getTimeLimit() && !isForced()) {
+            slow = true;
+        }
+    }
+
+    /**
+     * Remember parsing mode on parsed file, so it can be checked with {@link #isDegraded(PsiFile)} and
+     * {@link #isSlow(PsiFile)}. Editor notifications of physical files are updated when the file becomes slow or
+     * stops being slow, since that is known only after parsing.
+     */
+    public void storeIn(@Nullable final PsiFile file) {
+        if (file != null) {
+            final boolean wasSlow = isSlow(file);
+            file.putUserData(DEGRADED, degraded ? Boolean.TRUE : null);
+            file.putUserData(SLOW, slow ? Boolean.TRUE : null);
+
+            final VirtualFile virtualFile = file.getVirtualFile();
+            if (wasSlow != slow && file.isPhysical() && virtualFile != null) {
+                EditorNotifications.getInstance(file.getProject()).updateNotifications(virtualFile);
+            }
+        }
+    }
+
+    private boolean isForced() {
+        if (forced == null) {
+            forced = isFullParseForced(getOriginalFile(file));
+        }
+        return forced;
+    }
+}
@@ -21,8 +21,15 @@ import com.intellij.lang.ASTNode;
 import com.intellij.lang.PsiBuilder;
 import com.intellij.lang.PsiParser;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.source.resolve.FileContextUtil;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.parser.RsParserUtil.ParserWrapper;
+import org.rustidea.psi.types.IRsReparseableElementType;
+import org.rustidea.psi.types.RsPsiTypes;
+import org.rustidea.util.UnreachableException;
 
 public class RsParser {
     public static final Factory FACTORY = new Factory();
@@ -35,11 +42,17 @@ public class RsParser {
     @NotNull
     private final RsExpressionParser expressionParser;
     @NotNull
+    private final RsMacroParser macroParser;
+    @NotNull
     private final RsReferenceParser referenceParser;
     @NotNull
     private final RsStatementParser statementParser;
     @NotNull
     private final RsTypeParser typeParser;
+    @NotNull
+    private final RsParserMemo memo = new RsParserMemo();
+    @Nullable
+    private RsParseBudget budget;
 
     public RsParser(@NotNull final PsiBuilder builder) {
 //        builder.setDebugMode(true);
@@ -47,6 +60,7 @@ public class RsParser {
 
         this.moduleParser = new RsModuleParser(this);
         this.expressionParser = new RsExpressionParser(this);
+        this.macroParser = new RsMacroParser(this);
         this.referenceParser = new RsReferenceParser(this);
         this.statementParser = new RsStatementParser(this);
         this.typeParser = new RsTypeParser(this);
@@ -67,6 +81,11 @@ public class RsParser {
         return expressionParser;
     }
 
+    @NotNull
+    public RsMacroParser getMacroParser() {
+        return macroParser;
+    }
+
     @NotNull
     public RsReferenceParser getReferenceParser() {
         return referenceParser;
@@ -82,19 +101,116 @@ public class RsParser {
         return typeParser;
     }
 
+    /**
+     * Check whether parser is in degraded mode, in which only top-level items are parsed.
+     *
+     * @see RsParseBudget
+     */
+    public boolean isDegraded() {
+        return budget != null && budget.isDegraded();
+    }
+
+    /**
+     * Should be called between top-level items.
+     */
+    public void checkBudget() {
+        if (budget != null) {
+            budget.checkTime();
+        }
+    }
+
+    /**
+     * Run speculative rule through packrat memo, so that its failure at given offset is computed only once,
+     * and remember which token follows it, so that callers can check the lookahead with
+     * {@link #canBeFollowedBy(RsParserMemo.Rule, IElementType)} instead of running it again.
+     *
+     * @see RsParserMemo
+     */
+    public boolean memoized(@NotNull final RsParserMemo.Rule rule, @NotNull final ParserWrapper wrapper) {
+        final int offset = builder.getCurrentOffset();
+        final RsParserMemo.Result previous = memo.get(rule, offset);
+        if (previous != null && !previous.isSuccess()) {
+            memo.recordHit(rule);
+            return false;
+        }
+
+        memo.recordExecution(rule, offset);
+        final boolean result = wrapper.parse();
+        assert result || builder.getCurrentOffset() == offset : rule + " consumed tokens on failure";
+        assert previous == null || result && previous.getEndOffset() == builder.getCurrentOffset()
+            : rule + " is not context free";
+        memo.put(rule, offset, new RsParserMemo.Result(result, builder.getCurrentOffset(), builder.getTokenType()));
+        return result;
+    }
+
+    /**
+     * @return {@code false} if memoized rule has been run at current offset and is followed by token other than
+     * given one (on failure, this is the token at current offset), {@code true} otherwise
+     */
+    public boolean canBeFollowedBy(@NotNull final RsParserMemo.Rule rule, @NotNull final IElementType tokenType) {
+        final RsParserMemo.Result result = memo.get(rule, builder.getCurrentOffset());
+        if (result == null || result.getNextTokenType() == tokenType) {
+            return true;
+        }
+
+        memo.recordHit(rule);
+        return false;
+    }
+
+    /**
+     * Record execution of speculative rule which is not memoized, so that tests can check it is never run twice
+     * at the same offset.
+     */
+    public void countExecution(@NotNull final RsParserMemo.Rule rule) {
+        memo.recordExecution(rule, builder.getCurrentOffset());
+    }
+
     @NotNull
     private ASTNode doParse(@NotNull IElementType root) {
+        if (root instanceof IRsReparseableElementType) {
+            return doParseLazy(root);
+        }
+
         final Stopwatch stopwatch = Stopwatch.createStarted();
 
+        final PsiFile file = getBuilder().getUserDataUnprotected(FileContextUtil.CONTAINING_FILE_KEY);
+        budget = new RsParseBudget(file, getBuilder().getOriginalText().length());
+
         PsiBuilder.Marker marker = getBuilder().mark();
 
         getModuleParser().file();
 
         marker.done(root);
 
+        budget.storeIn(file);
+
         stopwatch.stop();
         final double size = getBuilder().getCurrentOffset() / 1000.0;
-        LOG.info(String.format("Parsed %.1f kb file in %s.", size, stopwatch));
+        LOG.info(String.format("Parsed %.1f kb file in %s%s.", size, stopwatch, budget.isDegraded() ? " (degraded)" : budget.isSlow() ? " (slow)" : ""));
+
+        return getBuilder().getTreeBuilt();
+    }
+
+    @NotNull
+    private ASTNode doParseLazy(@NotNull IElementType root) {
+        PsiBuilder.Marker marker = getBuilder().mark();
+
+        if (root == RsPsiTypes.BLOCK) {
+            getStatementParser().blockContents();
+        } else if (root == RsPsiTypes.MODULE_BODY) {
+            getModuleParser().moduleBodyContents();
+        } else if (root == RsPsiTypes.TOKEN_TREE) {
+            getMacroParser().tokenTreeContents();
+        } else {
+            throw new UnreachableException();
+        }
+
+        // Lazy elements are balanced by construction, so this only guards against leaving tokens outside the root
+        while (!getBuilder().eof()) {
+            RsParserUtil.unexpected(getBuilder());
+        }
+
+        marker.done(root);
 
         return getBuilder().getTreeBuilt();
     }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.parser;
+
+import com.intellij.psi.tree.IElementType;
+import gnu.trove.TLongHashSet;
+import gnu.trove.TLongObjectHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+/**
+ * Packrat memo table of speculative rules, keyed by (rule, offset).
+ *
+ * <p>Failures are answered from the table. PSI builder markers cannot be replayed, so a successful rule still
+ * has to be run again when its result is needed; what is stored for it is where it ended and which token
+ * follows it, which lets callers that only need a lookahead past the rule, e.g. {@code #[...] let}, fail
+ * without parsing it once more.</p>
+ *
+ * <p>Rules memoized here must be context free and must not consume anything on failure. Other speculative
+ * rules are only counted, see {@link #startCollecting()}.</p>
+ */
+final class RsParserMemo {
+    @Nullable
+    private static volatile Statistics statistics;
+
+    private final TLongObjectHashMap<Result> results = new TLongObjectHashMap<Result>();
+    @Nullable
+    private final TLongHashSet executed = statistics == null ? null : new TLongHashSet();
+
+    @Nullable
+    public Result get(@NotNull final Rule rule, final int offset) {
+        return results.get(key(rule, offset));
+    }
+
+    public void put(@NotNull final Rule rule, final int offset, @NotNull final Result result) {
+        results.put(key(rule, offset), result);
+    }
+
+    public void recordExecution(@NotNull final Rule rule, final int offset) {
+        final Statistics stats = statistics;
+        if (stats != null && executed != null) {
+            stats.recordExecution(rule, !executed.add(key(rule, offset)));
+        }
+    }
+
+    public void recordHit(@NotNull final Rule rule) {
+        final Statistics stats = statistics;
+        if (stats != null) {
+            stats.recordHit(rule);
+        }
+    }
+
+    /**
+     * Start counting rule executions of all parsers created from now on, until {@link #stopCollecting()}.
+     */
+    @TestOnly
+    @NotNull
+    public static Statistics startCollecting() {
+        final Statistics stats = new Statistics();
+        statistics = stats;
+        return stats;
+    }
+
+    @TestOnly
+    public static void stopCollecting() {
+        statistics = null;
+    }
+
+    private static long key(@NotNull final Rule rule, final int offset) {
+        return ((long) offset << 8) | rule.ordinal();
+    }
+
+    public enum Rule {
+        /**
+         * Outer attributes in statement position are tried by item, let declaration and expression statement
+         * in turn. Memoized, the only rule that is.
+         */
+        ATTRIBUTE_LIST,
+        /**
+         * Fails after skipping whole token tree when invocation is followed by e.g. method call.
+         */
+        MACRO_INVOCATION_STATEMENT,
+        PATH,
+        TYPE,
+        TYPE_LIST
+    }
+
+    public static final class Result {
+        private final boolean success;
+        private final int endOffset;
+        @Nullable
+        private final IElementType nextTokenType;
+
+        /**
+         * @param nextTokenType token after the rule on success, or token at its offset on failure
+         */
+        public Result(final boolean success, final int endOffset, @Nullable final IElementType nextTokenType) {
+            this.success = success;
+            this.endOffset = endOffset;
+            this.nextTokenType = nextTokenType;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public int getEndOffset() {
+            return endOffset;
+        }
+
+        @Nullable
+        public IElementType getNextTokenType() {
+            return nextTokenType;
+        }
+    }
+
+    public static final class Statistics {
+        private final int[] executions = new int[Rule.values().length];
+        private final int[] repetitions = new int[Rule.values().length];
+        private final int[] hits = new int[Rule.values().length];
+
+        private synchronized void recordExecution(@NotNull final Rule rule, final boolean repeated) {
+            executions[rule.ordinal()]++;
+            if (repeated) {
+                repetitions[rule.ordinal()]++;
+            }
+        }
+
+        private synchronized void recordHit(@NotNull final Rule rule) {
+            hits[rule.ordinal()]++;
+        }
+
+        public synchronized int getExecutionCount(@NotNull final Rule rule) {
+            return executions[rule.ordinal()];
+        }
+
+        /**
+         * @return how many times the rule has been run again at offset it had already been run at
+         */
+        public synchronized int getRepetitionCount(@NotNull final Rule rule) {
+            return repetitions[rule.ordinal()];
+        }
+
+        public synchronized int getHitCount(@NotNull final Rule rule) {
+            return hits[rule.ordinal()];
+        }
+    }
+}
@@ -153,6 +153,73 @@ public final class RsParserUtil {
         return true;
     }
 
+    /**
+     * Collapse balanced token group starting at current left delimiter into a single lazy-parseable chameleon.
+     * Group contents will be parsed on demand by {@link RsParser} with {@code lazyType} as root.
+     *
+     * @see #skipBalanced(PsiBuilder)
+     */
+    public static boolean collapseBalanced(@NotNull final PsiBuilder builder, @NotNull final IElementType lazyType) {
+        if (!RsPsiTypes.LEFT_DELIMITER_TOKEN_SET.contains(builder.getTokenType())) {
+            return false;
+        }
+
+        final Marker marker = builder.mark();
+        skipBalanced(builder);
+        marker.collapse(lazyType);
+        return true;
+    }
+
+    /**
+     * Skip balanced token group starting at current left delimiter. Only delimiter nesting depth is tracked,
+     * so mismatched right delimiter still closes the group; such errors are reported when group contents
+     * are parsed.
+     *
+     * @return {@code false} if end of file has been reached before group was closed.
+     */
+    public static boolean skipBalanced(@NotNull final PsiBuilder builder) {
+        assert RsPsiTypes.LEFT_DELIMITER_TOKEN_SET.contains(builder.getTokenType());
+
+        int depth = 0;
+        while (!builder.eof()) {
+            final IElementType token = builder.getTokenType();
+            builder.advanceLexer();
+            if (RsPsiTypes.LEFT_DELIMITER_TOKEN_SET.contains(token)) {
+                depth++;
+            } else if (RsPsiTypes.RIGHT_DELIMITER_TOKEN_SET.contains(token)) {
+                depth--;
+                if (depth == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Consume right delimiter which closes balanced token group. Mismatched delimiter is consumed too,
+     * because {@link #skipBalanced(PsiBuilder)} treats it as the group end.
+     */
+    public static void closeBalanced(@NotNull final PsiBuilder builder, @NotNull final IElementType rightDelimiter) {
+        assert RsPsiTypes.RIGHT_DELIMITER_TOKEN_SET.contains(builder.getTokenType());
+
+        if (builder.getTokenType() == rightDelimiter) {
+            builder.advanceLexer();
+        } else {
+            final Marker marker = builder.mark();
+            builder.advanceLexer();
+            marker.error("mismatched closing delimiter, expected " + getHumanReadableName(rightDelimiter));
+        }
+    }
+
+    @NotNull
+    public static IElementType getRightDelimiter(@NotNull final IElementType leftDelimiter) {
+        if (leftDelimiter == RsPsiTypes.OP_LPAREN) return RsPsiTypes.OP_RPAREN;
+        if (leftDelimiter == RsPsiTypes.OP_LBRACKET) return RsPsiTypes.OP_RBRACKET;
+        if (leftDelimiter == RsPsiTypes.OP_LBRACE) return RsPsiTypes.OP_RBRACE;
+        throw new IllegalArgumentException("not a left delimiter: " + leftDelimiter);
+    }
+
     public enum SepCfg {
         ALLOW_TRAILING, TOLERATE_EMPTY
     }
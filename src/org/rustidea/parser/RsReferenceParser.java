@@ -20,6 +20,7 @@ import com.intellij.lang.PsiBuilder.Marker;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserMemo.Rule;
 import org.rustidea.parser.RsParserUtil.*;
 import org.rustidea.util.UnreachableException;
 
@@ -46,6 +47,7 @@ class RsReferenceParser extends IRsParserBase {
         // III   ((a::b)::c)::d
         // IV  (((a)::b)::c)::d
 
+        parser.countExecution(Rule.PATH);
         Marker beginMarker = builder.mark();
 
         if (PATH_FIRST_TOKEN.contains(builder.getTokenType())) {
@@ -16,13 +16,150 @@
 
 package org.rustidea.parser;
 
+import com.intellij.lang.PsiBuilder.Marker;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserMemo.Rule;
+
+import static com.intellij.lang.PsiBuilderUtil.expect;
+import static org.rustidea.parser.RsParserUtil.*;
+import static org.rustidea.psi.types.RsPsiTypes.*;
 
 class RsStatementParser extends IRsParserBase {
     private static final Logger LOG = Logger.getInstance(RsStatementParser.class);
+    private static final TokenSet BLOCK_CONTINUATION = TokenSet.create(KW_ELSE, OP_DOT);
 
     public RsStatementParser(@NotNull final RsParser parser) {
         super(parser);
     }
+
+    /**
+     * Block contents are not parsed here, see {@link #blockContents()}.
+     */
+    public boolean block() {
+        if (builder.getTokenType() != OP_LBRACE) {
+            return false;
+        }
+
+        return collapseBalanced(builder, BLOCK);
+    }
+
+    /**
+     * Parse contents of lazy block. Builder should be placed at block's left brace.
+     */
+    public void blockContents() {
+        builder.advanceLexer();
+
+        //noinspection StatementWithEmptyBody
+        while (parser.getModuleParser().attribute(true)) ;
+
+        while (!builder.eof()) {
+            if (RIGHT_DELIMITER_TOKEN_SET.contains(builder.getTokenType())) {
+                closeBalanced(builder, OP_RBRACE);
+                return;
+            }
+
+            statement();
+        }
+
+        error(builder, "missing '}'");
+    }
+
+    /**
+     * Statement always consumes at least one token. Builder should not be placed at right delimiter.
+     */
+    private void statement() {
+        // - empty statement: ;
+        if (expect(builder, OP_SEMICOLON)) {
+            return;
+        }
+
+        if (block()) {
+            return;
+        }
+
+        if (parser.getMacroParser().macroInvocationStatement()) {
+            return;
+        }
+
+        // items never start with identifier, statement macro invocations have been handled above
+        if (builder.getTokenType() != IDENTIFIER && parser.getModuleParser().item(true)) {
+            return;
+        }
+
+        if (letDecl()) {
+            return;
+        }
+
+        expressionStatement();
+    }
+
+    private boolean letDecl() {
+        // attributes at this offset have usually been tried by #item() already, reparse them only if 'let' follows
+        if (!parser.canBeFollowedBy(Rule.ATTRIBUTE_LIST, KW_LET)) {
+            return false;
+        }
+
+        final Marker marker = builder.mark();
+
+        parser.getModuleParser().attributeList();
+
+        if (!expect(builder, KW_LET)) {
+            marker.rollbackTo();
+            return false;
+        }
+
+        // TODO:RJP-12 Parse pattern, type and initializer
+        expressionTokens(false);
+        semicolon(builder);
+
+        marker.done(LET_DECL);
+        return true;
+    }
+
+    private void expressionStatement() {
+        if (parser.getModuleParser().attributeList()
+            && (builder.eof() || RIGHT_DELIMITER_TOKEN_SET.contains(builder.getTokenType()))) {
+            error(builder, "expected statement");
+            return;
+        }
+
+        // TODO:RJP-12 Parse expression
+        expressionTokens(true);
+        expect(builder, OP_SEMICOLON);
+    }
+
+    /**
+     * Skip tokens until semicolon or unmatched right delimiter, collapsing nested blocks into lazy elements,
+     * so that code inside closures, loops or conditionals is reparsed separately as well.
+     *
+     * @param statement if {@code true}, stop after block-like expression, e.g. {@code if a { ... } foo();}
+     */
+    private void expressionTokens(final boolean statement) {
+        int depth = 0;
+        while (!builder.eof()) {
+            final IElementType token = builder.getTokenType();
+            if (token == OP_LBRACE) {
+                block();
+                if (statement && depth == 0 && !BLOCK_CONTINUATION.contains(builder.getTokenType())) {
+                    return;
+                }
+                continue;
+            }
+
+            if (depth == 0 && (token == OP_SEMICOLON || RIGHT_DELIMITER_TOKEN_SET.contains(token))) {
+                return;
+            }
+
+            if (LEFT_DELIMITER_TOKEN_SET.contains(token)) {
+                depth++;
+            } else if (RIGHT_DELIMITER_TOKEN_SET.contains(token)) {
+                depth--;
+            }
+
+            builder.advanceLexer();
+        }
+    }
 }
@@ -19,6 +19,7 @@ package org.rustidea.parser;
 import com.intellij.lang.PsiBuilder.Marker;
 import com.intellij.openapi.diagnostic.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserMemo.Rule;
 
 import java.util.EnumSet;
 
@@ -96,6 +97,7 @@ class RsTypeParser extends IRsParserBase {
     }
 
     public boolean expectType() {
+        parser.countExecution(Rule.TYPE);
         final Marker marker = builder.mark();
         if (type()) {
             marker.drop();
@@ -108,6 +110,7 @@ class RsTypeParser extends IRsParserBase {
     }
 
     public boolean typeList() {
+        parser.countExecution(Rule.TYPE_LIST);
         return parenthesize(builder, OP_LT, OP_GT, new VoidParserWrapper() {
             @Override
             public void parse() {
@@ -181,6 +184,7 @@ class RsTypeParser extends IRsParserBase {
     public boolean structField() {
         final Marker marker = builder.mark();
 
+        expect(builder, KW_PUB);
         if (!expect(builder, IDENTIFIER)) {
             marker.rollbackTo();
             return false;
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.project;
+
+import com.intellij.util.ThreeState;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsAttributeModel.Meta;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Evaluates {@code cfg} predicates against fixed {@link RsCfgSet}. Results are cached per predicate, and since
+ * predicates are read from stubs, items can be checked without AST.
+ *
+ * <p>Evaluation is three-valued: predicates depending on undetermined names, keys without configured values
+ * (e.g. {@code feature}) or unknown operators evaluate to {@link ThreeState#UNSURE}, which {@code not(...)} leaves
+ * unchanged. Items are hidden only when some predicate is known to be false.</p>
+ */
+public final class RsCfgEvaluator {
+    @NonNls
+    private static final String ALL = "all";
+    @NonNls
+    private static final String ANY = "any";
+    @NonNls
+    private static final String NOT = "not";
+
+    @NotNull
+    private final RsCfgSet cfgSet;
+    private final ConcurrentMap<Meta, ThreeState> cache = new ConcurrentHashMap<Meta, ThreeState>();
+
+    public RsCfgEvaluator(@NotNull final RsCfgSet cfgSet) {
+        this.cfgSet = cfgSet;
+    }
+
+    @NotNull
+    public RsCfgSet getCfgSet() {
+        return cfgSet;
+    }
+
+    /**
+     * @return false if any of {@code #[cfg(...)]} predicates is known to be not satisfied
+     */
+    public boolean isEnabled(@NotNull final RsAttributeModel model) {
+        for (Meta predicate : model.getCfgPredicates()) {
+            if (evaluate(predicate) == ThreeState.NO) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    public ThreeState evaluate(@NotNull final Meta predicate) {
+        ThreeState result = cache.get(predicate);
+        if (result == null) {
+            result = doEvaluate(predicate);
+            cache.put(predicate, result);
+        }
+        return result;
+    }
+
+    @NotNull
+    private ThreeState doEvaluate(@NotNull final Meta predicate) {
+        final String name = predicate.getName();
+        if (!predicate.hasArgs()) {
+            if (cfgSet.isUndetermined(name)) {
+                return ThreeState.UNSURE;
+            }
+            if (predicate.getValue() == null) {
+                return ThreeState.fromBoolean(cfgSet.isSet(name));
+            }
+            if (!cfgSet.isKnownKey(name)) {
+                return ThreeState.UNSURE;
+            }
+            return ThreeState.fromBoolean(cfgSet.isSet(name, predicate.getValue()));
+        }
+
+        final List<Meta> args = predicate.getArgs();
+        if (ALL.equals(name)) {
+            ThreeState result = ThreeState.YES;
+            for (Meta arg : args) {
+                final ThreeState value = evaluate(arg);
+                if (value == ThreeState.NO) return ThreeState.NO;
+                if (value == ThreeState.UNSURE) result = ThreeState.UNSURE;
+            }
+            return result;
+        }
+        if (ANY.equals(name)) {
+            ThreeState result = ThreeState.NO;
+            for (Meta arg : args) {
+                final ThreeState value = evaluate(arg);
+                if (value == ThreeState.YES) return ThreeState.YES;
+                if (value == ThreeState.UNSURE) result = ThreeState.UNSURE;
+            }
+            return result;
+        }
+        if (NOT.equals(name) && args.size() == 1) {
+            final ThreeState value = evaluate(args.get(0));
+            return value == ThreeState.UNSURE ? ThreeState.UNSURE : ThreeState.fromBoolean(value == ThreeState.NO);
+        }
+        // unknown operator or malformed not(...), keep item visible rather than hiding it by mistake
+        return ThreeState.UNSURE;
+    }
+}
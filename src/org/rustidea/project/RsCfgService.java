@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.project;
+
+import com.intellij.openapi.components.*;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.IRsItem;
+import org.rustidea.psi.IRsItemOwner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Holds active configuration of the project and filters out items disabled by {@code #[cfg(...)]}, using
+ * attribute models stored in stubs. Active configuration is stored in project settings when it differs from
+ * {@link #getDefaultCfgSet()}.
+ */
+@State(
+    name = "RustCfg",
+    storages = {
+        @Storage(file = StoragePathMacros.PROJECT_FILE),
+        @Storage(file = StoragePathMacros.PROJECT_CONFIG_DIR + "/rust.xml", scheme = StorageScheme.DIRECTORY_BASED)
+    }
+)
+public class RsCfgService implements PersistentStateComponent<RsCfgService.State> {
+    @NotNull
+    private volatile RsCfgEvaluator evaluator = new RsCfgEvaluator(getDefaultCfgSet());
+
+    @NotNull
+    public static RsCfgService getInstance(@NotNull final Project project) {
+        return ServiceManager.getService(project, RsCfgService.class);
+    }
+
+    /**
+     * @return configuration of the host platform in debug mode; {@code test} is undetermined and features are not
+     * listed, so items depending on them stay visible either way, see {@link RsCfgEvaluator}
+     */
+    @NotNull
+    public static RsCfgSet getDefaultCfgSet() {
+        final String family = SystemInfo.isWindows ? "windows" : "unix";
+        final String os = SystemInfo.isWindows ? "windows" : SystemInfo.isMac ? "macos" : SystemInfo.isLinux ? "linux" : "unknown";
+        return RsCfgSet.of(family, "target_family=" + family, "target_os=" + os, "debug_assertions")
+            .withUndetermined("test");
+    }
+
+    @NotNull
+    public RsCfgSet getActiveCfgSet() {
+        return evaluator.getCfgSet();
+    }
+
+    public void setActiveCfgSet(@NotNull final RsCfgSet cfgSet) {
+        if (!cfgSet.equals(evaluator.getCfgSet())) {
+            evaluator = new RsCfgEvaluator(cfgSet);
+        }
+    }
+
+    @NotNull
+    @Override
+    public State getState() {
+        final State state = new State();
+        final RsCfgSet cfgSet = evaluator.getCfgSet();
+        if (!cfgSet.equals(getDefaultCfgSet())) {
+            state.options = cfgSet.getOptions();
+            state.undetermined = cfgSet.getUndetermined();
+        }
+        return state;
+    }
+
+    @Override
+    public void loadState(@NotNull final State state) {
+        if (state.options == null) {
+            setActiveCfgSet(getDefaultCfgSet());
+            return;
+        }
+        RsCfgSet cfgSet = RsCfgSet.of(state.options.toArray(new String[state.options.size()]));
+        if (state.undetermined != null) {
+            cfgSet = cfgSet.withUndetermined(state.undetermined.toArray(new String[state.undetermined.size()]));
+        }
+        setActiveCfgSet(cfgSet);
+    }
+
+    /**
+     * @return false if element is inside of (or is) an item disabled by active configuration
+     */
+    public boolean isEnabled(@Nullable final PsiElement element) {
+        final RsCfgEvaluator evaluator = this.evaluator;
+        IRsItem item = element instanceof IRsItem ? (IRsItem) element : PsiTreeUtil.getStubOrPsiParentOfType(element, IRsItem.class);
+        while (item != null) {
+            if (!evaluator.isEnabled(item.getAttributeModel())) {
+                return false;
+            }
+            item = PsiTreeUtil.getStubOrPsiParentOfType(item, IRsItem.class);
+        }
+        return true;
+    }
+
+    @NotNull
+    public <T extends PsiElement> List<T> filterEnabled(@NotNull final Collection<T> elements) {
+        final List<T> result = new ArrayList<T>(elements.size());
+        for (T element : elements) {
+            if (isEnabled(element)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return items of given owner which are enabled by active configuration; owner itself is not checked
+     */
+    @NotNull
+    public List<IRsItem> getEnabledItems(@NotNull final IRsItemOwner owner) {
+        final RsCfgEvaluator evaluator = this.evaluator;
+        final IRsItem[] items = owner.getItems();
+        final List<IRsItem> result = new ArrayList<IRsItem>(items.length);
+        for (IRsItem item : items) {
+            if (evaluator.isEnabled(item.getAttributeModel())) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    public static class State {
+        /**
+         * Options of active configuration, see {@link RsCfgSet#of(String...)}, or null for the default one.
+         */
+        @Nullable
+        public List<String> options;
+        /**
+         * Undetermined names of active configuration, see {@link RsCfgSet#withUndetermined(String...)}.
+         */
+        @Nullable
+        public List<String> undetermined;
+    }
+}
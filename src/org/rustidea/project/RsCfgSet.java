@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.project;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable set of active configuration options, e.g. {@code unix} or {@code target_os = "linux"}.
+ *
+ * <p>Names which may be either set or not, like {@code test}, can be marked as undetermined; predicates depending
+ * on them evaluate to unknown, see {@link RsCfgEvaluator}.</p>
+ */
+public final class RsCfgSet {
+    public static final RsCfgSet EMPTY = new RsCfgSet(Collections.<String>emptySet(), Collections.<String, Set<String>>emptyMap(), Collections.<String>emptySet());
+
+    @NotNull
+    private final Set<String> names;
+    @NotNull
+    private final Map<String, Set<String>> values;
+    @NotNull
+    private final Set<String> undetermined;
+
+    private RsCfgSet(@NotNull final Set<String> names,
+                     @NotNull final Map<String, Set<String>> values,
+                     @NotNull final Set<String> undetermined) {
+        this.names = names;
+        this.values = values;
+        this.undetermined = undetermined;
+    }
+
+    /**
+     * @param options options in {@code name} or {@code key = "value"} form
+     */
+    @NotNull
+    public static RsCfgSet of(@NotNull @NonNls final String... options) {
+        final Set<String> names = new HashSet<String>();
+        final Map<String, Set<String>> values = new HashMap<String, Set<String>>();
+        for (String option : options) {
+            final int eq = option.indexOf('=');
+            if (eq < 0) {
+                names.add(option.trim());
+                continue;
+            }
+            final String key = option.substring(0, eq).trim();
+            String value = option.substring(eq + 1).trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            Set<String> keyValues = values.get(key);
+            if (keyValues == null) {
+                keyValues = new HashSet<String>();
+                values.put(key, keyValues);
+            }
+            keyValues.add(value);
+        }
+        return new RsCfgSet(Collections.unmodifiableSet(names), Collections.unmodifiableMap(values), Collections.<String>emptySet());
+    }
+
+    /**
+     * @param undeterminedNames names which are neither known to be set nor known to be unset
+     * @return copy of this set with given names marked as undetermined
+     */
+    @NotNull
+    public RsCfgSet withUndetermined(@NotNull @NonNls final String... undeterminedNames) {
+        final Set<String> undetermined = new HashSet<String>(this.undetermined);
+        Collections.addAll(undetermined, undeterminedNames);
+        return new RsCfgSet(names, values, Collections.unmodifiableSet(undetermined));
+    }
+
+    public boolean isSet(@NotNull @NonNls final String name) {
+        return names.contains(name);
+    }
+
+    public boolean isSet(@NotNull @NonNls final String key, @Nullable final String value) {
+        final Set<String> keyValues = values.get(key);
+        return keyValues != null && keyValues.contains(value);
+    }
+
+    public boolean isUndetermined(@NotNull @NonNls final String name) {
+        return undetermined.contains(name);
+    }
+
+    /**
+     * @return true if any value is set for given key
+     */
+    public boolean isKnownKey(@NotNull @NonNls final String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * @return options in form accepted by {@link #of(String...)}, in stable order
+     */
+    @NotNull
+    public List<String> getOptions() {
+        final List<String> options = new ArrayList<String>(names);
+        for (Map.Entry<String, Set<String>> entry : values.entrySet()) {
+            for (String value : entry.getValue()) {
+                options.add(entry.getKey() + "=\"" + value + "\"");
+            }
+        }
+        Collections.sort(options);
+        return options;
+    }
+
+    /**
+     * @return undetermined names, in stable order
+     */
+    @NotNull
+    public List<String> getUndetermined() {
+        final List<String> result = new ArrayList<String>(undetermined);
+        Collections.sort(result);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RsCfgSet that = (RsCfgSet) o;
+        return names.equals(that.names) && values.equals(that.values) && undetermined.equals(that.undetermined);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * names.hashCode() + values.hashCode()) + undetermined.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return names + " " + values + (undetermined.isEmpty() ? "" : " ?" + undetermined);
+    }
+}
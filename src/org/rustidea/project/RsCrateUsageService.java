@@ -0,0 +1,317 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.project;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ContentIterator;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubTree;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+import org.rustidea.RustFileType;
+import org.rustidea.psi.IRsModule;
+import org.rustidea.psi.RsExternCrateDecl;
+import org.rustidea.psi.RsFile;
+import org.rustidea.stubs.RsExternCrateDeclStub;
+import org.rustidea.stubs.index.RsExternCrateNameIndex;
+
+import java.util.*;
+
+/**
+ * Which files depend on which external crates, based on {@link RsExternCrateNameIndex}.
+ *
+ * <p>The map is built once from the index and then updated incrementally: PSI and VFS changes only mark
+ * affected files dirty, and on the next query extern crate declarations of dirty files are re-read from their
+ * stub trees.</p>
+ */
+public class RsCrateUsageService {
+    @NotNull
+    private final Project project;
+    private final Map<String, Set<VirtualFile>> filesByCrate = new HashMap<String, Set<VirtualFile>>();
+    private final Map<VirtualFile, Set<String>> cratesByFile = new HashMap<VirtualFile, Set<String>>();
+    private final Set<VirtualFile> dirtyFiles = new HashSet<VirtualFile>();
+    private boolean initialized = false;
+    private int readFileCount = 0;
+
+    public RsCrateUsageService(@NotNull final Project project) {
+        this.project = project;
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                invalidate(event);
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                invalidate(event);
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                invalidate(event);
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                invalidate(event);
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                invalidate(event);
+            }
+
+            @Override
+            public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+                invalidate(event);
+            }
+        }, project);
+
+        project.getMessageBus().connect(project).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener.Adapter() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                vfsChanged(events);
+            }
+        });
+    }
+
+    @NotNull
+    public static RsCrateUsageService getInstance(@NotNull final Project project) {
+        return ServiceManager.getService(project, RsCrateUsageService.class);
+    }
+
+    /**
+     * @return names of all crates referenced by extern crate declarations in the project
+     */
+    @NotNull
+    public synchronized Set<String> getCrateNames() {
+        update();
+        return Collections.unmodifiableSet(new HashSet<String>(filesByCrate.keySet()));
+    }
+
+    @NotNull
+    public synchronized Set<VirtualFile> getFilesUsing(@NotNull final String crateName) {
+        update();
+        final Set<VirtualFile> files = filesByCrate.get(crateName);
+        return files == null ? Collections.<VirtualFile>emptySet() : Collections.unmodifiableSet(new HashSet<VirtualFile>(files));
+    }
+
+    @NotNull
+    public synchronized Set<String> getCratesUsedBy(@NotNull final VirtualFile file) {
+        update();
+        final Set<String> crates = cratesByFile.get(file);
+        return crates == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(new HashSet<String>(crates));
+    }
+
+    /**
+     * @return scope of files which declare given crate, usable to restrict searches and reindexing
+     */
+    @NotNull
+    public GlobalSearchScope getDependentFilesScope(@NotNull final String crateName) {
+        return GlobalSearchScope.filesScope(project, getFilesUsing(crateName));
+    }
+
+    /**
+     * @return modules (including file modules) which directly contain extern crate declaration of given crate
+     */
+    @NotNull
+    public Set<IRsModule> getModulesUsing(@NotNull final String crateName) {
+        final Set<IRsModule> result = new LinkedHashSet<IRsModule>();
+        for (RsExternCrateDecl decl : RsExternCrateNameIndex.getInstance().get(crateName, project, getDependentFilesScope(crateName))) {
+            final IRsModule module = PsiTreeUtil.getStubOrPsiParentOfType(decl, IRsModule.class);
+            if (module != null) {
+                result.add(module);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return number of files whose declarations were re-read incrementally since service creation
+     */
+    @TestOnly
+    public synchronized int getReadFileCount() {
+        return readFileCount;
+    }
+
+    private synchronized void invalidate(@NotNull final PsiTreeChangeEvent event) {
+        if (!initialized) {
+            return;
+        }
+
+        final PsiFile file = event.getFile();
+        if (file != null) {
+            markDirty(file);
+            return;
+        }
+
+        final PsiElement child = event.getChild();
+        if (child instanceof PsiFile) {
+            markDirty((PsiFile) child);
+        } else if (child == null) {
+            // unspecified change; directories are handled by VFS listener
+            initialized = false;
+        }
+    }
+
+    private synchronized void vfsChanged(@NotNull final List<? extends VFileEvent> events) {
+        if (!initialized) {
+            return;
+        }
+
+        for (VFileEvent event : events) {
+            if (event instanceof VFileDeleteEvent) {
+                // deleted files (also inside of deleted directories) are not valid anymore
+                for (VirtualFile file : cratesByFile.keySet()) {
+                    if (!file.isValid()) {
+                        dirtyFiles.add(file);
+                    }
+                }
+            } else if (event instanceof VFileCopyEvent) {
+                markDirtyRecursively(((VFileCopyEvent) event).findCreatedFile());
+            } else {
+                // created, changed, moved or renamed (possibly to or from .rs) files
+                markDirtyRecursively(event.getFile());
+            }
+        }
+    }
+
+    private void markDirtyRecursively(@Nullable final VirtualFile root) {
+        if (root == null || !root.isValid()) {
+            return;
+        }
+
+        VfsUtilCore.iterateChildrenRecursively(root, null, new ContentIterator() {
+            @Override
+            public boolean processFile(VirtualFile file) {
+                if (!file.isDirectory()
+                    && (file.getFileType() == RustFileType.INSTANCE || cratesByFile.containsKey(file))) {
+                    dirtyFiles.add(file);
+                }
+                return true;
+            }
+        });
+    }
+
+    private void markDirty(@NotNull final PsiFile file) {
+        if (!(file instanceof RsFile)) {
+            return;
+        }
+        final VirtualFile virtualFile = file.getViewProvider().getVirtualFile();
+        dirtyFiles.add(virtualFile);
+    }
+
+    private void update() {
+        if (!initialized) {
+            filesByCrate.clear();
+            cratesByFile.clear();
+            dirtyFiles.clear();
+            read(GlobalSearchScope.allScope(project));
+            initialized = true;
+        } else if (!dirtyFiles.isEmpty()) {
+            final List<VirtualFile> files = new ArrayList<VirtualFile>(dirtyFiles);
+            dirtyFiles.clear();
+            final GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+            for (VirtualFile file : files) {
+                remove(file);
+                if (file.isValid() && scope.contains(file)) {
+                    readFile(file);
+                }
+            }
+        }
+    }
+
+    private void read(@NotNull final GlobalSearchScope scope) {
+        final RsExternCrateNameIndex index = RsExternCrateNameIndex.getInstance();
+        for (String crateName : index.getAllKeys(project)) {
+            for (RsExternCrateDecl decl : index.get(crateName, project, scope)) {
+                final PsiFile psiFile = decl.getContainingFile();
+                final VirtualFile file = psiFile == null ? null : psiFile.getVirtualFile();
+                if (file != null) {
+                    add(crateName, file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unlike {@link #read(GlobalSearchScope)}, does not walk all keys of the index. Declarations are read from
+     * indexed stub tree of the file, so it is not parsed unless its AST is already loaded.
+     */
+    private void readFile(@NotNull final VirtualFile file) {
+        final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (!(psiFile instanceof RsFile)) {
+            return;
+        }
+
+        readFileCount++;
+        final PsiFileImpl fileImpl = (PsiFileImpl) psiFile;
+        StubTree stubTree = fileImpl.getStubTree();
+        if (stubTree == null) {
+            // AST is loaded, so stubs are built from it without parsing
+            stubTree = fileImpl.calcStubTree();
+        }
+        for (StubElement<?> stub : stubTree.getPlainList()) {
+            if (stub instanceof RsExternCrateDeclStub) {
+                add(((RsExternCrateDeclStub) stub).getCrateName(), file);
+            }
+        }
+    }
+
+    private void add(@NotNull final String crateName, @NotNull final VirtualFile virtualFile) {
+        Set<VirtualFile> files = filesByCrate.get(crateName);
+        if (files == null) {
+            files = new HashSet<VirtualFile>();
+            filesByCrate.put(crateName, files);
+        }
+        files.add(virtualFile);
+
+        Set<String> crates = cratesByFile.get(virtualFile);
+        if (crates == null) {
+            crates = new HashSet<String>();
+            cratesByFile.put(virtualFile, crates);
+        }
+        crates.add(crateName);
+    }
+
+    private void remove(@NotNull final VirtualFile file) {
+        final Set<String> crates = cratesByFile.remove(file);
+        if (crates == null) {
+            return;
+        }
+        for (String crateName : crates) {
+            final Set<VirtualFile> files = filesByCrate.get(crateName);
+            files.remove(file);
+            if (files.isEmpty()) {
+                filesByCrate.remove(crateName);
+            }
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.project;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ContentIterator;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.*;
+import com.intellij.psi.*;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+import org.rustidea.RustFileType;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsModuleDeclaration;
+
+import java.util.*;
+
+/**
+ * Tree of module files: which file declares which files as its submodules (via {@code mod foo;}) and crate root
+ * of each file. Built from file stubs only, see {@link RsFile#getModuleDeclarations()}.
+ *
+ * <p>The tree is built once and then maintained incrementally. PSI changes mark the changed file dirty, VFS
+ * changes mark dirty the files which declare module at affected path, or anywhere under affected directory.
+ * Events outside of project content are ignored. Only dirty files are re-read on the next query, and cached
+ * crate roots are dropped only for subtrees under changed edges.</p>
+ */
+public class RsModuleTreeService {
+    @NonNls
+    private static final Set<String> DIRECTORY_OWNERS = new HashSet<String>(Arrays.asList("mod.rs", "lib.rs", "main.rs"));
+
+    @NotNull
+    private final Project project;
+    private final Map<VirtualFile, List<VirtualFile>> childrenByFile = new HashMap<VirtualFile, List<VirtualFile>>();
+    private final Map<VirtualFile, VirtualFile> parentByFile = new HashMap<VirtualFile, VirtualFile>();
+    private final Map<VirtualFile, List<String>> candidatesByFile = new HashMap<VirtualFile, List<String>>();
+    private final Map<String, Set<VirtualFile>> declarersByPath = new HashMap<String, Set<VirtualFile>>();
+    private final Map<VirtualFile, VirtualFile> rootCache = new HashMap<VirtualFile, VirtualFile>();
+    private final Set<VirtualFile> dirtyFiles = new HashSet<VirtualFile>();
+    private boolean initialized = false;
+    private int computedFileCount = 0;
+
+    public RsModuleTreeService(@NotNull final Project project) {
+        this.project = project;
+
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+        }, project);
+
+        project.getMessageBus().connect(project).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener.Adapter() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                vfsChanged(events);
+            }
+        });
+    }
+
+    @NotNull
+    public static RsModuleTreeService getInstance(@NotNull final Project project) {
+        return ServiceManager.getService(project, RsModuleTreeService.class);
+    }
+
+    /**
+     * @return file containing {@code mod} declaration which resolves to given file, null for crate roots
+     * and files not included anywhere
+     */
+    @Nullable
+    public synchronized VirtualFile getParentModuleFile(@NotNull final VirtualFile file) {
+        update();
+        return parentByFile.get(file);
+    }
+
+    @NotNull
+    public synchronized List<VirtualFile> getChildModuleFiles(@NotNull final VirtualFile file) {
+        update();
+        final List<VirtualFile> children = childrenByFile.get(file);
+        return children == null ? Collections.<VirtualFile>emptyList() : Collections.unmodifiableList(children);
+    }
+
+    /**
+     * @return topmost file reachable by following parent modules, given file itself if it has no parent
+     */
+    @NotNull
+    public synchronized VirtualFile getCrateRoot(@NotNull final VirtualFile file) {
+        update();
+        final VirtualFile cached = rootCache.get(file);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Set<VirtualFile> chain = new LinkedHashSet<VirtualFile>();
+        VirtualFile current = file;
+        VirtualFile root = null;
+        while (root == null && chain.add(current)) {
+            root = rootCache.get(current);
+            final VirtualFile parent = parentByFile.get(current);
+            if (root == null && parent == null) {
+                root = current;
+            } else if (root == null) {
+                current = parent;
+            }
+        }
+        if (root == null) {
+            // cyclic declarations, pick the file we started from
+            root = file;
+        }
+        for (VirtualFile element : chain) {
+            rootCache.put(element, root);
+        }
+        return root;
+    }
+
+    /**
+     * @return number of files whose module declarations were read since service creation
+     */
+    @TestOnly
+    public synchronized int getComputedFileCount() {
+        return computedFileCount;
+    }
+
+    private synchronized void psiChanged(@NotNull final PsiTreeChangeEvent event) {
+        if (!initialized) {
+            return;
+        }
+
+        final PsiFile file = event.getFile();
+        final PsiElement child = event.getChild();
+        if (file instanceof RsFile) {
+            dirtyFiles.add(file.getViewProvider().getVirtualFile());
+        } else if (file == null && child instanceof RsFile) {
+            dirtyFiles.add(((RsFile) child).getViewProvider().getVirtualFile());
+        }
+    }
+
+    private synchronized void vfsChanged(@NotNull final List<? extends VFileEvent> events) {
+        if (!initialized) {
+            return;
+        }
+
+        for (VFileEvent event : events) {
+            final VirtualFile file = event.getFile();
+            if (event instanceof VFileContentChangeEvent) {
+                if (isUnderContent(event.getPath())) {
+                    dirtyFiles.add(file);
+                }
+                continue;
+            }
+
+            final boolean directory = file != null && file.isDirectory();
+            for (String path : getChangedPaths(event)) {
+                if (isUnderContent(path)) {
+                    pathChanged(FileUtil.toCanonicalPath(path), directory);
+                }
+            }
+            final VirtualFile target =
+                event instanceof VFileCopyEvent ? ((VFileCopyEvent) event).findCreatedFile() : file;
+            if (target != null && target.isValid() && isUnderContent(target.getPath())) {
+                addFilesRecursively(target);
+            }
+        }
+    }
+
+    /**
+     * Mark dirty given file, or all Rust files in given directory, e.g. created, copied or moved into project.
+     */
+    private void addFilesRecursively(@NotNull final VirtualFile root) {
+        if (!root.isDirectory()) {
+            dirtyFiles.add(root);
+            return;
+        }
+
+        VfsUtilCore.iterateChildrenRecursively(root, null, new ContentIterator() {
+            @Override
+            public boolean processFile(VirtualFile file) {
+                if (!file.isDirectory() && file.getFileType() == RustFileType.INSTANCE) {
+                    dirtyFiles.add(file);
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * @return paths at which file of given event was or is, for moves and renames both old and new one
+     */
+    @NotNull
+    private static List<String> getChangedPaths(@NotNull final VFileEvent event) {
+        if (event instanceof VFileMoveEvent) {
+            final VFileMoveEvent move = (VFileMoveEvent) event;
+            return Arrays.asList(
+                move.getOldParent().getPath() + "/" + move.getFile().getName(),
+                move.getNewParent().getPath() + "/" + move.getFile().getName());
+        }
+        if (event instanceof VFileCopyEvent) {
+            final VFileCopyEvent copy = (VFileCopyEvent) event;
+            return Collections.singletonList(copy.getNewParent().getPath() + "/" + copy.getNewChildName());
+        }
+        if (event instanceof VFilePropertyChangeEvent) {
+            final VFilePropertyChangeEvent change = (VFilePropertyChangeEvent) event;
+            final VirtualFile parent = change.getFile().getParent();
+            if (!VirtualFile.PROP_NAME.equals(change.getPropertyName()) || parent == null) {
+                return Collections.emptyList();
+            }
+            return Arrays.asList(
+                parent.getPath() + "/" + change.getOldValue(),
+                parent.getPath() + "/" + change.getNewValue());
+        }
+        return Collections.singletonList(event.getPath());
+    }
+
+    private boolean isUnderContent(@NotNull final String path) {
+        for (VirtualFile root : ProjectRootManager.getInstance(project).getContentRoots()) {
+            if (FileUtil.isAncestor(root.getPath(), path, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mark dirty files declaring module at given path. For directories, also files declaring modules anywhere
+     * below it and tracked files which were inside of it, since their own candidate paths are relative to it.
+     */
+    private void pathChanged(@NotNull final String path, final boolean directory) {
+        if (!directory) {
+            final Set<VirtualFile> declarers = declarersByPath.get(path);
+            if (declarers != null) {
+                dirtyFiles.addAll(declarers);
+            }
+            return;
+        }
+
+        for (Map.Entry<String, Set<VirtualFile>> entry : declarersByPath.entrySet()) {
+            if (FileUtil.isAncestor(path, entry.getKey(), false)) {
+                dirtyFiles.addAll(entry.getValue());
+            }
+        }
+        markDirtyUnder(path, candidatesByFile.keySet());
+        markDirtyUnder(path, parentByFile.keySet());
+    }
+
+    private void markDirtyUnder(@NotNull final String path, @NotNull final Collection<VirtualFile> files) {
+        for (VirtualFile file : files) {
+            if (!file.isValid() || FileUtil.isAncestor(path, file.getPath(), false)) {
+                dirtyFiles.add(file);
+            }
+        }
+    }
+
+    private void update() {
+        if (!initialized) {
+            childrenByFile.clear();
+            parentByFile.clear();
+            candidatesByFile.clear();
+            declarersByPath.clear();
+            rootCache.clear();
+            dirtyFiles.clear();
+            for (VirtualFile file : FileTypeIndex.getFiles(RustFileType.INSTANCE, GlobalSearchScope.projectScope(project))) {
+                compute(file);
+            }
+            initialized = true;
+        } else if (!dirtyFiles.isEmpty()) {
+            final List<VirtualFile> files = new ArrayList<VirtualFile>(dirtyFiles);
+            dirtyFiles.clear();
+            for (VirtualFile file : files) {
+                remove(file);
+            }
+            for (VirtualFile file : files) {
+                compute(file);
+            }
+        }
+    }
+
+    private void remove(@NotNull final VirtualFile file) {
+        final List<VirtualFile> children = childrenByFile.remove(file);
+        if (children != null) {
+            for (VirtualFile child : children) {
+                if (parentByFile.get(child) == file) {
+                    parentByFile.remove(child);
+                }
+                invalidateRoots(child);
+            }
+        }
+
+        final List<String> candidates = candidatesByFile.remove(file);
+        if (candidates != null) {
+            for (String candidate : candidates) {
+                final Set<VirtualFile> declarers = declarersByPath.get(candidate);
+                if (declarers != null) {
+                    declarers.remove(file);
+                    if (declarers.isEmpty()) {
+                        declarersByPath.remove(candidate);
+                    }
+                }
+            }
+        }
+
+        if (!file.isValid()) {
+            parentByFile.remove(file);
+            rootCache.remove(file);
+        }
+    }
+
+    private void compute(@NotNull final VirtualFile file) {
+        if (!file.isValid() || file.isDirectory()) {
+            return;
+        }
+        final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (!(psiFile instanceof RsFile)) {
+            return;
+        }
+
+        computedFileCount++;
+        final List<RsModuleDeclaration> declarations = ((RsFile) psiFile).getModuleDeclarations();
+        if (declarations.isEmpty()) {
+            return;
+        }
+
+        final List<VirtualFile> children = new ArrayList<VirtualFile>(declarations.size());
+        final List<String> allCandidates = new ArrayList<String>(declarations.size() * 2);
+        for (RsModuleDeclaration declaration : declarations) {
+            final List<String> candidates = getCandidatePaths(file, declaration);
+            VirtualFile child = null;
+            for (String candidate : candidates) {
+                allCandidates.add(candidate);
+                Set<VirtualFile> declarers = declarersByPath.get(candidate);
+                if (declarers == null) {
+                    declarers = new HashSet<VirtualFile>();
+                    declarersByPath.put(candidate, declarers);
+                }
+                declarers.add(file);
+
+                if (child == null) {
+                    final VirtualFile found = file.getFileSystem().findFileByPath(candidate);
+                    if (found != null && !found.isDirectory()) {
+                        child = found;
+                    }
+                }
+            }
+            if (child != null) {
+                children.add(child);
+                parentByFile.put(child, file);
+                invalidateRoots(child);
+            }
+        }
+
+        candidatesByFile.put(file, allCandidates);
+        if (!children.isEmpty()) {
+            childrenByFile.put(file, children);
+        }
+    }
+
+    private void invalidateRoots(@NotNull final VirtualFile subtreeRoot) {
+        final Deque<VirtualFile> queue = new ArrayDeque<VirtualFile>();
+        queue.add(subtreeRoot);
+        while (!queue.isEmpty()) {
+            final VirtualFile file = queue.poll();
+            if (rootCache.remove(file) == null) {
+                // nothing cached here, so nothing cached below either
+                continue;
+            }
+            final List<VirtualFile> children = childrenByFile.get(file);
+            if (children != null) {
+                queue.addAll(children);
+            }
+        }
+    }
+
+    /**
+     * Paths where module file for given declaration may be, in order of preference.
+     */
+    @NotNull
+    static List<String> getCandidatePaths(@NotNull final VirtualFile declaringFile,
+                                          @NotNull final RsModuleDeclaration declaration) {
+        final VirtualFile directory = declaringFile.getParent();
+        if (directory == null) {
+            return Collections.emptyList();
+        }
+
+        final StringBuilder base = new StringBuilder(directory.getPath());
+        if (!DIRECTORY_OWNERS.contains(declaringFile.getName())) {
+            base.append('/').append(declaringFile.getNameWithoutExtension());
+        }
+        for (String parent : declaration.getInlineParents()) {
+            base.append('/').append(parent);
+        }
+
+        final String path = declaration.getPath();
+        if (path != null) {
+            final String relativeTo = declaration.getInlineParents().isEmpty() ? directory.getPath() : base.toString();
+            return Collections.singletonList(FileUtil.toCanonicalPath(relativeTo + "/" + path));
+        }
+
+        final String name = declaration.getName();
+        return Arrays.asList(
+            FileUtil.toCanonicalPath(base + "/" + name + ".rs"),
+            FileUtil.toCanonicalPath(base + "/" + name + "/mod.rs"));
+    }
+}
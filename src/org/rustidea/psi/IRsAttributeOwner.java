@@ -19,6 +19,11 @@ package org.rustidea.psi;
 import org.jetbrains.annotations.NotNull;
 
 public interface IRsAttributeOwner extends IRsPsiElement {
+    /**
+     * Attribute PSI is not stubbed, so this loads the AST. Use {@link IRsItem#getAttributeModel()} or
+     * {@link RsFile#getAttributeModel()}, which are stub-backed, when only attributes kept by
+     * {@link RsAttributeModel} are needed.
+     */
     @NotNull
     IRsAttribute[] getAttributes();
 }
@@ -17,6 +17,7 @@
 package org.rustidea.psi;
 
 import com.intellij.psi.StubBasedPsiElement;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.rustidea.stubs.IRsItemStub;
 
@@ -24,4 +25,16 @@ public interface IRsItem<StubT extends IRsItemStub>
     extends StubBasedPsiElement<StubT>, IRsModifierListOwner, IRsAttributeOwner, IRsPsiElement {
     @Nullable
     IRsItemOwner getOwner();
+
+    /**
+     * Get attributes of this item in parsed form. Read from stub if available, cached until modification otherwise.
+     */
+    @NotNull
+    RsAttributeModel getAttributeModel();
+
+    /**
+     * Get visibility of this item. Read from stub if available, so it is cheap to check on index results.
+     */
+    @NotNull
+    RsVisibility getVisibility();
 }
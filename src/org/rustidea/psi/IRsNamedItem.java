@@ -16,7 +16,15 @@
 
 package org.rustidea.psi;
 
+import org.jetbrains.annotations.Nullable;
 import org.rustidea.stubs.IRsNamedItemStub;
 
 public interface IRsNamedItem<StubT extends IRsNamedItemStub> extends IRsItem<StubT>, IRsNameIdentifierOwner {
+    /**
+     * Get first paragraph of documentation, see {@link RsDocSummary}. Read from stub if available.
+     *
+     * @return null if item is not documented
+     */
+    @Nullable
+    String getDocSummary();
 }
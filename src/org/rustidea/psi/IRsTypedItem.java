@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.stubs.IRsTypedItemStub;
+
+/**
+ * Named item with single declared type, i.e. {@code const}, {@code static} or {@code type} alias.
+ */
+public interface IRsTypedItem<StubT extends IRsTypedItemStub> extends IRsNamedItem<StubT>, IRsTypeOwner {
+    /**
+     * Get normalized text of declared type, can be parsed with
+     * {@link org.rustidea.types.RsTyFactory#fromText(CharSequence)}. Read from stub if available.
+     *
+     * @return null if type is missing
+     */
+    @Nullable
+    String getTypeText();
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable summary of item attributes: meta trees with literal values decoded, plus lookups for attributes
+ * queried most often ({@code derive}, {@code cfg} and lint levels). Built once per item from PSI or read
+ * from stub, see {@link IRsItem#getAttributeModel()}.
+ *
+ * <p>The model is stored in every item stub, so it keeps only attributes needed without AST: {@code cfg},
+ * {@code derive}, {@code path}, lint levels and crate-level flags. Other attributes, including
+ * {@code #[doc = "..."]}, are available only from PSI, see {@link IRsAttributeOwner#getAttributes()}.</p>
+ */
+public final class RsAttributeModel {
+    public static final RsAttributeModel EMPTY = new RsAttributeModel(Collections.<Meta>emptyList());
+
+    @NonNls
+    public static final String CFG = "cfg";
+    @NonNls
+    public static final String DERIVE = "derive";
+
+    private static final Set<String> MODEL_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+        CFG, DERIVE, RsModuleDeclaration.PATH, "crate_name", "crate_type", "feature", "no_core", "no_std")));
+
+    @NotNull
+    private final List<Meta> attributes;
+    @NotNull
+    private final Map<String, List<Meta>> byName;
+    @NotNull
+    private final List<String> deriveNames;
+    @NotNull
+    private final List<Meta> cfgPredicates;
+    @NotNull
+    private final Map<String, LintLevel> lintLevels;
+
+    private RsAttributeModel(@NotNull final List<Meta> attributes) {
+        this.attributes = attributes;
+
+        Map<String, List<Meta>> byName = Collections.emptyMap();
+        List<String> deriveNames = Collections.emptyList();
+        List<Meta> cfgPredicates = Collections.emptyList();
+        Map<String, LintLevel> lintLevels = Collections.emptyMap();
+
+        for (Meta meta : attributes) {
+            if (byName.isEmpty()) byName = new HashMap<String, List<Meta>>();
+            List<Meta> sameName = byName.get(meta.getName());
+            if (sameName == null) {
+                sameName = new ArrayList<Meta>(1);
+                byName.put(meta.getName(), sameName);
+            }
+            sameName.add(meta);
+
+            if (DERIVE.equals(meta.getName())) {
+                for (Meta arg : meta.getArgs()) {
+                    if (deriveNames.isEmpty()) deriveNames = new ArrayList<String>();
+                    deriveNames.add(arg.getName());
+                }
+            } else if (CFG.equals(meta.getName())) {
+                for (Meta arg : meta.getArgs()) {
+                    if (cfgPredicates.isEmpty()) cfgPredicates = new ArrayList<Meta>(1);
+                    cfgPredicates.add(arg);
+                }
+            } else {
+                final LintLevel level = LintLevel.fromAttributeName(meta.getName());
+                if (level != null) {
+                    for (Meta arg : meta.getArgs()) {
+                        if (lintLevels.isEmpty()) lintLevels = new HashMap<String, LintLevel>();
+                        lintLevels.put(arg.getName(), level);
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<Meta>> entry : byName.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        this.byName = byName;
+        this.deriveNames = Collections.unmodifiableList(deriveNames);
+        this.cfgPredicates = Collections.unmodifiableList(cfgPredicates);
+        this.lintLevels = lintLevels;
+    }
+
+    @NotNull
+    public static RsAttributeModel create(@NotNull final IRsAttribute[] attributes) {
+        List<Meta> metas = null;
+        for (IRsAttribute attribute : attributes) {
+            if (!(attribute instanceof RsAttribute)) continue;
+            final RsMeta root = ((RsAttribute) attribute).getRootMeta();
+            if (root == null || !isModelAttribute(root.getName())) continue;
+            if (metas == null) metas = new ArrayList<Meta>(attributes.length);
+            metas.add(Meta.create(root));
+        }
+        return metas == null ? EMPTY : new RsAttributeModel(Collections.unmodifiableList(metas));
+    }
+
+    private static boolean isModelAttribute(@Nullable final String name) {
+        return name != null && (MODEL_ATTRIBUTES.contains(name) || LintLevel.fromAttributeName(name) != null);
+    }
+
+    /**
+     * @return root metas of all attributes kept by the model, in source order.
+     */
+    @NotNull
+    public List<Meta> getAttributes() {
+        return attributes;
+    }
+
+    @NotNull
+    public List<Meta> getAttributes(@NotNull @NonNls final String name) {
+        final List<Meta> result = byName.get(name);
+        return result == null ? Collections.<Meta>emptyList() : result;
+    }
+
+    public boolean hasAttribute(@NotNull @NonNls final String name) {
+        return byName.containsKey(name);
+    }
+
+    /**
+     * @return value of the first {@code #[name = "value"]} attribute.
+     */
+    @Nullable
+    public String getValue(@NotNull @NonNls final String name) {
+        for (Meta meta : getAttributes(name)) {
+            if (meta.getValue() != null) return meta.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * @return trait names from all {@code #[derive(...)]} attributes, e.g. {@code [Clone, Debug]}.
+     */
+    @NotNull
+    public List<String> getDeriveNames() {
+        return deriveNames;
+    }
+
+    /**
+     * @return predicates of all {@code #[cfg(...)]} attributes; item is compiled only if all of them hold.
+     */
+    @NotNull
+    public List<Meta> getCfgPredicates() {
+        return cfgPredicates;
+    }
+
+    public boolean isCfgGated() {
+        return !cfgPredicates.isEmpty();
+    }
+
+    /**
+     * @return lint level set directly on the item, e.g. {@link LintLevel#ALLOW} for
+     * {@code #[allow(dead_code)]}, or {@code null} if the item does not mention the lint.
+     */
+    @Nullable
+    public LintLevel getLintLevel(@NotNull @NonNls final String lint) {
+        return lintLevels.get(lint);
+    }
+
+    public boolean isEmpty() {
+        return attributes.isEmpty();
+    }
+
+    public static void serialize(@NotNull final RsAttributeModel model,
+                                 @NotNull final StubOutputStream dataStream) throws IOException {
+        dataStream.writeVarInt(model.attributes.size());
+        for (Meta meta : model.attributes) {
+            meta.serialize(dataStream);
+        }
+    }
+
+    @NotNull
+    public static RsAttributeModel deserialize(@NotNull final StubInputStream dataStream) throws IOException {
+        final int count = dataStream.readVarInt();
+        if (count == 0) return EMPTY;
+        final List<Meta> metas = new ArrayList<Meta>(count);
+        for (int i = 0; i < count; i++) {
+            metas.add(Meta.deserialize(dataStream));
+        }
+        return new RsAttributeModel(Collections.unmodifiableList(metas));
+    }
+
+    @Override
+    public String toString() {
+        return attributes.toString();
+    }
+
+    /**
+     * Detached copy of {@link RsMeta}.
+     */
+    public static final class Meta {
+        private static final int NO_ARGS = -1;
+
+        @NotNull
+        private final String name;
+        @Nullable
+        private final String value;
+        @Nullable
+        private final List<Meta> args;
+
+        public Meta(@NotNull @NonNls final String name, @Nullable final String value, @Nullable final List<Meta> args) {
+            this.name = name;
+            this.value = value;
+            this.args = args == null ? null : Collections.unmodifiableList(args);
+        }
+
+        @NotNull
+        private static Meta create(@NotNull final RsMeta meta) {
+            final String name = meta.getName();
+            final RsLiteral literal = meta.getValue();
+            final RsMetaList params = meta.getParams();
+
+            List<Meta> args = null;
+            if (params != null) {
+                final RsMeta[] metas = params.getMetas();
+                args = metas.length == 0 ? Collections.<Meta>emptyList() : new ArrayList<Meta>(metas.length);
+                for (RsMeta child : metas) {
+                    args.add(create(child));
+                }
+            }
+
+            return new Meta(name == null ? "" : name, literal == null ? null : literal.getValueString(), args);
+        }
+
+        @NotNull
+        @NonNls
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return decoded literal value of {@code name = "value"} meta, or {@code null} for other forms.
+         */
+        @Nullable
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return arguments of {@code name(a, b)} meta, empty for other forms.
+         */
+        @NotNull
+        public List<Meta> getArgs() {
+            return args == null ? Collections.<Meta>emptyList() : args;
+        }
+
+        public boolean hasArgs() {
+            return args != null;
+        }
+
+        private void serialize(@NotNull final StubOutputStream dataStream) throws IOException {
+            // names repeat across files and go to the shared name table, values (paths, cfg values) mostly do not
+            dataStream.writeName(name);
+            dataStream.writeBoolean(value != null);
+            if (value != null) {
+                dataStream.writeUTFFast(value);
+            }
+            dataStream.writeVarInt(args == null ? NO_ARGS : args.size());
+            if (args != null) {
+                for (Meta arg : args) {
+                    arg.serialize(dataStream);
+                }
+            }
+        }
+
+        @NotNull
+        private static Meta deserialize(@NotNull final StubInputStream dataStream) throws IOException {
+            final String name = StringRef.toString(dataStream.readName());
+            final String value = dataStream.readBoolean() ? dataStream.readUTFFast() : null;
+            final int count = dataStream.readVarInt();
+            List<Meta> args = null;
+            if (count != NO_ARGS) {
+                args = count == 0 ? Collections.<Meta>emptyList() : new ArrayList<Meta>(count);
+                for (int i = 0; i < count; i++) {
+                    args.add(deserialize(dataStream));
+                }
+            }
+            return new Meta(name == null ? "" : name, value, args);
+        }
+
+        @Override
+        @Contract(pure = true)
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Meta meta = (Meta) o;
+            return name.equals(meta.name) &&
+                (value == null ? meta.value == null : value.equals(meta.value)) &&
+                (args == null ? meta.args == null : args.equals(meta.args));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = name.hashCode();
+            result = 31 * result + (value != null ? value.hashCode() : 0);
+            result = 31 * result + (args != null ? args.hashCode() : 0);
+            return result;
+        }
+
+        /**
+         * @return source-like form, e.g. {@code any(unix, feature = "foo")}.
+         */
+        @NotNull
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder(name);
+            if (value != null) {
+                sb.append(" = \"").append(value).append('"');
+            } else if (args != null) {
+                sb.append('(');
+                boolean isFirst = true;
+                for (Meta arg : args) {
+                    if (isFirst) {
+                        isFirst = false;
+                    } else {
+                        sb.append(", ");
+                    }
+                    sb.append(arg);
+                }
+                sb.append(')');
+            }
+            return sb.toString();
+        }
+    }
+
+    public enum LintLevel {
+        ALLOW, WARN, DENY, FORBID;
+
+        @Nullable
+        @Contract(pure = true)
+        public static LintLevel fromAttributeName(@NotNull @NonNls final String name) {
+            if ("allow".equals(name)) return ALLOW;
+            if ("warn".equals(name)) return WARN;
+            if ("deny".equals(name)) return DENY;
+            if ("forbid".equals(name)) return FORBID;
+            return null;
+        }
+    }
+}
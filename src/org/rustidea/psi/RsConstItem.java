@@ -18,5 +18,5 @@ package org.rustidea.psi;
 
 import org.rustidea.stubs.RsConstItemStub;
 
-public interface RsConstItem extends IRsNamedItem<RsConstItemStub> {
+public interface RsConstItem extends IRsTypedItem<RsConstItemStub> {
 }
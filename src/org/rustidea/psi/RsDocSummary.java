@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * First paragraph of item documentation, stored in named item stubs, so completion and quick documentation
+ * can show it without loading files.
+ *
+ * <p>Only doc comments, both line and block ones, are taken into account; {@code #[doc = "..."]} attributes
+ * are not. Summary is cut at {@link #MAX_LENGTH} characters, to keep stub size bounded.</p>
+ */
+public final class RsDocSummary {
+    public static final int MAX_LENGTH = 160;
+    private static final String ELLIPSIS = "...";
+
+    private RsDocSummary() {
+    }
+
+    @Nullable
+    public static String extract(@NotNull final IRsAttributeOwner owner) {
+        final List<String> texts = new ArrayList<String>();
+        for (IRsAttribute attribute : owner.getAttributes()) {
+            if (attribute instanceof RsDoc) {
+                texts.add(((RsDoc) attribute).getToken().getText());
+            }
+        }
+        return extract(texts);
+    }
+
+    /**
+     * @param docTexts source texts of doc comments, in order, including comment delimiters
+     * @return summary or null if documentation is empty
+     */
+    @Nullable
+    static String extract(@NotNull final List<String> docTexts) {
+        final StringBuilder sb = new StringBuilder();
+        for (String docText : docTexts) {
+            for (String line : getContentLines(docText)) {
+                final String trimmed = line.trim();
+                if (trimmed.isEmpty()) {
+                    if (sb.length() > 0) {
+                        return truncate(sb);
+                    }
+                    continue;
+                }
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                appendCollapsingWhitespace(sb, trimmed);
+                if (sb.length() > MAX_LENGTH) {
+                    return truncate(sb);
+                }
+            }
+        }
+        return sb.length() == 0 ? null : truncate(sb);
+    }
+
+    public static void serialize(@Nullable final String summary,
+                                 @NotNull final StubOutputStream dataStream) throws IOException {
+        dataStream.writeUTFFast(summary == null ? "" : summary);
+    }
+
+    @Nullable
+    public static String deserialize(@NotNull final StubInputStream dataStream) throws IOException {
+        final String summary = dataStream.readUTFFast();
+        return summary.isEmpty() ? null : summary;
+    }
+
+    @NotNull
+    private static String[] getContentLines(@NotNull final String docText) {
+        if (docText.startsWith("///") || docText.startsWith("//!")) {
+            return new String[]{docText.substring(3)};
+        }
+
+        String body = docText;
+        if (body.startsWith("/**") || body.startsWith("/*!")) {
+            body = body.substring(3);
+        }
+        if (body.endsWith("*/")) {
+            body = body.substring(0, body.length() - 2);
+        }
+        final String[] lines = body.split("\r?\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            final String line = lines[i].trim();
+            lines[i] = line.startsWith("*") ? line.substring(1) : line;
+        }
+        return lines;
+    }
+
+    private static void appendCollapsingWhitespace(@NotNull final StringBuilder sb, @NotNull final String text) {
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+            } else {
+                if (space) {
+                    sb.append(' ');
+                    space = false;
+                }
+                sb.append(c);
+            }
+        }
+    }
+
+    @NotNull
+    private static String truncate(@NotNull final StringBuilder sb) {
+        if (sb.length() <= MAX_LENGTH) {
+            return sb.toString();
+        }
+        int end = sb.lastIndexOf(" ", MAX_LENGTH - ELLIPSIS.length());
+        if (end <= 0) {
+            end = MAX_LENGTH - ELLIPSIS.length();
+        }
+        return sb.substring(0, end) + ELLIPSIS;
+    }
+}
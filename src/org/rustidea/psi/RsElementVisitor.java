@@ -29,6 +29,10 @@ public abstract class RsElementVisitor extends PsiElementVisitor {
         visitElement(attributeOrDoc);
     }
 
+    public void visitBlock(RsBlock block) {
+        visitElement(block);
+    }
+
     public void visitConstItem(RsConstItem constItem) {
         visitItem(constItem);
     }
@@ -45,6 +49,10 @@ public abstract class RsElementVisitor extends PsiElementVisitor {
         visitModuleOrFile(file);
     }
 
+    public void visitFunction(RsFunction function) {
+        visitItem(function);
+    }
+
     public void visitGlobReferenceElement(RsGlobReferenceElement globReferenceElement) {
         visitIReferenceElement(globReferenceElement);
     }
@@ -65,6 +73,10 @@ public abstract class RsElementVisitor extends PsiElementVisitor {
         visitRustToken(keyword);
     }
 
+    public void visitLetDecl(RsLetDecl letDecl) {
+        visitElement(letDecl);
+    }
+
     public void visitLifetime(RsLifetime lifetime) {
         visitElement(lifetime);
     }
@@ -81,6 +93,10 @@ public abstract class RsElementVisitor extends PsiElementVisitor {
         visitElement(literal); // TODO:RJP-12 visit expression
     }
 
+    public void visitMacroInvocation(RsMacroInvocation macroInvocation) {
+        visitElement(macroInvocation);
+    }
+
     public void visitMeta(RsMeta meta) {
         visitElement(meta);
     }
@@ -97,6 +113,10 @@ public abstract class RsElementVisitor extends PsiElementVisitor {
         visitModuleOrFile(module);
     }
 
+    public void visitModuleBody(RsModuleBody moduleBody) {
+        visitElement(moduleBody);
+    }
+
     public void visitModuleOrFile(IRsModule module) {
         if (module instanceof PsiFile) {
             super.visitFile((PsiFile) module);
@@ -107,6 +127,14 @@ public abstract class RsElementVisitor extends PsiElementVisitor {
         }
     }
 
+    public void visitParameter(RsParameter parameter) {
+        visitElement(parameter);
+    }
+
+    public void visitParameterList(RsParameterList parameterList) {
+        visitElement(parameterList);
+    }
+
     public void visitPathType(RsPathType pathType) {
         visitType(pathType);
     }
@@ -139,6 +167,10 @@ public abstract class RsElementVisitor extends PsiElementVisitor {
         visitType(structType);
     }
 
+    public void visitTokenTree(RsTokenTree tokenTree) {
+        visitElement(tokenTree);
+    }
+
     public void visitTupleType(RsTupleType tupleType) {
         visitType(tupleType);
     }
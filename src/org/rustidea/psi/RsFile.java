@@ -17,6 +17,21 @@
 package org.rustidea.psi;
 
 import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
 
 public interface RsFile extends PsiFile, IRsModule {
+    /**
+     * Get inner attributes of this file, e.g. {@code #![no_std]}. Read from stub if available.
+     */
+    @NotNull
+    RsAttributeModel getAttributeModel();
+
+    /**
+     * Get out-of-line module declarations ({@code mod foo;}) of this file, including ones nested in inline
+     * modules. Read from stub if available.
+     */
+    @NotNull
+    List<RsModuleDeclaration> getModuleDeclarations();
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.stubs.RsFunctionStub;
+
+public interface RsFunction extends IRsNamedItem<RsFunctionStub>, IRsTypeParameterListOwner {
+    @Nullable
+    RsParameterList getParameterList();
+
+    /**
+     * Get declared return type.
+     *
+     * @return type after {@code ->} or {@code null} if function returns {@code ()} implicitly
+     */
+    @Nullable
+    IRsType getReturnType();
+
+    /**
+     * Get function body. Body is a lazy element, so calling this method does not force parsing of its contents.
+     *
+     * @return function body or {@code null} for declarations without body, e.g. {@code fn foo();}
+     */
+    @Nullable
+    RsBlock getBody();
+}
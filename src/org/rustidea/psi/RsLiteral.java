@@ -39,7 +39,7 @@ public interface RsLiteral extends IRsPsiElement {
      * </tr>
      * <tr>
      * <td>{@link RsPsiTypes#INT_LIT}</td>
-     * <td>{@link java.math.BigInteger} (Java 6 {@link Long} is too small)</td>
+     * <td>{@link Long}, or {@link java.math.BigInteger} if value does not fit into {@code long}</td>
      * </tr>
      * <tr>
      * <td>{@link RsPsiTypes#FLOAT_LIT}</td>
@@ -47,15 +47,20 @@ public interface RsLiteral extends IRsPsiElement {
      * </tr>
      * <tr>
      * <td>{@link RsPsiTypes#CHAR_LIT}, {@link RsPsiTypes#BYTE_LIT}</td>
-     * <td>{@link Character}</td>
+     * <td>{@link Integer} (code point)</td>
      * </tr>
      * <tr>
-     * <td>{@link RsPsiTypes#STRING_LIT}, {@link RsPsiTypes#BYTE_STRING_LIT},
-     * {@link RsPsiTypes#RAW_STRING_LIT}, {@link RsPsiTypes#RAW_BYTE_STRING_LIT}</td>
+     * <td>{@link RsPsiTypes#STRING_LIT}, {@link RsPsiTypes#RAW_STRING_LIT}</td>
      * <td>{@link String}</td>
      * </tr>
+     * <tr>
+     * <td>{@link RsPsiTypes#BYTE_STRING_LIT}, {@link RsPsiTypes#RAW_BYTE_STRING_LIT}</td>
+     * <td>{@code byte[]} (fresh copy on each call)</td>
+     * </tr>
      * </table></p>
      *
+     * <p>Decoded value, value string and suffix are cached until the literal changes.</p>
+     *
      * @return literal value converted into Java counterpart or null if operation failed.
      */
     @Nullable
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public interface RsMacroInvocation extends IRsPsiElement, IRsModifierListOwner, IRsAttributeOwner {
+    @NotNull
+    RsIdentifier getMacroNameIdentifier();
+
+    @NotNull
+    @NonNls
+    String getMacroName();
+
+    /**
+     * Get identifier placed between macro name and token tree, e.g. {@code foo} in {@code macro_rules! foo {}}.
+     */
+    @Nullable
+    RsIdentifier getNameIdentifier();
+
+    @Nullable
+    RsTokenTree getTokenTree();
+}
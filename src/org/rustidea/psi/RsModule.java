@@ -19,4 +19,15 @@ package org.rustidea.psi;
 import org.rustidea.stubs.RsModuleStub;
 
 public interface RsModule extends IRsNamedItem<RsModuleStub>, IRsModule {
+    /**
+     * Check whether module body is left as a token tree, which happens in degraded mode of large files, see
+     * {@link org.rustidea.parser.RsParseBudget}. Items of such modules are not known at all. Bodies of cfg-gated
+     * modules, e.g. {@code #[cfg(test)] mod tests { ... }}, are parsed lazily too, but their items are stubbed.
+     */
+    boolean isBodyLazy();
+
+    /**
+     * Check whether this is out-of-line module declaration, i.e. {@code mod foo;} with items in another file.
+     */
+    boolean isOutOfLine();
 }
@@ -0,0 +1,25 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+/**
+ * Lazy-parseable body of cfg-gated inline module, e.g. {@code #[cfg(test)] mod tests { ... }}.
+ * Items inside are built in the editor tree only when something inspects them, and edits inside reparse only the
+ * body. Stub building still parses the body, because its items are indexed.
+ */
+public interface RsModuleBody extends IRsItemOwner, IRsAttributeOwner {
+}
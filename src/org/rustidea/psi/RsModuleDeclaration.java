@@ -0,0 +1,167 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Detached copy of out-of-line module declaration ({@code mod foo;}), stored in file stub,
+ * see {@link RsFile#getModuleDeclarations()}.
+ */
+public final class RsModuleDeclaration {
+    @NonNls
+    public static final String PATH = "path";
+
+    @NotNull
+    private final String name;
+    @Nullable
+    private final String path;
+    @NotNull
+    private final List<String> inlineParents;
+
+    /**
+     * @param path          value of {@code #[path = "..."]} attribute
+     * @param inlineParents names of inline modules enclosing declaration, outermost first
+     */
+    public RsModuleDeclaration(@NotNull @NonNls final String name,
+                               @Nullable final String path,
+                               @NotNull final List<String> inlineParents) {
+        this.name = name;
+        this.path = path;
+        this.inlineParents = inlineParents.isEmpty()
+            ? Collections.<String>emptyList()
+            : Collections.unmodifiableList(new ArrayList<String>(inlineParents));
+    }
+
+    /**
+     * Collect out-of-line module declarations in given module and its inline submodules.
+     * Lazy module bodies are not entered.
+     */
+    @NotNull
+    public static List<RsModuleDeclaration> collect(@NotNull final IRsItemOwner owner) {
+        final List<RsModuleDeclaration> result = new ArrayList<RsModuleDeclaration>();
+        collect(owner, new ArrayList<String>(), result);
+        return result.isEmpty() ? Collections.<RsModuleDeclaration>emptyList() : Collections.unmodifiableList(result);
+    }
+
+    private static void collect(@NotNull final IRsItemOwner owner,
+                                @NotNull final List<String> parents,
+                                @NotNull final List<RsModuleDeclaration> result) {
+        for (IRsItem item : owner.getItems()) {
+            if (!(item instanceof RsModule)) continue;
+            final RsModule module = (RsModule) item;
+            final String name = module.getName();
+            if (name == null) continue;
+
+            if (module.isOutOfLine()) {
+                result.add(new RsModuleDeclaration(name, module.getAttributeModel().getValue(PATH), parents));
+            } else if (!module.isBodyLazy()) {
+                parents.add(name);
+                collect(module, parents, result);
+                parents.remove(parents.size() - 1);
+            }
+        }
+    }
+
+    @NotNull
+    @NonNls
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    public String getPath() {
+        return path;
+    }
+
+    @NotNull
+    public List<String> getInlineParents() {
+        return inlineParents;
+    }
+
+    public static void serialize(@NotNull final List<RsModuleDeclaration> declarations,
+                                 @NotNull final StubOutputStream dataStream) throws IOException {
+        dataStream.writeVarInt(declarations.size());
+        for (RsModuleDeclaration declaration : declarations) {
+            dataStream.writeName(declaration.name);
+            dataStream.writeName(declaration.path);
+            dataStream.writeVarInt(declaration.inlineParents.size());
+            for (String parent : declaration.inlineParents) {
+                dataStream.writeName(parent);
+            }
+        }
+    }
+
+    @NotNull
+    public static List<RsModuleDeclaration> deserialize(@NotNull final StubInputStream dataStream) throws IOException {
+        final int count = dataStream.readVarInt();
+        if (count == 0) return Collections.emptyList();
+        final List<RsModuleDeclaration> result = new ArrayList<RsModuleDeclaration>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = StringRef.toString(dataStream.readName());
+            final String path = StringRef.toString(dataStream.readName());
+            final int parentCount = dataStream.readVarInt();
+            final String[] parents = new String[parentCount];
+            for (int j = 0; j < parentCount; j++) {
+                parents[j] = StringRef.toString(dataStream.readName());
+            }
+            result.add(new RsModuleDeclaration(name == null ? "" : name, path, Arrays.asList(parents)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RsModuleDeclaration that = (RsModuleDeclaration) o;
+        return name.equals(that.name)
+            && (path == null ? that.path == null : path.equals(that.path))
+            && inlineParents.equals(that.inlineParents);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = name.hashCode();
+        result = 31 * result + (path != null ? path.hashCode() : 0);
+        result = 31 * result + inlineParents.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        if (path != null) {
+            sb.append("#[path = \"").append(path).append("\"] ");
+        }
+        for (String parent : inlineParents) {
+            sb.append(parent).append("::");
+        }
+        return sb.append(name).toString();
+    }
+}
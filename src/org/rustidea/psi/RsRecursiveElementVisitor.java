@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.types.RsElementTypeContainment;
+
+/**
+ * Visitor walking the whole subtree iteratively and calling {@code accept} only on elements of requested types.
+ * Subtrees which cannot contain any of requested types (see {@link RsElementTypeContainment}) are not entered,
+ * so e.g. a visitor interested in items never looks into literals, types or attributes.
+ */
+public abstract class RsRecursiveElementVisitor extends RsElementVisitor {
+    @NotNull
+    private final TokenSet typesToVisit;
+    @NotNull
+    private final TokenSet typesToEnter;
+    private boolean stopped;
+
+    /**
+     * @param typesToVisit types of elements passed to {@code visit*} methods.
+     */
+    protected RsRecursiveElementVisitor(@NotNull final TokenSet typesToVisit) {
+        this.typesToVisit = typesToVisit;
+        this.typesToEnter = RsElementTypeContainment.getTypesToEnter(typesToVisit);
+    }
+
+    /**
+     * Visit descendants of {@code root} in document order. The root itself is visited too if its type was requested.
+     */
+    public void walk(@NotNull final PsiElement root) {
+        final ASTNode rootNode = root.getNode();
+        if (rootNode == null) return;
+
+        stopped = false;
+        ASTNode node = rootNode;
+        while (node != null) {
+            final IElementType type = node.getElementType();
+            if (typesToVisit.contains(type)) {
+                node.getPsi().accept(this);
+                if (stopped) return;
+            }
+
+            ASTNode next = shouldEnter(node, rootNode) ? node.getFirstChildNode() : null;
+            while (next == null && node != rootNode) {
+                next = node.getTreeNext();
+                if (next == null) {
+                    node = node.getTreeParent();
+                }
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Stop walking after current {@code visit*} method returns.
+     */
+    public void stopWalking() {
+        stopped = true;
+    }
+
+    private boolean shouldEnter(@NotNull final ASTNode node, @NotNull final ASTNode rootNode) {
+        final IElementType type = node.getElementType();
+        return node == rootNode || typesToEnter.contains(type) || !RsElementTypeContainment.isKnown(type);
+    }
+}
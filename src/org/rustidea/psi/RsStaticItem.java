@@ -18,5 +18,11 @@ package org.rustidea.psi;
 
 import org.rustidea.stubs.RsStaticItemStub;
 
-public interface RsStaticItem extends IRsNamedItem<RsStaticItemStub> {
+public interface RsStaticItem extends IRsTypedItem<RsStaticItemStub> {
+    /**
+     * Read from stub if available.
+     *
+     * @return true for {@code static mut} items
+     */
+    boolean isMutable();
 }
@@ -17,7 +17,24 @@
 package org.rustidea.psi;
 
 import com.intellij.psi.StubBasedPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.rustidea.stubs.RsStructFieldStub;
 
 public interface RsStructField extends StubBasedPsiElement<RsStructFieldStub>, IRsPsiElement, IRsNameIdentifierOwner, IRsTypeOwner {
+    /**
+     * Read from stub if available.
+     */
+    @NotNull
+    RsVisibility getVisibility();
+
+    /**
+     * Get text of field type, normalized with {@link org.rustidea.types.RsTyFactory#getNormalizedText(IRsType)},
+     * can be parsed with {@link org.rustidea.types.RsTyFactory#fromText(CharSequence)}. Read from stub if available.
+     */
+    @Nullable
+    String getTypeText();
+
+    @Nullable
+    RsStruct getOwner();
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Balanced group of tokens delimited by parentheses, brackets or braces.
+ *
+ * <p>Token trees are lazy: their contents (nested token trees and plain tokens) are parsed only
+ * when something inspects them.</p>
+ */
+public interface RsTokenTree extends IRsPsiElement {
+    /**
+     * Get opening delimiter token type: {@link org.rustidea.psi.types.RsPsiTypes#OP_LPAREN},
+     * {@link org.rustidea.psi.types.RsPsiTypes#OP_LBRACKET} or {@link org.rustidea.psi.types.RsPsiTypes#OP_LBRACE}.
+     */
+    @NotNull
+    IElementType getDelimiterType();
+
+    @NotNull
+    RsTokenTree[] getTokenTrees();
+
+    @Nullable
+    RsTokenTree getParentTokenTree();
+}
@@ -18,5 +18,5 @@ package org.rustidea.psi;
 
 import org.rustidea.stubs.RsTypeAliasStub;
 
-public interface RsTypeAlias extends IRsNamedItem<RsTypeAliasStub>, IRsTypeParameterListOwner, IRsTypeOwner {
+public interface RsTypeAlias extends IRsTypedItem<RsTypeAliasStub>, IRsTypeParameterListOwner {
 }
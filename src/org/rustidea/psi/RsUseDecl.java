@@ -23,12 +23,27 @@ import org.rustidea.stubs.RsUseDeclStub;
 import org.rustidea.util.UnreachableException;
 
 public interface RsUseDecl extends IRsItem<RsUseDeclStub> {
+    /**
+     * Always loads the AST, use {@link #getUsePath()} where possible.
+     */
     @Nullable
     IRsReferenceElement getUseReference();
 
+    /**
+     * Get structured form of imported path. Read from stub if available.
+     */
+    @NotNull
+    RsUsePath getUsePath();
+
     @NotNull
     Type getType();
 
+    /**
+     * @return name after {@code as} for {@link Type#RENAMED} declarations, null otherwise
+     */
+    @Nullable
+    String getAliasName();
+
     enum Type {
         /** Packed as {@code 0b00}. */
         SIMPLE,
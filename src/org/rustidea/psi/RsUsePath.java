@@ -0,0 +1,334 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.ArrayUtil;
+import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.types.RsPsiTypes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Detached, structured form of use declaration path, e.g. {@code ::a::b::{c, self} as d}.
+ * Stored in use declaration stubs, so imports can be inspected without AST, see {@link RsUseDecl#getUsePath()}.
+ *
+ * <p>Segment and imported names are interned.</p>
+ */
+public final class RsUsePath {
+    private static final Interner<String> NAMES = Interners.newWeakInterner();
+    private static final TokenSet LIST_NAME_TOKEN_SET = TokenSet.create(RsPsiTypes.IDENTIFIER, RsPsiTypes.KW_SELF);
+
+    private static final int GLOB_FLAG = 1 << 2;
+    private static final int LIST_FLAG = 1 << 3;
+    private static final int RELATION_MASK = 3;
+
+    @NonNls
+    public static final String SELF = "self";
+
+    public static final RsUsePath EMPTY = new RsUsePath(Relation.NONE, ArrayUtil.EMPTY_STRING_ARRAY, null, false, null);
+
+    public enum Relation {
+        /** Path starts with a name, e.g. {@code a::b}. */
+        NONE,
+        /** Path starts with {@code ::}. */
+        GLOBAL,
+        /** Path starts with {@code self::}. */
+        SELF,
+        /** Path starts with {@code super::}. */
+        SUPER
+    }
+
+    @NotNull
+    private final Relation relation;
+    @NotNull
+    private final String[] segments;
+    @Nullable
+    private final String[] listNames;
+    private final boolean glob;
+    @Nullable
+    private final String alias;
+
+    private RsUsePath(@NotNull final Relation relation,
+                      @NotNull final String[] segments,
+                      @Nullable final String[] listNames,
+                      final boolean glob,
+                      @Nullable final String alias) {
+        this.relation = relation;
+        this.segments = segments;
+        this.listNames = listNames;
+        this.glob = glob;
+        this.alias = alias;
+    }
+
+    /**
+     * @param segments  path segments after relation; for list and glob imports this is the qualifier of
+     *                  {@code {...}} or {@code *}
+     * @param listNames names inside braces for list imports, null otherwise
+     */
+    @NotNull
+    public static RsUsePath create(@NotNull final Relation relation,
+                                   @NotNull final List<String> segments,
+                                   @Nullable final List<String> listNames,
+                                   final boolean glob,
+                                   @Nullable final String alias) {
+        return new RsUsePath(relation, intern(segments), listNames == null ? null : intern(listNames), glob,
+            alias == null ? null : NAMES.intern(alias));
+    }
+
+    @NotNull
+    public static RsUsePath create(@Nullable final IRsReferenceElement reference, @Nullable final String alias) {
+        if (reference == null) {
+            return EMPTY;
+        }
+
+        List<String> listNames = null;
+        boolean glob = false;
+        IRsReferenceElement current = reference;
+        if (reference instanceof RsListReferenceElement) {
+            listNames = new ArrayList<String>();
+            for (ASTNode node : reference.getNode().getChildren(LIST_NAME_TOKEN_SET)) {
+                listNames.add(node.getText());
+            }
+            current = getQualifier(reference);
+        } else if (reference instanceof RsGlobReferenceElement) {
+            glob = true;
+            current = getQualifier(reference);
+        }
+
+        Relation relation = Relation.NONE;
+        final List<String> segments = new ArrayList<String>();
+        while (current != null) {
+            if (current instanceof RsRelationReferenceElement) {
+                relation = Relation.valueOf(((RsRelationReferenceElement) current).getRelationType().name());
+                break;
+            }
+            final String name = current.getReferenceName();
+            segments.add(name == null ? "" : name);
+            current = getQualifier(current);
+        }
+        Collections.reverse(segments);
+
+        return create(relation, segments, listNames, glob, alias);
+    }
+
+    /**
+     * {@link IRsReferenceElement#getQualifier()} does not report relation qualifiers, so look for any reference child.
+     */
+    @Nullable
+    private static IRsReferenceElement getQualifier(@NotNull final IRsReferenceElement reference) {
+        return PsiTreeUtil.getChildOfType(reference, IRsReferenceElement.class);
+    }
+
+    @NotNull
+    public Relation getRelation() {
+        return relation;
+    }
+
+    @NotNull
+    public List<String> getSegments() {
+        return Collections.unmodifiableList(Arrays.asList(segments));
+    }
+
+    /**
+     * @return last segment, null if path consists of relation only
+     */
+    @Nullable
+    public String getLastSegment() {
+        return segments.length == 0 ? null : segments[segments.length - 1];
+    }
+
+    /**
+     * @return names inside braces (including {@code self}) for list imports, null otherwise
+     */
+    @Nullable
+    public List<String> getListNames() {
+        return listNames == null ? null : Collections.unmodifiableList(Arrays.asList(listNames));
+    }
+
+    public boolean isGlob() {
+        return glob;
+    }
+
+    @Nullable
+    public String getAlias() {
+        return alias;
+    }
+
+    @NotNull
+    public RsUseDecl.Type getType() {
+        if (glob) return RsUseDecl.Type.GLOB;
+        if (listNames != null) return RsUseDecl.Type.LIST;
+        if (alias != null) return RsUseDecl.Type.RENAMED;
+        return RsUseDecl.Type.SIMPLE;
+    }
+
+    /**
+     * Names this declaration imports: last path segment, alias for renamed declarations and every name inside
+     * list declarations ({@code self} stands for the list qualifier). Glob declarations import nothing by name.
+     */
+    @NotNull
+    public List<String> getImportedNames() {
+        final List<String> names = new ArrayList<String>(2);
+        if (glob) {
+            return names;
+        }
+        if (listNames != null) {
+            for (String name : listNames) {
+                addName(names, SELF.equals(name) ? getLastSegment() : name);
+            }
+            return names;
+        }
+        addName(names, alias);
+        addName(names, getLastSegment());
+        return names;
+    }
+
+    private static void addName(@NotNull final List<String> names, @Nullable final String name) {
+        if (name != null && !name.isEmpty() && !names.contains(name)) {
+            names.add(name);
+        }
+    }
+
+    public static void serialize(@NotNull final RsUsePath path, @NotNull final StubOutputStream dataStream) throws IOException {
+        int flags = path.relation.ordinal();
+        if (path.glob) flags |= GLOB_FLAG;
+        if (path.listNames != null) flags |= LIST_FLAG;
+        dataStream.writeByte(flags);
+        writeNames(path.segments, dataStream);
+        if (path.listNames != null) {
+            writeNames(path.listNames, dataStream);
+        }
+        dataStream.writeName(path.alias);
+    }
+
+    @NotNull
+    public static RsUsePath deserialize(@NotNull final StubInputStream dataStream) throws IOException {
+        final int flags = dataStream.readByte();
+        final Relation relation = Relation.values()[flags & RELATION_MASK];
+        final String[] segments = readNames(dataStream);
+        final String[] listNames = (flags & LIST_FLAG) != 0 ? readNames(dataStream) : null;
+        final String alias = StringRef.toString(dataStream.readName());
+        return new RsUsePath(relation, segments, listNames, (flags & GLOB_FLAG) != 0, alias == null ? null : NAMES.intern(alias));
+    }
+
+    private static void writeNames(@NotNull final String[] names, @NotNull final StubOutputStream dataStream) throws IOException {
+        dataStream.writeVarInt(names.length);
+        for (String name : names) {
+            dataStream.writeName(name);
+        }
+    }
+
+    @NotNull
+    private static String[] readNames(@NotNull final StubInputStream dataStream) throws IOException {
+        final int count = dataStream.readVarInt();
+        if (count == 0) return ArrayUtil.EMPTY_STRING_ARRAY;
+        final String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            final String name = StringRef.toString(dataStream.readName());
+            names[i] = NAMES.intern(name == null ? "" : name);
+        }
+        return names;
+    }
+
+    @NotNull
+    private static String[] intern(@NotNull final List<String> names) {
+        if (names.isEmpty()) return ArrayUtil.EMPTY_STRING_ARRAY;
+        final String[] result = new String[names.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = NAMES.intern(names.get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RsUsePath that = (RsUsePath) o;
+        return glob == that.glob
+            && relation == that.relation
+            && Arrays.equals(segments, that.segments)
+            && Arrays.equals(listNames, that.listNames)
+            && (alias == null ? that.alias == null : alias.equals(that.alias));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = relation.hashCode();
+        result = 31 * result + Arrays.hashCode(segments);
+        result = 31 * result + Arrays.hashCode(listNames);
+        result = 31 * result + (glob ? 1 : 0);
+        result = 31 * result + (alias != null ? alias.hashCode() : 0);
+        return result;
+    }
+
+    /**
+     * @return source-like form, e.g. {@code ::a::b::{c, self}}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        switch (relation) {
+            case GLOBAL:
+                sb.append("::");
+                break;
+            case SELF:
+                sb.append("self::");
+                break;
+            case SUPER:
+                sb.append("super::");
+                break;
+            case NONE:
+                break;
+        }
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) sb.append("::");
+            sb.append(segments[i]);
+        }
+        if (glob || listNames != null) {
+            if (segments.length > 0) sb.append("::");
+            if (glob) {
+                sb.append('*');
+            } else {
+                sb.append('{');
+                for (int i = 0; i < listNames.length; i++) {
+                    if (i > 0) sb.append(", ");
+                    sb.append(listNames[i]);
+                }
+                sb.append('}');
+            }
+        }
+        if (alias != null) {
+            sb.append(" as ").append(alias);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.util.UnreachableException;
+
+/**
+ * Item and struct field visibility as stored in stubs. Packed into a byte, so restricted variants like {@code pub(crate)} can be
+ * added without changing stub layout.
+ */
+public enum RsVisibility {
+    /** Packed as {@code 0}. */
+    PRIVATE,
+    /** Packed as {@code 1}. */
+    PUBLIC;
+
+    @NotNull
+    @Contract(pure = true)
+    public static RsVisibility unpack(final byte packed) {
+        switch (packed) {
+            case 0:
+                return PRIVATE;
+            case 1:
+                return PUBLIC;
+            default:
+                throw new UnreachableException();
+        }
+    }
+
+    @Contract(pure = true)
+    public byte pack() {
+        switch (this) {
+            case PRIVATE:
+                return 0;
+            case PUBLIC:
+                return 1;
+            default:
+                throw new UnreachableException();
+        }
+    }
+}
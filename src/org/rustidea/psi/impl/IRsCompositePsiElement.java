@@ -16,19 +16,59 @@
 
 package org.rustidea.psi.impl;
 
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.impl.source.tree.CompositePsiElement;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.IRsPsiElement;
 import org.rustidea.psi.RsElementVisitor;
 import org.rustidea.psi.util.RsPsiUtil;
 
 public abstract class IRsCompositePsiElement extends CompositePsiElement implements IRsPsiElement {
+    @Nullable
+    private volatile RsChildSlots myChildSlots;
+
     protected IRsCompositePsiElement(@NotNull final IElementType type) {
         super(type);
     }
 
+    /**
+     * Find child of given type, remembering result in {@code slot} until the subtree changes.
+     *
+     * @param slot index unique within element class, less than {@link RsChildSlots#SIZE}.
+     */
+    @Nullable
+    protected final PsiElement findCachedChildByType(final int slot, @NotNull final IElementType type) {
+        return getChildSlots().find(slot, type);
+    }
+
+    /**
+     * @see #findCachedChildByType(int, IElementType)
+     */
+    @Nullable
+    protected final PsiElement findCachedChildByType(final int slot, @NotNull final TokenSet types) {
+        return getChildSlots().find(slot, types);
+    }
+
+    @Override
+    public void clearCaches() {
+        super.clearCaches();
+        myChildSlots = null;
+    }
+
+    @NotNull
+    private RsChildSlots getChildSlots() {
+        RsChildSlots slots = myChildSlots;
+        if (slots == null) {
+            slots = new RsChildSlots(this);
+            myChildSlots = slots;
+        }
+        return slots;
+    }
+
     @Override
     public void accept(@NotNull final PsiElementVisitor visitor) {
         if (visitor instanceof RsElementVisitor) {
@@ -18,19 +18,27 @@ package org.rustidea.psi.impl;
 
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.util.ArrayFactory;
 import com.intellij.util.ArrayUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.IRsAttribute;
 import org.rustidea.psi.IRsItem;
 import org.rustidea.psi.IRsItemOwner;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsModifierList;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.stubs.IRsItemStub;
 import org.rustidea.util.ArrayFactories;
 
 public abstract class IRsItemPsiElement<StubT extends IRsItemStub>
     extends IRsStubPsiElement<StubT> implements IRsItem<StubT> {
+    private static final int MODIFIER_LIST_SLOT = 0;
+
+    @Nullable
+    private volatile RsAttributeModel myAttributeModel;
+
     public IRsItemPsiElement(@NotNull StubT stub, @NotNull IStubElementType nodeType) {
         super(stub, nodeType);
     }
@@ -48,15 +56,53 @@ public abstract class IRsItemPsiElement<StubT extends IRsItemStub>
     @Nullable
     @Override
     public RsModifierList getModifierList() {
-        return findChildByType(RsPsiTypes.MODIFIER_LIST);
+        return (RsModifierList) findCachedChildByType(MODIFIER_LIST_SLOT, RsPsiTypes.MODIFIER_LIST);
     }
 
     @NotNull
     @Override
     public IRsAttribute[] getAttributes() {
-        RsModifierList modifierList = this.getModifierList();
-        IRsAttribute[] a1 = modifierList != null ? modifierList.getAttributes() : ArrayFactories.empty(IRsAttribute.class);
-        IRsAttribute[] a2 = this.getStubOrPsiChildren(RsPsiTypes.ATTRIBUTE_OR_DOC_TOKEN_SET, ArrayFactories.get(IRsAttribute.class));
-        return ArrayUtil.mergeArrays(a1, a2, ArrayFactories.get(IRsAttribute.class));
+        final ArrayFactory<IRsAttribute> factory = ArrayFactories.get(IRsAttribute.class);
+        final IRsAttribute[] inner = getStubOrPsiChildren(RsPsiTypes.ATTRIBUTE_OR_DOC_TOKEN_SET, factory);
+        final RsModifierList modifierList = getModifierList();
+        if (modifierList == null) return inner;
+        final IRsAttribute[] outer = modifierList.getAttributes();
+        if (inner.length == 0) return outer;
+        if (outer.length == 0) return inner;
+        return ArrayUtil.mergeArrays(outer, inner, factory);
+    }
+
+    @NotNull
+    @Override
+    public RsAttributeModel getAttributeModel() {
+        final StubT stub = getStub();
+        if (stub != null) {
+            return stub.getAttributeModel();
+        }
+
+        RsAttributeModel model = myAttributeModel;
+        if (model == null) {
+            model = RsAttributeModel.create(getAttributes());
+            myAttributeModel = model;
+        }
+        return model;
+    }
+
+    @NotNull
+    @Override
+    public RsVisibility getVisibility() {
+        final StubT stub = getStub();
+        if (stub != null) {
+            return stub.getVisibility();
+        }
+
+        final RsModifierList modifierList = getModifierList();
+        return modifierList != null && modifierList.hasPub() ? RsVisibility.PUBLIC : RsVisibility.PRIVATE;
+    }
+
+    @Override
+    public void subtreeChanged() {
+        super.subtreeChanged();
+        myAttributeModel = null;
     }
 }
@@ -23,6 +23,7 @@ import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.IRsNamedItem;
+import org.rustidea.psi.RsDocSummary;
 import org.rustidea.psi.RsIdentifier;
 import org.rustidea.psi.util.RsPsiTreeUtil;
 import org.rustidea.stubs.IRsNamedItemStub;
@@ -55,6 +56,17 @@ public abstract class IRsNamedItemPsiElement<StubT extends IRsNamedItemStub>
         return getNameIdentifier().getText();
     }
 
+    @Nullable
+    @Override
+    public String getDocSummary() {
+        final StubT stub = getStub();
+        if (stub != null) {
+            return stub.getDocSummary();
+        }
+
+        return RsDocSummary.extract(this);
+    }
+
     @NotNull
     @Override
     public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
@@ -29,6 +29,9 @@ import org.rustidea.psi.util.RsPsiUtil;
 import org.rustidea.util.NotImplementedException;
 
 public abstract class IRsReferenceElementImpl extends IRsCompositePsiElement implements IRsReferenceElement {
+    private static final int QUALIFIER_SLOT = 0;
+    protected static final int REFERENCE_NAME_SLOT = 1;
+
     public IRsReferenceElementImpl(@NotNull IElementType type) {
         super(type);
     }
@@ -43,7 +46,7 @@ public abstract class IRsReferenceElementImpl extends IRsCompositePsiElement imp
     @Nullable
     @Override
     public IRsReferenceElement getQualifier() {
-        return (IRsReferenceElement) findPsiChildByType(RsPsiTypes.REFERENCE_ELEMENT);
+        return (IRsReferenceElement) findCachedChildByType(QUALIFIER_SLOT, RsPsiTypes.REFERENCE_ELEMENT);
     }
 
     @Override
@@ -23,13 +23,18 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.StubBasedPsiElement;
 import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.IRsPsiElement;
 import org.rustidea.psi.RsElementVisitor;
 import org.rustidea.psi.util.RsPsiUtil;
 
 public abstract class IRsStubPsiElement<StubT extends StubElement>
     extends StubBasedPsiElementBase<StubT> implements StubBasedPsiElement<StubT>, IRsPsiElement {
+    @Nullable
+    private volatile RsChildSlots myChildSlots;
+
     public IRsStubPsiElement(@NotNull final StubT stub, @NotNull final IStubElementType nodeType) {
         super(stub, nodeType);
     }
@@ -44,6 +49,29 @@ public abstract class IRsStubPsiElement<StubT extends StubElement>
         return getParentByStub();
     }
 
+    /**
+     * Find child of given type, remembering result in {@code slot} until the subtree changes or AST is reloaded.
+     * Like {@link #findChildByType(IElementType)}, this loads AST.
+     *
+     * @param slot index unique within element class, less than {@link RsChildSlots#SIZE}.
+     */
+    @Nullable
+    protected final PsiElement findCachedChildByType(final int slot, @NotNull final IElementType type) {
+        final ASTNode node = getNode();
+        RsChildSlots slots = myChildSlots;
+        if (slots == null || slots.getOwner() != node) {
+            slots = new RsChildSlots(node);
+            myChildSlots = slots;
+        }
+        return slots.find(slot, type);
+    }
+
+    @Override
+    public void subtreeChanged() {
+        super.subtreeChanged();
+        myChildSlots = null;
+    }
+
     @Override
     public void accept(@NotNull final PsiElementVisitor visitor) {
         if (visitor instanceof RsElementVisitor) {
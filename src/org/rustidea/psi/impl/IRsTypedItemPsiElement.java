@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.impl;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IStubElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.IRsType;
+import org.rustidea.psi.IRsTypedItem;
+import org.rustidea.psi.util.RsPsiTreeUtil;
+import org.rustidea.stubs.IRsTypedItemStub;
+import org.rustidea.types.RsTyFactory;
+
+public abstract class IRsTypedItemPsiElement<StubT extends IRsTypedItemStub>
+    extends IRsNamedItemPsiElement<StubT> implements IRsTypedItem<StubT> {
+    public IRsTypedItemPsiElement(@NotNull StubT stub, @NotNull IStubElementType nodeType) {
+        super(stub, nodeType);
+    }
+
+    public IRsTypedItemPsiElement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    @Override
+    public IRsType getType() {
+        // initializer expressions do not contain types as direct children, so the only one is the declared type
+        return RsPsiTreeUtil.getChildOfType(this, IRsType.class);
+    }
+
+    @Nullable
+    @Override
+    public String getTypeText() {
+        final StubT stub = getStub();
+        if (stub != null) {
+            return stub.getTypeText();
+        }
+
+        return RsTyFactory.getNormalizedText(getType());
+    }
+}
@@ -26,6 +26,9 @@ import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.psi.util.RsPsiTreeUtil;
 
 public class RsAttributeImpl extends IRsCompositePsiElement implements RsAttribute {
+    private static final int ROOT_META_SLOT = 0;
+    private static final int BANG_SLOT = 1;
+
     public RsAttributeImpl() {
         super(RsPsiTypes.ATTRIBUTE);
     }
@@ -33,12 +36,12 @@ public class RsAttributeImpl extends IRsCompositePsiElement implements RsAttribu
     @Nullable
     @Override
     public RsMeta getRootMeta() {
-        return (RsMeta) findPsiChildByType(RsPsiTypes.META);
+        return (RsMeta) findCachedChildByType(ROOT_META_SLOT, RsPsiTypes.META);
     }
 
     @Override
     public boolean isInner() {
-        return findChildByType(RsPsiTypes.OP_BANG) != null;
+        return findCachedChildByType(BANG_SLOT, RsPsiTypes.OP_BANG) != null;
     }
 
     @Nullable
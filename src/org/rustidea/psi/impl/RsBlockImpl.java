@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.impl;
+
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.impl.source.tree.LazyParseablePsiElement;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.IRsAttribute;
+import org.rustidea.psi.IRsItem;
+import org.rustidea.psi.RsBlock;
+import org.rustidea.psi.RsElementVisitor;
+import org.rustidea.psi.types.RsPsiTypes;
+import org.rustidea.psi.util.RsPsiUtil;
+import org.rustidea.util.ArrayFactories;
+
+public class RsBlockImpl extends LazyParseablePsiElement implements RsBlock {
+    public RsBlockImpl(@NotNull IElementType type, CharSequence buffer) {
+        super(type, buffer);
+    }
+
+    @NotNull
+    @Override
+    public IRsItem[] getItems() {
+        return getChildrenAsPsiElements(RsPsiTypes.ITEM_TOKEN_SET, ArrayFactories.get(IRsItem.class));
+    }
+
+    @NotNull
+    @Override
+    public IRsAttribute[] getAttributes() {
+        return getChildrenAsPsiElements(RsPsiTypes.ATTRIBUTE_OR_DOC_TOKEN_SET, ArrayFactories.get(IRsAttribute.class));
+    }
+
+    @Override
+    public void accept(@NotNull final PsiElementVisitor visitor) {
+        if (visitor instanceof RsElementVisitor) {
+            this.accept((RsElementVisitor) visitor);
+        } else {
+            visitor.visitElement(this);
+        }
+    }
+
+    @Override
+    public void accept(@NotNull RsElementVisitor visitor) {
+        visitor.visitBlock(this);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return RsPsiUtil.getPsiClassName(this);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.impl;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cache of well-known children of a single AST node, e.g. qualifier of reference or root meta of attribute.
+ * Owners drop the whole cache on subtree change, so slots never have to be invalidated one by one.
+ *
+ * <p>Slots are filled without locking: concurrent readers compute the same child, so the race is benign.</p>
+ */
+final class RsChildSlots {
+    static final int SIZE = 4;
+
+    private static final Object NULL = new Object();
+
+    @NotNull
+    private final ASTNode owner;
+    @NotNull
+    private final Object[] slots = new Object[SIZE];
+
+    RsChildSlots(@NotNull final ASTNode owner) {
+        this.owner = owner;
+    }
+
+    @NotNull
+    ASTNode getOwner() {
+        return owner;
+    }
+
+    @Nullable
+    PsiElement find(final int slot, @NotNull final IElementType type) {
+        final Object cached = slots[slot];
+        if (cached != null) return unwrap(cached);
+        return store(slot, owner.findChildByType(type));
+    }
+
+    @Nullable
+    PsiElement find(final int slot, @NotNull final TokenSet types) {
+        final Object cached = slots[slot];
+        if (cached != null) return unwrap(cached);
+        return store(slot, owner.findChildByType(types));
+    }
+
+    @Nullable
+    private PsiElement store(final int slot, @Nullable final ASTNode child) {
+        final PsiElement psi = child != null ? child.getPsi() : null;
+        slots[slot] = psi != null ? psi : NULL;
+        return psi;
+    }
+
+    @Nullable
+    private static PsiElement unwrap(@NotNull final Object cached) {
+        return cached == NULL ? null : (PsiElement) cached;
+    }
+}
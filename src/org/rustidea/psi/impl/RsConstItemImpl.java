@@ -23,7 +23,7 @@ import org.rustidea.psi.RsElementVisitor;
 import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.stubs.RsConstItemStub;
 
-public class RsConstItemImpl extends IRsNamedItemPsiElement<RsConstItemStub> implements RsConstItem {
+public class RsConstItemImpl extends IRsTypedItemPsiElement<RsConstItemStub> implements RsConstItem {
     public RsConstItemImpl(@NotNull RsConstItemStub stub) {
         super(stub, RsPsiTypes.CONST_ITEM);
     }
@@ -27,6 +27,8 @@ import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.psi.util.RsPsiTreeUtil;
 
 public class RsDocImpl extends IRsCompositePsiElement implements RsDoc {
+    private static final int TOKEN_SLOT = 0;
+
     public RsDocImpl() {
         super(RsPsiTypes.DOC);
     }
@@ -34,7 +36,7 @@ public class RsDocImpl extends IRsCompositePsiElement implements RsDoc {
     @NotNull
     @Override
     public RsToken getToken() {
-        final RsToken child = (RsToken) findPsiChildByType(RsPsiTypes.DOC_TOKEN_SET);
+        final RsToken child = (RsToken) findCachedChildByType(TOKEN_SLOT, RsPsiTypes.DOC_TOKEN_SET);
         assert child != null;
         return child;
     }
@@ -19,13 +19,19 @@ package org.rustidea.psi.impl;
 import com.intellij.extapi.psi.PsiFileBase;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import org.jetbrains.annotations.NotNull;
 import org.rustidea.RustFileType;
 import org.rustidea.RustLanguage;
 import org.rustidea.psi.IRsAttribute;
-import org.rustidea.psi.IRsItem;
-import org.rustidea.psi.RsElementVisitor;
-import org.rustidea.psi.RsFile;
+import org.rustidea.psi.*;
+import org.rustidea.psi.types.RsPsiTypes;
+import org.rustidea.stubs.RsFileStub;
+import org.rustidea.util.ArrayFactories;
+
+import java.util.List;
 
 public class RsFileImpl extends PsiFileBase implements RsFile {
     public RsFileImpl(@NotNull FileViewProvider viewProvider) {
@@ -41,14 +47,52 @@ public class RsFileImpl extends PsiFileBase implements RsFile {
     @NotNull
     @Override
     public IRsItem[] getItems() {
-        return findChildrenByClass(IRsItem.class);
+        final StubElement stub = getStub();
+        if (stub != null) {
+            return stub.getChildrenByType(RsPsiTypes.ITEM_TOKEN_SET, ArrayFactories.get(IRsItem.class));
+        }
+
+        return calcTreeElement().getChildrenAsPsiElements(RsPsiTypes.ITEM_TOKEN_SET, ArrayFactories.get(IRsItem.class));
     }
 
     @NotNull
     @Override
     public IRsAttribute[] getAttributes() {
-        // Does this method operate on stubs wherever possible?
-        return findChildrenByClass(IRsAttribute.class);
+        // Attributes are not stubbed, only their model is, use getAttributeModel() to avoid loading the AST
+        return calcTreeElement().getChildrenAsPsiElements(RsPsiTypes.ATTRIBUTE_OR_DOC_TOKEN_SET,
+            ArrayFactories.get(IRsAttribute.class));
+    }
+
+    @NotNull
+    @Override
+    public RsAttributeModel getAttributeModel() {
+        final StubElement stub = getStub();
+        if (stub instanceof RsFileStub) {
+            return ((RsFileStub) stub).getAttributeModel();
+        }
+
+        return CachedValuesManager.getCachedValue(this, new CachedValueProvider<RsAttributeModel>() {
+            @Override
+            public Result<RsAttributeModel> compute() {
+                return Result.create(RsAttributeModel.create(getAttributes()), RsFileImpl.this);
+            }
+        });
+    }
+
+    @NotNull
+    @Override
+    public List<RsModuleDeclaration> getModuleDeclarations() {
+        final StubElement stub = getStub();
+        if (stub instanceof RsFileStub) {
+            return ((RsFileStub) stub).getModuleDeclarations();
+        }
+
+        return CachedValuesManager.getCachedValue(this, new CachedValueProvider<List<RsModuleDeclaration>>() {
+            @Override
+            public Result<List<RsModuleDeclaration>> compute() {
+                return Result.create(RsModuleDeclaration.collect(RsFileImpl.this), RsFileImpl.this);
+            }
+        });
     }
 
     @Override
@@ -32,7 +32,7 @@ public class RsGlobReferenceElementImpl extends IRsReferenceElementImpl implemen
     @Nullable
     @Override
     public RsToken getReferenceNameElement() {
-        return (RsToken) findPsiChildByType(RsPsiTypes.OP_ASTERISK);
+        return (RsToken) findCachedChildByType(REFERENCE_NAME_SLOT, RsPsiTypes.OP_ASTERISK);
     }
 
     @Override
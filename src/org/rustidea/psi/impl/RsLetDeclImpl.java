@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.impl;
+
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsElementVisitor;
+import org.rustidea.psi.RsIdentifier;
+import org.rustidea.psi.RsLetDecl;
+import org.rustidea.psi.types.RsPsiTypes;
+import org.rustidea.psi.util.RsPsiTreeUtil;
+import org.rustidea.util.NotImplementedException;
+
+public class RsLetDeclImpl extends IRsCompositePsiElement implements RsLetDecl {
+    private static final TokenSet PATTERN_END = TokenSet.create(RsPsiTypes.OP_COLON, RsPsiTypes.OP_EQ, RsPsiTypes.OP_SEMICOLON);
+
+    public RsLetDeclImpl() {
+        super(RsPsiTypes.LET_DECL);
+    }
+
+    @Nullable
+    @Override
+    public RsIdentifier getNameIdentifier() {
+        // TODO:RJP-12 Return identifier pattern once patterns are parsed
+        PsiElement element = afterLetKeyword();
+        if (element != null && element.getNode().getElementType() == RsPsiTypes.KW_MUT) {
+            element = nextSignificantSibling(element);
+        }
+        if (element instanceof RsIdentifier) {
+            final PsiElement next = nextSignificantSibling(element);
+            if (next == null || PATTERN_END.contains(next.getNode().getElementType())) {
+                return (RsIdentifier) element;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        final RsIdentifier nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @NotNull
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        // TODO Implement this
+        throw new IncorrectOperationException(new NotImplementedException());
+    }
+
+    @Override
+    public boolean isMutable() {
+        final PsiElement element = afterLetKeyword();
+        return element != null && element.getNode().getElementType() == RsPsiTypes.KW_MUT;
+    }
+
+    @Override
+    public void accept(@NotNull RsElementVisitor visitor) {
+        visitor.visitLetDecl(this);
+    }
+
+    /**
+     * Let keyword is not the first child when declaration has attributes.
+     */
+    @Nullable
+    private PsiElement afterLetKeyword() {
+        final PsiElement letKeyword = findPsiChildByType(RsPsiTypes.KW_LET);
+        return letKeyword != null ? nextSignificantSibling(letKeyword) : null;
+    }
+
+    @Nullable
+    private static PsiElement nextSignificantSibling(@NotNull PsiElement element) {
+        return RsPsiTreeUtil.skipSiblingsForward(element, PsiWhiteSpace.class, PsiComment.class);
+    }
+}
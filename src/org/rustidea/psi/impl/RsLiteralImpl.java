@@ -27,13 +27,16 @@ import org.rustidea.psi.util.RsLiteralUtil;
 import org.rustidea.psi.util.RsPsiTreeUtil;
 import org.rustidea.psi.util.RsPsiUtil;
 import org.rustidea.psi.util.RsStringUtil;
-import org.rustidea.util.NotImplementedException;
 import org.rustidea.util.UnreachableException;
 
+import static org.rustidea.psi.types.RsTokenTypes.INT_LIT;
 import static org.rustidea.psi.types.RsTokenTypes.KW_FALSE;
 import static org.rustidea.psi.types.RsTokenTypes.KW_TRUE;
 
 public class RsLiteralImpl extends IRsCompositePsiElement implements RsLiteral {
+    @Nullable
+    private volatile Decoded myDecoded;
+
     public RsLiteralImpl() {
         super(RsPsiTypes.LITERAL);
     }
@@ -48,63 +51,75 @@ public class RsLiteralImpl extends IRsCompositePsiElement implements RsLiteral {
     @Nullable
     @Override
     public Object getValue() {
-        // TODO:RJP-40 Implement this.
-        throw new NotImplementedException();
+        final Object value = getDecoded().value;
+        // arrays are mutable, so never leak the cached instance
+        return value instanceof byte[] ? ((byte[]) value).clone() : value;
     }
 
     @NotNull
     @Override
     public String getValueString() {
-        final IElementType tokenType = getTokenType();
-        final String text = getText();
-
-        if (tokenType == KW_TRUE || tokenType == KW_FALSE) return text;
-
-        boolean isByte = text.startsWith("b");
-        String raw = RsLiteralUtil.removeDecoration(this);
-
-        if (RsPsiTypes.NUMBER_TOKEN_SET.contains(tokenType)) {
-            return raw;
-        }
+        return getDecoded().valueString;
+    }
 
-        if (RsPsiTypes.CHAR_TOKEN_SET.contains(tokenType)) {
-            return RsStringUtil.unescapeRust(RsStringUtil.unquote(raw, '\''), !isByte, false);
-        }
+    @NotNull
+    @Override
+    public String getSuffix() {
+        return getDecoded().suffix;
+    }
 
-        if (RsPsiTypes.STRING_TOKEN_SET.contains(tokenType)) {
-            return RsStringUtil.unescapeRust(RsStringUtil.unquote(raw, '"'), !isByte, true);
-        }
+    @Override
+    public void clearCaches() {
+        super.clearCaches();
+        myDecoded = null;
+    }
 
-        if (RsPsiTypes.RAW_STRING_TOKEN_SET.contains(tokenType)) {
-            return RsLiteralUtil.removeRawStringHashes(raw);
+    @NotNull
+    private Decoded getDecoded() {
+        Decoded decoded = myDecoded;
+        if (decoded == null) {
+            decoded = decode(getTokenType(), getText());
+            myDecoded = decoded;
         }
-
-        throw new UnreachableException();
+        return decoded;
     }
 
     @NotNull
-    @Override
-    public String getSuffix() {
-        final IElementType tokenType = getTokenType();
-
-        if (tokenType == KW_TRUE || tokenType == KW_FALSE) return "";
+    private static Decoded decode(@NotNull final IElementType tokenType, @NotNull final String text) {
+        if (tokenType == KW_TRUE || tokenType == KW_FALSE) {
+            return new Decoded(text, "", tokenType == KW_TRUE);
+        }
 
-        String text = getText();
+        final boolean isByte = text.startsWith("b");
 
         if (RsPsiTypes.NUMBER_TOKEN_SET.contains(tokenType)) {
-            return RsLiteralUtil.extractSuffixFromNumLit(text);
+            final String suffix = RsLiteralUtil.extractSuffixFromNumLit(text);
+            final String raw = RsLiteralUtil.removeDecoration(text, suffix, tokenType);
+            final Object value = tokenType == INT_LIT ? RsLiteralUtil.decodeInteger(raw) : RsLiteralUtil.decodeFloat(raw);
+            return new Decoded(raw, suffix, value);
         }
 
         if (RsPsiTypes.CHAR_TOKEN_SET.contains(tokenType)) {
-            return RsLiteralUtil.extractSuffixFromQuotedLit(text, '\'');
+            final String suffix = RsLiteralUtil.extractSuffixFromQuotedLit(text, '\'');
+            final String raw = RsLiteralUtil.removeDecoration(text, suffix, tokenType);
+            final String valueString = RsStringUtil.unescapeRust(RsStringUtil.unquote(raw, '\''), !isByte, false);
+            final Integer value = valueString.codePointCount(0, valueString.length()) == 1
+                ? valueString.codePointAt(0) : null;
+            return new Decoded(valueString, suffix, value);
         }
 
         if (RsPsiTypes.STRING_TOKEN_SET.contains(tokenType)) {
-            return RsLiteralUtil.extractSuffixFromQuotedLit(text, '"');
+            final String suffix = RsLiteralUtil.extractSuffixFromQuotedLit(text, '"');
+            final String raw = RsLiteralUtil.removeDecoration(text, suffix, tokenType);
+            final String valueString = RsStringUtil.unescapeRust(RsStringUtil.unquote(raw, '"'), !isByte, true);
+            return new Decoded(valueString, suffix, isByte ? RsLiteralUtil.toByteArray(valueString) : valueString);
         }
 
         if (RsPsiTypes.RAW_STRING_TOKEN_SET.contains(tokenType)) {
-            return RsLiteralUtil.extractSuffixFromRawStr(text);
+            final String suffix = RsLiteralUtil.extractSuffixFromRawStr(text);
+            final String raw = RsLiteralUtil.removeDecoration(text, suffix, tokenType);
+            final String valueString = RsLiteralUtil.removeRawStringHashes(raw);
+            return new Decoded(valueString, suffix, isByte ? RsLiteralUtil.toByteArray(valueString) : valueString);
         }
 
         throw new UnreachableException();
@@ -120,4 +135,22 @@ public class RsLiteralImpl extends IRsCompositePsiElement implements RsLiteral {
     public String toString() {
         return RsPsiUtil.getPsiClassName(this) + ":" + getText();
     }
+
+    /**
+     * Decoded literal contents. Computed once per literal text and dropped by {@link #clearCaches()}.
+     */
+    private static final class Decoded {
+        @NotNull
+        private final String valueString;
+        @NotNull
+        private final String suffix;
+        @Nullable
+        private final Object value;
+
+        private Decoded(@NotNull final String valueString, @NotNull final String suffix, @Nullable final Object value) {
+            this.valueString = valueString;
+            this.suffix = suffix;
+            this.value = value;
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.*;
+import org.rustidea.psi.types.RsPsiTypes;
+import org.rustidea.psi.util.RsPsiTreeUtil;
+import org.rustidea.psi.util.RsPsiUtil;
+import org.rustidea.util.ArrayFactories;
+
+public class RsMacroInvocationImpl extends IRsCompositePsiElement implements RsMacroInvocation {
+    private static final int MODIFIER_LIST_SLOT = 0;
+    private static final int TOKEN_TREE_SLOT = 1;
+
+    public RsMacroInvocationImpl() {
+        super(RsPsiTypes.MACRO_INVOCATION);
+    }
+
+    @NotNull
+    @Override
+    public RsIdentifier getMacroNameIdentifier() {
+        return RsPsiTreeUtil.getRequiredChildOfType(this, RsIdentifier.class);
+    }
+
+    @NotNull
+    @Override
+    public String getMacroName() {
+        return getMacroNameIdentifier().getText();
+    }
+
+    @Nullable
+    @Override
+    public RsIdentifier getNameIdentifier() {
+        final RsIdentifier identifier = RsPsiTreeUtil.findLastChildByClass(this, RsIdentifier.class);
+        return identifier != getMacroNameIdentifier() ? identifier : null;
+    }
+
+    @Nullable
+    @Override
+    public RsTokenTree getTokenTree() {
+        return (RsTokenTree) findCachedChildByType(TOKEN_TREE_SLOT, RsPsiTypes.TOKEN_TREE);
+    }
+
+    @Nullable
+    @Override
+    public RsModifierList getModifierList() {
+        return (RsModifierList) findCachedChildByType(MODIFIER_LIST_SLOT, RsPsiTypes.MODIFIER_LIST);
+    }
+
+    @NotNull
+    @Override
+    public IRsAttribute[] getAttributes() {
+        final RsModifierList modifierList = getModifierList();
+        return modifierList != null ? modifierList.getAttributes() : ArrayFactories.empty(IRsAttribute.class);
+    }
+
+    @Override
+    public void accept(@NotNull RsElementVisitor visitor) {
+        visitor.visitMacroInvocation(this);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return RsPsiUtil.getPsiClassName(this) + ":" + getMacroName();
+    }
+}
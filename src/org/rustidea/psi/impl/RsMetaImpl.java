@@ -23,6 +23,8 @@ import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.psi.util.RsPsiTreeUtil;
 
 public class RsMetaImpl extends IRsCompositePsiElement implements RsMeta {
+    private static final int PARAMS_SLOT = 0;
+
     public RsMetaImpl() {
         super(RsPsiTypes.META);
     }
@@ -73,7 +75,7 @@ public class RsMetaImpl extends IRsCompositePsiElement implements RsMeta {
     @Nullable
     @Override
     public RsMetaList getParams() {
-        return (RsMetaList) findPsiChildByType(RsPsiTypes.META_LIST);
+        return (RsMetaList) findCachedChildByType(PARAMS_SLOT, RsPsiTypes.META_LIST);
     }
 
     @Override
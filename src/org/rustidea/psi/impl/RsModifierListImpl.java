@@ -24,13 +24,15 @@ import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.util.ArrayFactories;
 
 public class RsModifierListImpl extends IRsCompositePsiElement implements RsModifierList {
+    private static final int PUB_SLOT = 0;
+
     public RsModifierListImpl() {
         super(RsPsiTypes.MODIFIER_LIST);
     }
 
     @Override
     public boolean hasPub() {
-        return findChildByType(RsPsiTypes.KW_PUB) != null;
+        return findCachedChildByType(PUB_SLOT, RsPsiTypes.KW_PUB) != null;
     }
 
     @NotNull
@@ -21,9 +21,10 @@ import org.jetbrains.annotations.NotNull;
 import org.rustidea.psi.IRsItem;
 import org.rustidea.psi.RsElementVisitor;
 import org.rustidea.psi.RsModule;
+import org.rustidea.psi.RsModuleBody;
 import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.stubs.RsModuleStub;
-import org.rustidea.util.NotImplementedException;
+import org.rustidea.util.ArrayFactories;
 
 public class RsModuleImpl extends IRsNamedItemPsiElement<RsModuleStub> implements RsModule {
     public RsModuleImpl(@NotNull RsModuleStub stub) {
@@ -37,8 +38,38 @@ public class RsModuleImpl extends IRsNamedItemPsiElement<RsModuleStub> implement
     @NotNull
     @Override
     public IRsItem[] getItems() {
-        // TODO:RJP-41 Implement this
-        throw new NotImplementedException();
+        final RsModuleStub stub = getStub();
+        if (stub != null && !stub.isBodyLazy()) {
+            return stub.getChildrenByType(RsPsiTypes.ITEM_TOKEN_SET, ArrayFactories.get(IRsItem.class));
+        }
+
+        final RsModuleBody body = findChildByType(RsPsiTypes.MODULE_BODY);
+        if (body != null) {
+            return body.getItems();
+        }
+
+        return findChildrenByType(RsPsiTypes.ITEM_TOKEN_SET, IRsItem.class);
+    }
+
+    @Override
+    public boolean isBodyLazy() {
+        final RsModuleStub stub = getStub();
+        if (stub != null) {
+            return stub.isBodyLazy();
+        }
+
+        return findChildByType(RsPsiTypes.TOKEN_TREE) != null;
+    }
+
+    @Override
+    public boolean isOutOfLine() {
+        final RsModuleStub stub = getStub();
+        if (stub != null) {
+            return stub.isOutOfLine();
+        }
+
+        // inline modules never have semicolon as direct child, semicolons of their items are nested
+        return findChildByType(RsPsiTypes.OP_SEMICOLON) != null;
     }
 
     @Override
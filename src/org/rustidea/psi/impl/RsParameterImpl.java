@@ -0,0 +1,73 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.impl;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.IRsType;
+import org.rustidea.psi.RsElementVisitor;
+import org.rustidea.psi.RsParameter;
+import org.rustidea.psi.types.RsPsiTypes;
+import org.rustidea.psi.util.RsPsiTreeUtil;
+import org.rustidea.util.NotImplementedException;
+
+public class RsParameterImpl extends IRsCompositePsiElement implements RsParameter {
+    private static final TokenSet IDENTIFIER_OR_SELF = TokenSet.create(RsPsiTypes.IDENTIFIER, RsPsiTypes.KW_SELF);
+
+    public RsParameterImpl() {
+        super(RsPsiTypes.PARAMETER);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement getNameIdentifier() {
+        return findPsiChildByType(IDENTIFIER_OR_SELF);
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        final PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @NotNull
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        // TODO Implement this
+        throw new IncorrectOperationException(new NotImplementedException());
+    }
+
+    @Override
+    public boolean isSelf() {
+        return findChildByType(RsPsiTypes.KW_SELF) != null;
+    }
+
+    @Nullable
+    @Override
+    public IRsType getType() {
+        return RsPsiTreeUtil.getChildOfType(this, IRsType.class);
+    }
+
+    @Override
+    public void accept(@NotNull RsElementVisitor visitor) {
+        visitor.visitParameter(this);
+    }
+}
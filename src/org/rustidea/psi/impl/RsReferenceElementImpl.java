@@ -31,7 +31,7 @@ public class RsReferenceElementImpl extends IRsReferenceElementImpl implements R
     @Nullable
     @Override
     public RsIdentifier getReferenceNameElement() {
-        return (RsIdentifier) findPsiChildByType(RsPsiTypes.IDENTIFIER);
+        return (RsIdentifier) findCachedChildByType(REFERENCE_NAME_SLOT, RsPsiTypes.IDENTIFIER);
     }
 
     @Override
@@ -54,7 +54,7 @@ public class RsRelationReferenceElementImpl extends IRsReferenceElementImpl impl
     @Nullable
     @Override
     public RsToken getReferenceNameElement() {
-        return (RsToken) findPsiChildByType(RsPsiTypes.SELF_OR_SUPER);
+        return (RsToken) findCachedChildByType(REFERENCE_NAME_SLOT, RsPsiTypes.SELF_OR_SUPER);
     }
 
     @Nullable
@@ -23,7 +23,7 @@ import org.rustidea.psi.RsStaticItem;
 import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.stubs.RsStaticItemStub;
 
-public class RsStaticItemImpl extends IRsNamedItemPsiElement<RsStaticItemStub> implements RsStaticItem {
+public class RsStaticItemImpl extends IRsTypedItemPsiElement<RsStaticItemStub> implements RsStaticItem {
     public RsStaticItemImpl(@NotNull RsStaticItemStub stub) {
         super(stub, RsPsiTypes.STATIC_ITEM);
     }
@@ -32,6 +32,16 @@ public class RsStaticItemImpl extends IRsNamedItemPsiElement<RsStaticItemStub> i
         super(node);
     }
 
+    @Override
+    public boolean isMutable() {
+        final RsStaticItemStub stub = getStub();
+        if (stub != null) {
+            return stub.isMutable();
+        }
+
+        return findChildByType(RsPsiTypes.KW_MUT) != null;
+    }
+
     @Override
     public void accept(@NotNull RsElementVisitor visitor) {
         visitor.visitStaticItem(this);
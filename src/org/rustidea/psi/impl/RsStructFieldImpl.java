@@ -18,16 +18,20 @@ package org.rustidea.psi.impl;
 
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.IRsType;
 import org.rustidea.psi.RsElementVisitor;
 import org.rustidea.psi.RsIdentifier;
+import org.rustidea.psi.RsStruct;
 import org.rustidea.psi.RsStructField;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
 import org.rustidea.psi.util.RsPsiTreeUtil;
 import org.rustidea.stubs.RsStructFieldStub;
+import org.rustidea.types.RsTyFactory;
 import org.rustidea.util.NotImplementedException;
 
 public class RsStructFieldImpl extends IRsStubPsiElement<RsStructFieldStub> implements RsStructField {
@@ -69,6 +73,34 @@ public class RsStructFieldImpl extends IRsStubPsiElement<RsStructFieldStub> impl
         return RsPsiTreeUtil.getChildOfType(this, IRsType.class);
     }
 
+    @NotNull
+    @Override
+    public RsVisibility getVisibility() {
+        final RsStructFieldStub stub = getStub();
+        if (stub != null) {
+            return stub.getVisibility();
+        }
+
+        return findChildByType(RsPsiTypes.KW_PUB) != null ? RsVisibility.PUBLIC : RsVisibility.PRIVATE;
+    }
+
+    @Nullable
+    @Override
+    public String getTypeText() {
+        final RsStructFieldStub stub = getStub();
+        if (stub != null) {
+            return stub.getTypeText();
+        }
+
+        return RsTyFactory.getNormalizedText(getType());
+    }
+
+    @Nullable
+    @Override
+    public RsStruct getOwner() {
+        return PsiTreeUtil.getStubOrPsiParentOfType(this, RsStruct.class);
+    }
+
     @Override
     public void accept(@NotNull RsElementVisitor visitor) {
         visitor.visitStructField(this);
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.impl;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.impl.source.tree.LazyParseablePsiElement;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsElementVisitor;
+import org.rustidea.psi.RsTokenTree;
+import org.rustidea.psi.types.RsPsiTypes;
+import org.rustidea.psi.util.RsPsiUtil;
+import org.rustidea.util.ArrayFactories;
+import org.rustidea.util.UnreachableException;
+
+public class RsTokenTreeImpl extends LazyParseablePsiElement implements RsTokenTree {
+    public RsTokenTreeImpl(@NotNull IElementType type, CharSequence buffer) {
+        super(type, buffer);
+    }
+
+    @NotNull
+    @Override
+    public IElementType getDelimiterType() {
+        // Read first char instead of first child, so we don't force parsing of lazy contents
+        switch (getChars().charAt(0)) {
+            case '(':
+                return RsPsiTypes.OP_LPAREN;
+            case '[':
+                return RsPsiTypes.OP_LBRACKET;
+            case '{':
+                return RsPsiTypes.OP_LBRACE;
+            default:
+                throw new UnreachableException();
+        }
+    }
+
+    @NotNull
+    @Override
+    public RsTokenTree[] getTokenTrees() {
+        return getChildrenAsPsiElements(RsPsiTypes.TOKEN_TREE, ArrayFactories.get(RsTokenTree.class));
+    }
+
+    @Nullable
+    @Override
+    public RsTokenTree getParentTokenTree() {
+        final PsiElement parent = getParent();
+        return parent instanceof RsTokenTree ? (RsTokenTree) parent : null;
+    }
+
+    @Override
+    public void accept(@NotNull final PsiElementVisitor visitor) {
+        if (visitor instanceof RsElementVisitor) {
+            this.accept((RsElementVisitor) visitor);
+        } else {
+            visitor.visitElement(this);
+        }
+    }
+
+    @Override
+    public void accept(@NotNull RsElementVisitor visitor) {
+        visitor.visitTokenTree(this);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return RsPsiUtil.getPsiClassName(this);
+    }
+}
@@ -19,15 +19,13 @@ package org.rustidea.psi.impl;
 import com.intellij.lang.ASTNode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.rustidea.psi.IRsType;
 import org.rustidea.psi.RsElementVisitor;
 import org.rustidea.psi.RsTypeAlias;
 import org.rustidea.psi.RsTypeParameterList;
 import org.rustidea.psi.types.RsPsiTypes;
-import org.rustidea.psi.util.RsPsiTreeUtil;
 import org.rustidea.stubs.RsTypeAliasStub;
 
-public class RsTypeAliasImpl extends IRsNamedItemPsiElement<RsTypeAliasStub> implements RsTypeAlias {
+public class RsTypeAliasImpl extends IRsTypedItemPsiElement<RsTypeAliasStub> implements RsTypeAlias {
     public RsTypeAliasImpl(@NotNull RsTypeAliasStub stub) {
         super(stub, RsPsiTypes.TYPE_ALIAS);
     }
@@ -36,12 +34,6 @@ public class RsTypeAliasImpl extends IRsNamedItemPsiElement<RsTypeAliasStub> imp
         super(node);
     }
 
-    @Nullable
-    @Override
-    public IRsType getType() {
-        return RsPsiTreeUtil.getChildOfType(this, IRsType.class);
-    }
-
     @Nullable
     @Override
     public RsTypeParameterList getTypeParameterList() {
@@ -25,6 +25,8 @@ import org.rustidea.psi.RsTypedReferenceElement;
 import org.rustidea.psi.types.RsPsiTypes;
 
 public class RsTypedReferenceElementImpl extends IRsReferenceElementImpl implements RsTypedReferenceElement {
+    private static final int TYPE_LIST_SLOT = 2;
+
     public RsTypedReferenceElementImpl() {
         super(RsPsiTypes.TYPED_REFERENCE_ELEMENT);
     }
@@ -32,13 +34,13 @@ public class RsTypedReferenceElementImpl extends IRsReferenceElementImpl impleme
     @Nullable
     @Override
     public RsIdentifier getReferenceNameElement() {
-        return (RsIdentifier) findPsiChildByType(RsPsiTypes.IDENTIFIER);
+        return (RsIdentifier) findCachedChildByType(REFERENCE_NAME_SLOT, RsPsiTypes.IDENTIFIER);
     }
 
     @Nullable
     @Override
     public RsTypeList getTypeList() {
-        return (RsTypeList) findPsiChildByType(RsPsiTypes.TYPE_LIST);
+        return (RsTypeList) findCachedChildByType(TYPE_LIST_SLOT, RsPsiTypes.TYPE_LIST);
     }
 
     @Override
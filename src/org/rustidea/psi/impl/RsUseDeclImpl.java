@@ -17,6 +17,7 @@
 package org.rustidea.psi.impl;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.*;
@@ -25,6 +26,9 @@ import org.rustidea.psi.util.RsPsiUtil;
 import org.rustidea.stubs.RsUseDeclStub;
 
 public class RsUseDeclImpl extends IRsItemPsiElement<RsUseDeclStub> implements RsUseDecl {
+    @Nullable
+    private volatile RsUsePath myUsePath = null;
+
     public RsUseDeclImpl(@NotNull RsUseDeclStub stub) {
         super(stub, RsPsiTypes.USE_DECL);
     }
@@ -37,32 +41,49 @@ public class RsUseDeclImpl extends IRsItemPsiElement<RsUseDeclStub> implements R
     @Override
     public IRsReferenceElement getUseReference() {
         RsPsiUtil.ensureValid(this);
+        // Reference PSI lives in AST only, use getUsePath() to inspect stubbed declarations
+        return findChildByClass(IRsReferenceElement.class);
+    }
+
+    @NotNull
+    @Override
+    public RsUsePath getUsePath() {
         final RsUseDeclStub stub = getStub();
         if (stub != null) {
-            return stub.getUseReference();
+            return stub.getUsePath();
+        }
+
+        RsUsePath path = myUsePath;
+        if (path == null) {
+            final RsIdentifier alias = getAliasIdentifier();
+            path = RsUsePath.create(getUseReference(), alias == null ? null : alias.getText());
+            myUsePath = path;
         }
-        return findChildByType(RsPsiTypes.REFERENCE_ELEMENT);
+        return path;
     }
 
     @NotNull
     @Override
     public Type getType() {
-        final IRsReferenceElement ref = getUseReference();
-
-        if (ref instanceof RsListReferenceElement) {
-            return Type.LIST;
-        }
+        return getUsePath().getType();
+    }
 
-        if (ref instanceof RsGlobReferenceElement) {
-            return Type.GLOB;
-        }
+    @Nullable
+    @Override
+    public String getAliasName() {
+        return getUsePath().getAlias();
+    }
 
+    @Nullable
+    private RsIdentifier getAliasIdentifier() {
         final RsToken asToken = findChildByType(RsPsiTypes.KW_AS);
-        if (asToken != null && asToken.getNextSibling() instanceof RsIdentifier) {
-            return Type.RENAMED;
-        }
+        return asToken == null ? null : PsiTreeUtil.getNextSiblingOfType(asToken, RsIdentifier.class);
+    }
 
-        return Type.SIMPLE;
+    @Override
+    public void subtreeChanged() {
+        super.subtreeChanged();
+        myUsePath = null;
     }
 
     @Override
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.types;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.RustLanguage;
+import org.rustidea.lexer.RsLexer;
+
+/**
+ * Lazy-parseable element spanning single balanced delimited token group, e.g. {@code { ... }}.
+ *
+ * <p>Parser collapses such groups into chameleons (see {@link org.rustidea.parser.RsParserUtil#collapseBalanced}),
+ * so their contents are parsed only when something inspects them. Edits inside the group reparse only
+ * the innermost group which is still balanced after the change.</p>
+ */
+public abstract class IRsReparseableElementType extends IReparseableElementType implements IRsElementType {
+    @Nullable
+    private final String humanReadableName;
+
+    @NotNull
+    private final TokenSet leftDelimiters;
+
+    public IRsReparseableElementType(@NotNull final String debugName,
+                                     @Nullable final String humanReadableName,
+                                     @NotNull final TokenSet leftDelimiters) {
+        super(debugName, RustLanguage.INSTANCE);
+        this.humanReadableName = humanReadableName;
+        this.leftDelimiters = leftDelimiters;
+    }
+
+    @NotNull
+    @Override
+    public abstract ASTNode createNode(CharSequence text);
+
+    @Override
+    public boolean isParsable(CharSequence buffer, Language fileLanguage, Project project) {
+        final Lexer lexer = new RsLexer();
+        lexer.start(buffer);
+        return leftDelimiters.contains(lexer.getTokenType()) && isBalanced(lexer);
+    }
+
+    /**
+     * Check whether lexer, which is placed on left delimiter, produces one balanced group and nothing else.
+     */
+    private static boolean isBalanced(@NotNull final Lexer lexer) {
+        int depth = 0;
+        IElementType token;
+        while ((token = lexer.getTokenType()) != null) {
+            lexer.advance();
+            if (RsPsiTypes.LEFT_DELIMITER_TOKEN_SET.contains(token)) {
+                depth++;
+            } else if (RsPsiTypes.RIGHT_DELIMITER_TOKEN_SET.contains(token)) {
+                depth--;
+                if (depth == 0) {
+                    return lexer.getTokenType() == null;
+                }
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public String getHumanReadableName() {
+        return humanReadableName != null ? humanReadableName : toString();
+    }
+}
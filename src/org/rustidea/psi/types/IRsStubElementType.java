@@ -22,10 +22,13 @@ import com.intellij.psi.impl.source.tree.CompositeElement;
 import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndexKey;
 import com.intellij.psi.tree.ICompositeElementType;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.rustidea.RustLanguage;
+import org.rustidea.stubs.index.RsNamedElementIndex;
 
 public abstract class IRsStubElementType<StubT extends StubElement, PsiT extends PsiElement>
     extends IStubElementType<StubT, PsiT> implements ICompositeElementType, IRsElementType {
@@ -40,6 +43,19 @@ public abstract class IRsStubElementType<StubT extends StubElement, PsiT extends
     public void indexStub(@NotNull StubT stub, @NotNull IndexSink sink) {
     }
 
+    /**
+     * Put name to given per-kind index and to {@link RsNamedElementIndex}.
+     */
+    protected static void indexName(@NotNull IndexSink sink,
+                                    @NotNull StubIndexKey<String, ? extends PsiElement> kindKey,
+                                    @Nullable String name) {
+        if (name == null || name.isEmpty()) {
+            return;
+        }
+        sink.occurrence(RsNamedElementIndex.KEY, name);
+        sink.occurrence(kindKey, name);
+    }
+
     @NotNull
     @Override
     public String getExternalId() {
@@ -1,22 +1,51 @@
 package org.rustidea.psi.types;
 
+import com.intellij.lang.ASTNode;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
 import org.rustidea.psi.impl.*;
 
 public interface RsCompositeTypes {
     IElementType ATTRIBUTE = new IRsCompositeElementType("ATTRIBUTE", RsAttributeImpl.class);
+    IElementType BLOCK = new IRsReparseableElementType("BLOCK", "block", TokenSet.create(RsTokenTypes.OP_LBRACE)) {
+        @NotNull
+        @Override
+        public ASTNode createNode(CharSequence text) {
+            return new RsBlockImpl(this, text);
+        }
+    };
     IElementType DOC = new IRsCompositeElementType("DOC", RsDocImpl.class);
     IElementType GLOB_REFERENCE_ELEMENT = new IRsCompositeElementType("GLOB_REFERENCE_ELEMENT", RsGlobReferenceElementImpl.class);
+    IElementType LET_DECL = new IRsCompositeElementType("LET_DECL", "let declaration", RsLetDeclImpl.class);
     IElementType LIFETIME = new IRsCompositeElementType("LIFETIME", "lifetime", RsLifetimeImpl.class);
     IElementType LIFETIME_TYPE_PARAMETER = new IRsCompositeElementType("LIFETIME_TYPE_PARAMETER", RsLifetimeTypeParameterImpl.class);
     IElementType LIST_REFERENCE_ELEMENT = new IRsCompositeElementType("LIST_REFERENCE_ELEMENT", RsListReferenceElementImpl.class);
     IElementType LITERAL = new IRsCompositeElementType("LITERAL", "literal", RsLiteralImpl.class);
+    IElementType MACRO_INVOCATION = new IRsCompositeElementType("MACRO_INVOCATION", "macro invocation", RsMacroInvocationImpl.class);
     IElementType META = new IRsCompositeElementType("META", RsMetaImpl.class);
     IElementType META_LIST = new IRsCompositeElementType("META_LIST", RsMetaListImpl.class);
     IElementType MODIFIER_LIST = new IRsCompositeElementType("MODIFIER_LIST", RsModifierListImpl.class);
+    IElementType MODULE_BODY = new IRsReparseableElementType("MODULE_BODY", "module body", TokenSet.create(RsTokenTypes.OP_LBRACE)) {
+        @NotNull
+        @Override
+        public ASTNode createNode(CharSequence text) {
+            return new RsModuleBodyImpl(this, text);
+        }
+    };
+    IElementType PARAMETER = new IRsCompositeElementType("PARAMETER", "parameter", RsParameterImpl.class);
+    IElementType PARAMETER_LIST = new IRsCompositeElementType("PARAMETER_LIST", "parameter list", RsParameterListImpl.class);
     IElementType PATH_TYPE = new IRsCompositeElementType("PATH_TYPE", RsPathTypeImpl.class);
     IElementType REFERENCE_ELEMENT = new IRsCompositeElementType("REFERENCE_ELEMENT", RsReferenceElementImpl.class);
     IElementType RELATION_REFERENCE_ELEMENT = new IRsCompositeElementType("RELATION_REFERENCE_ELEMENT", RsRelationReferenceElementImpl.class);
+    IElementType TOKEN_TREE = new IRsReparseableElementType("TOKEN_TREE", "token tree",
+        TokenSet.create(RsTokenTypes.OP_LBRACE, RsTokenTypes.OP_LBRACKET, RsTokenTypes.OP_LPAREN)) {
+        @NotNull
+        @Override
+        public ASTNode createNode(CharSequence text) {
+            return new RsTokenTreeImpl(this, text);
+        }
+    };
     IElementType TUPLE_TYPE = new IRsCompositeElementType("TUPLE_TYPE", RsTupleTypeImpl.class);
     IElementType TYPE_LIST = new IRsCompositeElementType("TYPE_LIST", RsTypeListImpl.class);
     IElementType TYPE_PARAMETER = new IRsCompositeElementType("TYPE_PARAMETER", RsTypeParameterImpl.class);
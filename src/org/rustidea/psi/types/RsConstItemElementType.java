@@ -17,15 +17,20 @@
 package org.rustidea.psi.types;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
 import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsDocSummary;
 import org.rustidea.psi.RsConstItem;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.impl.RsConstItemImpl;
 import org.rustidea.stubs.RsConstItemStub;
+import org.rustidea.stubs.index.RsConstItemIndex;
 
 import java.io.IOException;
 
@@ -51,18 +56,34 @@ public class RsConstItemElementType extends IRsStubElementType<RsConstItemStub,
     @Nullable
     @Override
     public RsConstItemStub createStub(@NotNull RsConstItem psi, StubElement parentStub) {
-        return new RsConstItemStub(parentStub, StringRef.fromString(psi.getName()));
+        return new RsConstItemStub(parentStub, StringRef.fromString(psi.getName()),
+            StringRef.fromNullableString(psi.getTypeText()), psi.getVisibility(), psi.getDocSummary(),
+            psi.getAttributeModel());
     }
 
     @Override
     public void serialize(@NotNull RsConstItemStub stub, @NotNull StubOutputStream dataStream) throws IOException {
         dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getTypeText());
+        dataStream.writeByte(stub.getVisibility().pack());
+        RsDocSummary.serialize(stub.getDocSummary(), dataStream);
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
     }
 
     @NotNull
     @Override
     public RsConstItemStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        return new RsConstItemStub(parentStub, dataStream.readName());
+        final StringRef name = dataStream.readName();
+        final StringRef typeText = dataStream.readName();
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final String docSummary = RsDocSummary.deserialize(dataStream);
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        return new RsConstItemStub(parentStub, name, typeText, visibility, docSummary, attributeModel);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsConstItemStub stub, @NotNull IndexSink sink) {
+        indexName(sink, RsConstItemIndex.KEY, stub.getName());
     }
 
     @NotNull
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.types;
+
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.rustidea.psi.types.RsPsiTypes.*;
+
+/**
+ * "Can contain" relation between composite element types, derived from the grammar implemented
+ * in {@link org.rustidea.parser.RsParser}. Used to skip subtrees that cannot contain elements of interest.
+ *
+ * <p>Types not listed here (file, error elements, tokens) are treated as able to contain anything.
+ * When the parser starts producing a new child type, it has to be added here as well; RsElementTypeContainmentTest
+ * checks the relation against trees of parser test data.</p>
+ */
+public final class RsElementTypeContainment {
+    private static final TokenSet TYPES = TokenSet.create(PATH_TYPE, TUPLE_TYPE, UNIT_TYPE);
+    private static final TokenSet REFERENCES = TokenSet.create(GLOB_REFERENCE_ELEMENT, LIST_REFERENCE_ELEMENT,
+        REFERENCE_ELEMENT, RELATION_REFERENCE_ELEMENT, TYPED_REFERENCE_ELEMENT);
+    private static final TokenSet ITEM_OWNER_CHILDREN = TokenSet.orSet(ITEM_TOKEN_SET,
+        TokenSet.create(ATTRIBUTE, DOC, MACRO_INVOCATION, MODIFIER_LIST));
+
+    /**
+     * Types of direct composite children, as produced by the parser.
+     */
+    private static final Map<IElementType, TokenSet> CHILDREN = new HashMap<IElementType, TokenSet>();
+    /**
+     * Transitive closure of {@link #CHILDREN}.
+     */
+    private static final Map<IElementType, TokenSet> DESCENDANTS = new HashMap<IElementType, TokenSet>();
+
+    static {
+        children(ATTRIBUTE, META);
+        children(BLOCK, TokenSet.orSet(ITEM_OWNER_CHILDREN, TokenSet.create(BLOCK, LET_DECL)));
+        children(CONST_ITEM, TokenSet.orSet(TYPES, TokenSet.create(MODIFIER_LIST)));
+        children(DOC);
+        children(EXTERN_CRATE_DECL, MODIFIER_LIST);
+        children(FUNCTION, TokenSet.orSet(TYPES, TokenSet.create(BLOCK, MODIFIER_LIST, PARAMETER_LIST, TYPE_PARAMETER_LIST)));
+        children(GLOB_REFERENCE_ELEMENT, TokenSet.orSet(REFERENCES, TokenSet.create(TYPE_LIST)));
+        children(LET_DECL, ATTRIBUTE, BLOCK, DOC);
+        children(LIFETIME);
+        children(LIFETIME_TYPE_PARAMETER, LIFETIME);
+        children(LIST_REFERENCE_ELEMENT, TokenSet.orSet(REFERENCES, TokenSet.create(TYPE_LIST)));
+        children(LITERAL);
+        children(MACRO_INVOCATION, MODIFIER_LIST, TOKEN_TREE);
+        children(META, LITERAL, META_LIST);
+        children(META_LIST, META);
+        children(MODIFIER_LIST, ATTRIBUTE, DOC);
+        children(MODULE, TokenSet.orSet(ITEM_OWNER_CHILDREN, TokenSet.create(MODULE_BODY, TOKEN_TREE)));
+        children(MODULE_BODY, ITEM_OWNER_CHILDREN);
+        children(PARAMETER, TYPES);
+        children(PARAMETER_LIST, PARAMETER);
+        children(PATH_TYPE, REFERENCES);
+        children(REFERENCE_ELEMENT, TokenSet.orSet(REFERENCES, TokenSet.create(TYPE_LIST)));
+        children(RELATION_REFERENCE_ELEMENT, TokenSet.orSet(REFERENCES, TokenSet.create(TYPE_LIST)));
+        children(STATIC_ITEM, TokenSet.orSet(TYPES, TokenSet.create(MODIFIER_LIST)));
+        children(STRUCT, TokenSet.orSet(TYPES, TokenSet.create(MODIFIER_LIST, STRUCT_TYPE, TYPE_PARAMETER_LIST)));
+        children(STRUCT_FIELD, TYPES);
+        children(STRUCT_TYPE, STRUCT_FIELD);
+        children(TOKEN_TREE, TOKEN_TREE);
+        children(TUPLE_TYPE, TYPES);
+        children(TYPE_ALIAS, TokenSet.orSet(TYPES, TokenSet.create(MODIFIER_LIST, TYPE_PARAMETER_LIST)));
+        children(TYPE_LIST, TYPES);
+        children(TYPE_PARAMETER, WHERE_CLAUSE);
+        children(TYPE_PARAMETER_LIST, LIFETIME_TYPE_PARAMETER, TYPE_PARAMETER);
+        children(TYPED_REFERENCE_ELEMENT, TokenSet.orSet(REFERENCES, TokenSet.create(TYPE_LIST)));
+        children(UNIT_TYPE);
+        children(USE_DECL, TokenSet.orSet(REFERENCES, TokenSet.create(MODIFIER_LIST)));
+        children(WHERE_CLAUSE, REFERENCES);
+
+        computeDescendants();
+    }
+
+    private RsElementTypeContainment() {
+    }
+
+    /**
+     * @return {@code true} if element of type {@code parent} may have a descendant of one of {@code types}.
+     */
+    @Contract(pure = true)
+    public static boolean canContain(@Nullable final IElementType parent, @NotNull final TokenSet types) {
+        final TokenSet descendants = DESCENDANTS.get(parent);
+        if (descendants == null) return true;
+        for (IElementType type : types.getTypes()) {
+            if (descendants.contains(type)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return types worth entering when looking for elements of {@code types}; unlisted types should always
+     * be entered, see {@link #canContain(IElementType, TokenSet)}.
+     */
+    @NotNull
+    public static TokenSet getTypesToEnter(@NotNull final TokenSet types) {
+        TokenSet result = TokenSet.EMPTY;
+        for (IElementType parent : DESCENDANTS.keySet()) {
+            if (canContain(parent, types)) {
+                result = TokenSet.orSet(result, TokenSet.create(parent));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return {@code true} if the relation knows children of {@code type}.
+     */
+    @Contract(pure = true)
+    public static boolean isKnown(@Nullable final IElementType type) {
+        return DESCENDANTS.containsKey(type);
+    }
+
+    /**
+     * @return {@code true} if {@code child} is declared as possible direct child of known type {@code parent}.
+     */
+    @Contract(pure = true)
+    static boolean isDeclaredChild(@NotNull final IElementType parent, @NotNull final IElementType child) {
+        final TokenSet children = CHILDREN.get(parent);
+        return children != null && children.contains(child);
+    }
+
+    private static void children(@NotNull final IElementType parent, @NotNull final IElementType... children) {
+        children(parent, TokenSet.create(children));
+    }
+
+    private static void children(@NotNull final IElementType parent, @NotNull final TokenSet children) {
+        assert !CHILDREN.containsKey(parent) : parent;
+        CHILDREN.put(parent, children);
+    }
+
+    private static void computeDescendants() {
+        DESCENDANTS.putAll(CHILDREN);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<IElementType, TokenSet> entry : DESCENDANTS.entrySet()) {
+                TokenSet descendants = entry.getValue();
+                for (IElementType child : entry.getValue().getTypes()) {
+                    final TokenSet grandChildren = CHILDREN.get(child);
+                    if (grandChildren != null) {
+                        descendants = TokenSet.orSet(descendants, grandChildren);
+                    }
+                }
+                if (descendants.getTypes().length != entry.getValue().getTypes().length) {
+                    entry.setValue(descendants);
+                    changed = true;
+                }
+            }
+        }
+    }
+}
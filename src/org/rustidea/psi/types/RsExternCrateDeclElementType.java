@@ -17,14 +17,20 @@
 package org.rustidea.psi.types;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
 import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsDocSummary;
 import org.rustidea.psi.RsExternCrateDecl;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.impl.RsExternCrateDeclImpl;
 import org.rustidea.stubs.RsExternCrateDeclStub;
+import org.rustidea.stubs.index.RsExternCrateDeclIndex;
+import org.rustidea.stubs.index.RsExternCrateNameIndex;
 
 import java.io.IOException;
 
@@ -53,22 +59,36 @@ public class RsExternCrateDeclElementType extends IRsStubElementType<RsExternCra
         return new RsExternCrateDeclStub(
             parentStub,
             StringRef.fromString(psi.getName()),
-            StringRef.fromString(psi.getCrateName()));
+            StringRef.fromString(psi.getCrateName()),
+            psi.getVisibility(),
+            psi.getDocSummary(),
+            psi.getAttributeModel());
     }
 
     @Override
     public void serialize(@NotNull RsExternCrateDeclStub stub, @NotNull StubOutputStream dataStream) throws IOException {
         dataStream.writeName(stub.getName());
         dataStream.writeName(stub.getCrateName());
+        dataStream.writeByte(stub.getVisibility().pack());
+        RsDocSummary.serialize(stub.getDocSummary(), dataStream);
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
     }
 
     @NotNull
     @Override
     public RsExternCrateDeclStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        return new RsExternCrateDeclStub(
-            parentStub,
-            dataStream.readName(),
-            dataStream.readName());
+        final StringRef name = dataStream.readName();
+        final StringRef crateName = dataStream.readName();
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final String docSummary = RsDocSummary.deserialize(dataStream);
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        return new RsExternCrateDeclStub(parentStub, name, crateName, visibility, docSummary, attributeModel);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsExternCrateDeclStub stub, @NotNull IndexSink sink) {
+        indexName(sink, RsExternCrateDeclIndex.KEY, stub.getName());
+        sink.occurrence(RsExternCrateNameIndex.KEY, stub.getCrateName());
     }
 
     @NotNull
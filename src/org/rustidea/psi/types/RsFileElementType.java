@@ -16,24 +16,29 @@
 
 package org.rustidea.psi.types;
 
+import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.StubBuilder;
 import com.intellij.psi.stubs.DefaultStubBuilder;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.tree.IStubFileElementType;
 import org.jetbrains.annotations.NotNull;
 import org.rustidea.RustLanguage;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsModuleDeclaration;
 import org.rustidea.stubs.RsFileStub;
 
 import java.io.IOException;
+import java.util.List;
 
 public class RsFileElementType extends IStubFileElementType<RsFileStub> {
     public static final RsFileElementType INSTANCE = new RsFileElementType();
 
-    public static final int VERSION = 0;
+    public static final int VERSION = 15;
 
     private RsFileElementType() {
         super("rust.FILE", RustLanguage.INSTANCE);
@@ -51,19 +56,35 @@ public class RsFileElementType extends IStubFileElementType<RsFileStub> {
             @NotNull
             @Override
             protected StubElement createStubForFile(@NotNull PsiFile file) {
-                return file instanceof RsFile ? new RsFileStub((RsFile) file) : super.createStubForFile(file);
+                if (file instanceof RsFile) {
+                    final RsFile rsFile = (RsFile) file;
+                    return new RsFileStub(rsFile, rsFile.getAttributeModel(), rsFile.getModuleDeclarations());
+                }
+                return super.createStubForFile(file);
+            }
+
+            @Override
+            public boolean skipChildProcessingWhenBuildingStubs(@NotNull ASTNode parent, @NotNull ASTNode node) {
+                // Do not force parsing of lazy elements while building stubs, except for bodies of cfg-gated
+                // modules, whose items have to be indexed
+                final IElementType type = node.getElementType();
+                return type instanceof IRsReparseableElementType && type != RsPsiTypes.MODULE_BODY;
             }
         };
     }
 
     @Override
     public void serialize(@NotNull RsFileStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
+        RsModuleDeclaration.serialize(stub.getModuleDeclarations(), dataStream);
     }
 
     @NotNull
     @Override
     public RsFileStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        return new RsFileStub(null);
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        final List<RsModuleDeclaration> moduleDeclarations = RsModuleDeclaration.deserialize(dataStream);
+        return new RsFileStub(null, attributeModel, moduleDeclarations);
     }
 
     @NotNull
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.types;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsDocSummary;
+import org.rustidea.psi.RsFunction;
+import org.rustidea.psi.RsVisibility;
+import org.rustidea.psi.impl.RsFunctionImpl;
+import org.rustidea.stubs.RsFunctionStub;
+import org.rustidea.stubs.index.RsFunctionIndex;
+
+import java.io.IOException;
+
+public class RsFunctionElementType extends IRsStubElementType<RsFunctionStub, RsFunction> {
+    public static final RsFunctionElementType INSTANCE = new RsFunctionElementType();
+
+    private RsFunctionElementType() {
+        super("FUNCTION");
+    }
+
+    @NotNull
+    @Override
+    public RsFunction createPsi(@NotNull RsFunctionStub stub) {
+        return new RsFunctionImpl(stub);
+    }
+
+    @NotNull
+    @Override
+    public RsFunction createPsi(@NotNull ASTNode node) {
+        return new RsFunctionImpl(node);
+    }
+
+    @Nullable
+    @Override
+    public RsFunctionStub createStub(@NotNull RsFunction psi, StubElement parentStub) {
+        return new RsFunctionStub(parentStub, StringRef.fromString(psi.getName()), psi.getVisibility(),
+            psi.getDocSummary(), psi.getAttributeModel());
+    }
+
+    @Override
+    public void serialize(@NotNull RsFunctionStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeByte(stub.getVisibility().pack());
+        RsDocSummary.serialize(stub.getDocSummary(), dataStream);
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
+    }
+
+    @NotNull
+    @Override
+    public RsFunctionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        final StringRef name = dataStream.readName();
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final String docSummary = RsDocSummary.deserialize(dataStream);
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        return new RsFunctionStub(parentStub, name, visibility, docSummary, attributeModel);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsFunctionStub stub, @NotNull IndexSink sink) {
+        indexName(sink, RsFunctionIndex.KEY, stub.getName());
+    }
+
+    @NotNull
+    @Override
+    public String getHumanReadableName() {
+        return "function";
+    }
+}
@@ -17,15 +17,20 @@
 package org.rustidea.psi.types;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
 import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsDocSummary;
 import org.rustidea.psi.RsModule;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.impl.RsModuleImpl;
 import org.rustidea.stubs.RsModuleStub;
+import org.rustidea.stubs.index.RsModuleIndex;
 
 import java.io.IOException;
 
@@ -51,18 +56,35 @@ public class RsModuleElementType extends IRsStubElementType<RsModuleStub, RsModu
     @Nullable
     @Override
     public RsModuleStub createStub(@NotNull RsModule psi, StubElement parentStub) {
-        return new RsModuleStub(parentStub, StringRef.fromString(psi.getName()));
+        return new RsModuleStub(parentStub, StringRef.fromString(psi.getName()), psi.isBodyLazy(), psi.isOutOfLine(),
+            psi.getVisibility(), psi.getDocSummary(), psi.getAttributeModel());
     }
 
     @Override
     public void serialize(@NotNull RsModuleStub stub, @NotNull StubOutputStream dataStream) throws IOException {
         dataStream.writeName(stub.getName());
+        dataStream.writeBoolean(stub.isBodyLazy());
+        dataStream.writeBoolean(stub.isOutOfLine());
+        dataStream.writeByte(stub.getVisibility().pack());
+        RsDocSummary.serialize(stub.getDocSummary(), dataStream);
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
     }
 
     @NotNull
     @Override
     public RsModuleStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        return new RsModuleStub(parentStub, dataStream.readName());
+        final StringRef name = dataStream.readName();
+        final boolean bodyLazy = dataStream.readBoolean();
+        final boolean outOfLine = dataStream.readBoolean();
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final String docSummary = RsDocSummary.deserialize(dataStream);
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        return new RsModuleStub(parentStub, name, bodyLazy, outOfLine, visibility, docSummary, attributeModel);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsModuleStub stub, @NotNull IndexSink sink) {
+        indexName(sink, RsModuleIndex.KEY, stub.getName());
     }
 
     @NotNull
@@ -29,6 +29,8 @@ public interface RsPsiTypes extends RsStubElementTypes, RsCompositeTypes, RsToke
     TokenSet BRACE_TOKEN_SET = TokenSet.create(OP_LBRACE, OP_RBRACE);
     TokenSet BRACKET_TOKEN_SET = TokenSet.create(OP_LBRACKET, OP_RBRACKET);
     TokenSet PAREN_TOKEN_SET = TokenSet.create(OP_LPAREN, OP_RPAREN);
+    TokenSet LEFT_DELIMITER_TOKEN_SET = TokenSet.create(OP_LBRACE, OP_LBRACKET, OP_LPAREN);
+    TokenSet RIGHT_DELIMITER_TOKEN_SET = TokenSet.create(OP_RBRACE, OP_RBRACKET, OP_RPAREN);
 
     TokenSet BOOL_TOKEN_SET = TokenSet.create(KW_TRUE, KW_FALSE);
     TokenSet NUMBER_TOKEN_SET = TokenSet.create(INT_LIT, FLOAT_LIT);
@@ -42,5 +44,7 @@ public interface RsPsiTypes extends RsStubElementTypes, RsCompositeTypes, RsToke
     TokenSet DOC_TOKEN_SET = TokenSet.create(BLOCK_DOC, LINE_DOC, BLOCK_INNER_DOC, LINE_INNER_DOC);
     TokenSet ATTRIBUTE_OR_DOC_TOKEN_SET = TokenSet.create(ATTRIBUTE, DOC);
 
+    TokenSet ITEM_TOKEN_SET = TokenSet.create(CONST_ITEM, EXTERN_CRATE_DECL, FUNCTION, MODULE, STATIC_ITEM, STRUCT, TYPE_ALIAS, USE_DECL);
+
     TokenSet SELF_OR_SUPER = TokenSet.create(KW_SELF, KW_SUPER);
 }
@@ -17,15 +17,20 @@
 package org.rustidea.psi.types;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
 import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsDocSummary;
 import org.rustidea.psi.RsStaticItem;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.impl.RsStaticItemImpl;
 import org.rustidea.stubs.RsStaticItemStub;
+import org.rustidea.stubs.index.RsStaticItemIndex;
 
 import java.io.IOException;
 
@@ -51,18 +56,36 @@ public class RsStaticItemElementType extends IRsStubElementType<RsStaticItemStub
     @Nullable
     @Override
     public RsStaticItemStub createStub(@NotNull RsStaticItem psi, StubElement parentStub) {
-        return new RsStaticItemStub(parentStub, StringRef.fromString(psi.getName()));
+        return new RsStaticItemStub(parentStub, StringRef.fromString(psi.getName()),
+            StringRef.fromNullableString(psi.getTypeText()), psi.isMutable(), psi.getVisibility(), psi.getDocSummary(),
+            psi.getAttributeModel());
     }
 
     @Override
     public void serialize(@NotNull RsStaticItemStub stub, @NotNull StubOutputStream dataStream) throws IOException {
         dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getTypeText());
+        dataStream.writeBoolean(stub.isMutable());
+        dataStream.writeByte(stub.getVisibility().pack());
+        RsDocSummary.serialize(stub.getDocSummary(), dataStream);
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
     }
 
     @NotNull
     @Override
     public RsStaticItemStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        return new RsStaticItemStub(parentStub, dataStream.readName());
+        final StringRef name = dataStream.readName();
+        final StringRef typeText = dataStream.readName();
+        final boolean mutable = dataStream.readBoolean();
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final String docSummary = RsDocSummary.deserialize(dataStream);
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        return new RsStaticItemStub(parentStub, name, typeText, mutable, visibility, docSummary, attributeModel);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsStaticItemStub stub, @NotNull IndexSink sink) {
+        indexName(sink, RsStaticItemIndex.KEY, stub.getName());
     }
 
     @NotNull
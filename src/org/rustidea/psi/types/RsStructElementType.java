@@ -17,15 +17,23 @@
 package org.rustidea.psi.types;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
 import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsDocSummary;
 import org.rustidea.psi.RsStruct;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.impl.RsStructImpl;
+import org.rustidea.stubs.RsStructFieldStub;
 import org.rustidea.stubs.RsStructStub;
+import org.rustidea.stubs.index.RsDeriveIndex;
+import org.rustidea.stubs.index.RsStructByFieldIndex;
+import org.rustidea.stubs.index.RsStructIndex;
 
 import java.io.IOException;
 
@@ -51,18 +59,45 @@ public class RsStructElementType extends IRsStubElementType<RsStructStub, RsStru
     @Nullable
     @Override
     public RsStructStub createStub(@NotNull RsStruct psi, StubElement parentStub) {
-        return new RsStructStub(parentStub, StringRef.fromString(psi.getName()));
+        return new RsStructStub(parentStub, StringRef.fromString(psi.getName()), psi.getVisibility(),
+            psi.getDocSummary(), psi.getAttributeModel());
     }
 
     @Override
     public void serialize(@NotNull RsStructStub stub, @NotNull StubOutputStream dataStream) throws IOException {
         dataStream.writeName(stub.getName());
+        dataStream.writeByte(stub.getVisibility().pack());
+        RsDocSummary.serialize(stub.getDocSummary(), dataStream);
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
     }
 
     @NotNull
     @Override
     public RsStructStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        return new RsStructStub(parentStub, dataStream.readName());
+        final StringRef name = dataStream.readName();
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final String docSummary = RsDocSummary.deserialize(dataStream);
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        return new RsStructStub(parentStub, name, visibility, docSummary, attributeModel);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsStructStub stub, @NotNull IndexSink sink) {
+        indexName(sink, RsStructIndex.KEY, stub.getName());
+        for (String deriveName : stub.getDeriveNames()) {
+            sink.occurrence(RsDeriveIndex.KEY, deriveName);
+        }
+        for (Object typeStub : stub.getChildrenStubs()) {
+            if (((StubElement) typeStub).getStubType() != RsPsiTypes.STRUCT_TYPE) continue;
+            for (Object fieldStub : ((StubElement) typeStub).getChildrenStubs()) {
+                if (fieldStub instanceof RsStructFieldStub) {
+                    final String fieldName = ((RsStructFieldStub) fieldStub).getName();
+                    if (fieldName != null) {
+                        sink.occurrence(RsStructByFieldIndex.KEY, fieldName);
+                    }
+                }
+            }
+        }
     }
 
     @NotNull
@@ -17,6 +17,7 @@
 package org.rustidea.psi.types;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
@@ -24,8 +25,10 @@ import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.RsStructField;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.impl.RsStructFieldImpl;
 import org.rustidea.stubs.RsStructFieldStub;
+import org.rustidea.stubs.index.RsStructFieldIndex;
 
 import java.io.IOException;
 
@@ -51,18 +54,29 @@ public class RsStructFieldElementType extends IRsStubElementType<RsStructFieldSt
     @Nullable
     @Override
     public RsStructFieldStub createStub(@NotNull RsStructField psi, StubElement parentStub) {
-        return new RsStructFieldStub(parentStub, StringRef.fromString(psi.getName()));
+        return new RsStructFieldStub(parentStub, StringRef.fromString(psi.getName()), psi.getVisibility(),
+            StringRef.fromNullableString(psi.getTypeText()));
     }
 
     @Override
     public void serialize(@NotNull RsStructFieldStub stub, @NotNull StubOutputStream dataStream) throws IOException {
         dataStream.writeName(stub.getName());
+        dataStream.writeByte(stub.getVisibility().pack());
+        dataStream.writeName(stub.getTypeText());
     }
 
     @NotNull
     @Override
     public RsStructFieldStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        return new RsStructFieldStub(parentStub, dataStream.readName());
+        final StringRef name = dataStream.readName();
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final StringRef typeText = dataStream.readName();
+        return new RsStructFieldStub(parentStub, name, visibility, typeText);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsStructFieldStub stub, @NotNull IndexSink sink) {
+        indexName(sink, RsStructFieldIndex.KEY, stub.getName());
     }
 
     @NotNull
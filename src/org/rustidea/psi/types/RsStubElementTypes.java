@@ -26,6 +26,7 @@ import org.rustidea.psi.impl.RsStructTypeImpl;
 public interface RsStubElementTypes {
     RsConstItemElementType CONST_ITEM = RsConstItemElementType.INSTANCE;
     RsExternCrateDeclElementType EXTERN_CRATE_DECL = RsExternCrateDeclElementType.INSTANCE;
+    RsFunctionElementType FUNCTION = RsFunctionElementType.INSTANCE;
     RsModuleElementType MODULE = RsModuleElementType.INSTANCE;
     RsStaticItemElementType STATIC_ITEM = RsStaticItemElementType.INSTANCE;
     RsStructElementType STRUCT = RsStructElementType.INSTANCE;
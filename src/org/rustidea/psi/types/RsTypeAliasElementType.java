@@ -17,15 +17,20 @@
 package org.rustidea.psi.types;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
 import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsDocSummary;
 import org.rustidea.psi.RsTypeAlias;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.impl.RsTypeAliasImpl;
 import org.rustidea.stubs.RsTypeAliasStub;
+import org.rustidea.stubs.index.RsTypeAliasIndex;
 
 import java.io.IOException;
 
@@ -51,18 +56,34 @@ public class RsTypeAliasElementType extends IRsStubElementType<RsTypeAliasStub,
     @Nullable
     @Override
     public RsTypeAliasStub createStub(@NotNull RsTypeAlias psi, StubElement parentStub) {
-        return new RsTypeAliasStub(parentStub, StringRef.fromString(psi.getName()));
+        return new RsTypeAliasStub(parentStub, StringRef.fromString(psi.getName()),
+            StringRef.fromNullableString(psi.getTypeText()), psi.getVisibility(), psi.getDocSummary(),
+            psi.getAttributeModel());
     }
 
     @Override
     public void serialize(@NotNull RsTypeAliasStub stub, @NotNull StubOutputStream dataStream) throws IOException {
         dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getTypeText());
+        dataStream.writeByte(stub.getVisibility().pack());
+        RsDocSummary.serialize(stub.getDocSummary(), dataStream);
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
     }
 
     @NotNull
     @Override
     public RsTypeAliasStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        return new RsTypeAliasStub(parentStub, dataStream.readName());
+        final StringRef name = dataStream.readName();
+        final StringRef typeText = dataStream.readName();
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final String docSummary = RsDocSummary.deserialize(dataStream);
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        return new RsTypeAliasStub(parentStub, name, typeText, visibility, docSummary, attributeModel);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsTypeAliasStub stub, @NotNull IndexSink sink) {
+        indexName(sink, RsTypeAliasIndex.KEY, stub.getName());
     }
 
     @NotNull
@@ -17,15 +17,18 @@
 package org.rustidea.psi.types;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IndexSink;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.stubs.StubInputStream;
 import com.intellij.psi.stubs.StubOutputStream;
-import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
-import org.rustidea.psi.IRsReferenceElement;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsUseDecl;
+import org.rustidea.psi.RsUsePath;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.impl.RsUseDeclImpl;
 import org.rustidea.stubs.RsUseDeclStub;
+import org.rustidea.stubs.index.RsUseDeclIndex;
 
 import java.io.IOException;
 
@@ -51,23 +54,30 @@ public class RsUseDeclElementType extends IRsStubElementType<RsUseDeclStub, RsUs
     @NotNull
     @Override
     public RsUseDeclStub createStub(@NotNull RsUseDecl psi, StubElement parentStub) {
-        final IRsReferenceElement referenceElement = psi.getUseReference();
-        final String refText = referenceElement == null ? null : referenceElement.getText();
-        return new RsUseDeclStub(parentStub, StringRef.fromNullableString(refText), psi.getType().pack());
+        return new RsUseDeclStub(parentStub, psi.getUsePath(), psi.getVisibility(), psi.getAttributeModel());
     }
 
     @Override
     public void serialize(@NotNull RsUseDeclStub stub, @NotNull StubOutputStream dataStream) throws IOException {
-        dataStream.writeByte(stub.getFlags());
-        dataStream.writeName(stub.getReferenceText());
+        RsUsePath.serialize(stub.getUsePath(), dataStream);
+        dataStream.writeByte(stub.getVisibility().pack());
+        RsAttributeModel.serialize(stub.getAttributeModel(), dataStream);
     }
 
     @NotNull
     @Override
     public RsUseDeclStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
-        final byte flags = dataStream.readByte();
-        final StringRef text = dataStream.readName();
-        return new RsUseDeclStub(parentStub, text, flags);
+        final RsUsePath usePath = RsUsePath.deserialize(dataStream);
+        final RsVisibility visibility = RsVisibility.unpack(dataStream.readByte());
+        final RsAttributeModel attributeModel = RsAttributeModel.deserialize(dataStream);
+        return new RsUseDeclStub(parentStub, usePath, visibility, attributeModel);
+    }
+
+    @Override
+    public void indexStub(@NotNull RsUseDeclStub stub, @NotNull IndexSink sink) {
+        for (String name : stub.getUsePath().getImportedNames()) {
+            sink.occurrence(RsUseDeclIndex.KEY, name);
+        }
     }
 
     @NotNull
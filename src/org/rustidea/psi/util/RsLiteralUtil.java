@@ -27,6 +27,7 @@ import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.RsLiteral;
 import org.rustidea.psi.types.RsPsiTypes;
 
+import java.math.BigInteger;
 import java.util.Collection;
 
 public final class RsLiteralUtil {
@@ -225,15 +226,107 @@ public final class RsLiteralUtil {
     @NotNull
     public static String removeDecoration(@Nullable final RsLiteral literal) {
         if (literal == null) return "";
-        final String text = literal.getText();
-        final String suffix = literal.getSuffix();
+        return removeDecoration(literal.getText(), literal.getSuffix(), literal.getTokenType());
+    }
+
+    @NotNull
+    @Contract(pure = true)
+    public static String removeDecoration(@NotNull final String text,
+                                          @NotNull final String suffix,
+                                          @NotNull final IElementType tokenType) {
         final String noSuffix = StringUtil.trimEnd(text, suffix);
-        if (RsPsiTypes.TEXT_LITERAL_TOKEN_SET.contains(literal.getTokenType())) {
+        if (RsPsiTypes.TEXT_LITERAL_TOKEN_SET.contains(tokenType)) {
             return removeStrLitPrefix(noSuffix);
         }
         return noSuffix;
     }
 
+    /**
+     * Decode integer literal without suffix, e.g. {@code 0xAaf} or {@code 1_000}.
+     *
+     * @return {@link Long} if value fits, {@link BigInteger} otherwise, or {@code null} if the string is malformed.
+     */
+    @Nullable
+    @Contract(pure = true)
+    public static Number decodeInteger(@NotNull final String str) {
+        int radix = 10;
+        int start = 0;
+        if (str.length() >= 2 && str.charAt(0) == '0') {
+            final char ch1 = str.charAt(1);
+            if (ch1 == 'b') {
+                radix = 2;
+                start = 2;
+            } else if (ch1 == 'o') {
+                radix = 8;
+                start = 2;
+            } else if (ch1 == 'x') {
+                radix = 16;
+                start = 2;
+            }
+        }
+
+        final String digits = removeUnderscores(str, start);
+        if (digits.isEmpty() || digits.charAt(0) == '+' || digits.charAt(0) == '-') return null;
+
+        try {
+            return Long.parseLong(digits, radix);
+        } catch (NumberFormatException ignored) {
+            // value is either malformed or does not fit into long
+        }
+
+        try {
+            return new BigInteger(digits, radix);
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Decode float literal without suffix, e.g. {@code 123.0E+77} or {@code 1_000.5}.
+     *
+     * @return decoded value or {@code null} if the string is malformed.
+     */
+    @Nullable
+    @Contract(pure = true)
+    public static Double decodeFloat(@NotNull final String str) {
+        final String digits = removeUnderscores(str, 0);
+        if (digits.isEmpty() || !StringUtil.containsChar(RsStringUtil.DEC_DIGIT, digits.charAt(0))) return null;
+        try {
+            return Double.valueOf(digits);
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Convert unescaped byte string contents into bytes.
+     *
+     * @return bytes or {@code null} if the string contains characters outside of byte range.
+     */
+    @Nullable
+    @Contract(pure = true)
+    public static byte[] toByteArray(@NotNull final String str) {
+        final int len = str.length();
+        final byte[] bytes = new byte[len];
+        for (int i = 0; i < len; i++) {
+            final char ch = str.charAt(i);
+            if (ch > 0xFF) return null;
+            bytes[i] = (byte) ch;
+        }
+        return bytes;
+    }
+
+    @NotNull
+    private static String removeUnderscores(@NotNull final String str, final int start) {
+        if (str.indexOf('_', start) < 0) return str.substring(start);
+        final StringBuilder sb = new StringBuilder(str.length() - start);
+        for (int i = start; i < str.length(); i++) {
+            final char ch = str.charAt(i);
+            if (ch != '_') sb.append(ch);
+        }
+        return sb.toString();
+    }
+
     @Contract(pure = true)
     public static int countRawStrHashes(@NotNull final String str) {
         return StringUtil.countChars(removeStrLitPrefix(str), '#', 0, true);
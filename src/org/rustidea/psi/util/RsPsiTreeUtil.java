@@ -19,12 +19,15 @@ package org.rustidea.psi.util;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.StubBasedPsiElement;
 import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.tree.TokenSet;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.util.CommonProcessors;
+import com.intellij.util.Processor;
 import com.intellij.util.SmartList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.List;
 
 public final class RsPsiTreeUtil extends PsiTreeUtil {
@@ -61,18 +64,45 @@ public final class RsPsiTreeUtil extends PsiTreeUtil {
         return getElementIndex(element, elemCls);
     }
 
-    @NotNull
-    public static <T extends PsiElement> List<T> getChildrenOfTypeAsListRecursive(@Nullable PsiElement element, @NotNull Class<T> aClass) {
-        if (element == null) return Collections.emptyList();
+    /**
+     * Walk descendants of {@code root} depth-first in document order without recursion and pass those
+     * of class {@code cls} to {@code processor}.
+     *
+     * @param prune     element types whose subtrees are not entered; the elements themselves are still reported.
+     * @param processor returns {@code false} to stop the walk.
+     * @return {@code false} if the walk was stopped by {@code processor}.
+     */
+    public static <T extends PsiElement> boolean processDescendantsOfType(@Nullable final PsiElement root,
+                                                                         @NotNull final Class<T> cls,
+                                                                         @NotNull final TokenSet prune,
+                                                                         @NotNull final Processor<? super T> processor) {
+        if (root == null) return true;
 
-        List<T> result = new SmartList<T>();
-        for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (aClass.isInstance(child)) {
+        PsiElement element = root.getFirstChild();
+        while (element != null) {
+            if (cls.isInstance(element)) {
                 //noinspection unchecked
-                result.add((T) child);
+                if (!processor.process((T) element)) return false;
+            }
+
+            PsiElement next = prune.contains(PsiUtilCore.getElementType(element)) ? null : element.getFirstChild();
+            while (next == null && element != root) {
+                next = element.getNextSibling();
+                if (next == null) {
+                    element = element.getParent();
+                }
             }
-            result.addAll(getChildrenOfTypeAsListRecursive(child, aClass));
+            element = next;
         }
+        return true;
+    }
+
+    @NotNull
+    public static <T extends PsiElement> List<T> collectDescendantsOfType(@Nullable final PsiElement root,
+                                                                         @NotNull final Class<T> cls,
+                                                                         @NotNull final TokenSet prune) {
+        final List<T> result = new SmartList<T>();
+        processDescendantsOfType(root, cls, prune, new CommonProcessors.CollectProcessor<T>(result));
         return result;
     }
 }
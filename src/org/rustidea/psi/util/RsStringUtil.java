@@ -138,9 +138,13 @@ public final class RsStringUtil {
                         } else {
                             try {
                                 int code = Integer.parseInt(str.substring(escStart, idx), 16);
-                                sb.append((char) code);
-                                state = NORMAL;
-                                escStart = 0;
+                                if (Character.isValidCodePoint(code)) {
+                                    sb.appendCodePoint(code);
+                                    state = NORMAL;
+                                    escStart = 0;
+                                } else {
+                                    revert = true;
+                                }
                             } catch (NumberFormatException e) {
                                 revert = true;
                             }
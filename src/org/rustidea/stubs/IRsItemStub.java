@@ -17,7 +17,15 @@
 package org.rustidea.stubs;
 
 import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
 import org.rustidea.psi.IRsItem;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsVisibility;
 
 public interface IRsItemStub<PsiT extends IRsItem> extends StubElement<PsiT> {
+    @NotNull
+    RsAttributeModel getAttributeModel();
+
+    @NotNull
+    RsVisibility getVisibility();
 }
@@ -17,7 +17,10 @@
 package org.rustidea.stubs;
 
 import com.intellij.psi.stubs.NamedStub;
+import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.IRsNamedItem;
 
 public interface IRsNamedItemStub<PsiT extends IRsNamedItem> extends IRsItemStub<PsiT>, NamedStub<PsiT> {
+    @Nullable
+    String getDocSummary();
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.NamedStubBase;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.IRsNamedItem;
+import org.rustidea.psi.RsAttributeModel;
+import org.rustidea.psi.RsVisibility;
+
+public abstract class IRsNamedItemStubBase<PsiT extends IRsNamedItem>
+    extends NamedStubBase<PsiT> implements IRsNamedItemStub<PsiT> {
+    @NotNull
+    private final RsVisibility visibility;
+    @Nullable
+    private final String docSummary;
+    @NotNull
+    private final RsAttributeModel attributeModel;
+
+    protected IRsNamedItemStubBase(StubElement parent, IStubElementType elementType, StringRef name,
+                                   @NotNull RsVisibility visibility, @Nullable String docSummary,
+                                   @NotNull RsAttributeModel attributeModel) {
+        super(parent, elementType, name);
+        this.visibility = visibility;
+        this.docSummary = docSummary;
+        this.attributeModel = attributeModel;
+    }
+
+    @NotNull
+    @Override
+    public RsVisibility getVisibility() {
+        return visibility;
+    }
+
+    @Nullable
+    @Override
+    public String getDocSummary() {
+        return docSummary;
+    }
+
+    @NotNull
+    @Override
+    public RsAttributeModel getAttributeModel() {
+        return attributeModel;
+    }
+}
@@ -16,19 +16,23 @@
 
 package org.rustidea.stubs;
 
-import com.intellij.psi.stubs.NamedStubBase;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsExternCrateDecl;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
 
-public class RsExternCrateDeclStub extends NamedStubBase<RsExternCrateDecl> implements IRsNamedItemStub<RsExternCrateDecl> {
+public class RsExternCrateDeclStub extends IRsNamedItemStubBase<RsExternCrateDecl> {
     private final StringRef crateName;
 
-    public RsExternCrateDeclStub(StubElement parent, StringRef name, StringRef crateName) {
-        super(parent, RsPsiTypes.EXTERN_CRATE_DECL, name);
+    public RsExternCrateDeclStub(StubElement parent, StringRef name, StringRef crateName,
+                                 @NotNull RsVisibility visibility, @Nullable String docSummary,
+                                 @NotNull RsAttributeModel attributeModel) {
+        super(parent, RsPsiTypes.EXTERN_CRATE_DECL, name, visibility, docSummary, attributeModel);
         this.crateName = crateName;
     }
 
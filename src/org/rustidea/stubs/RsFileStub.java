@@ -18,10 +18,40 @@ package org.rustidea.stubs;
 
 import com.intellij.psi.stubs.PsiFileStub;
 import com.intellij.psi.stubs.PsiFileStubImpl;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsModuleDeclaration;
+
+import java.util.List;
 
 public class RsFileStub extends PsiFileStubImpl<RsFile> implements PsiFileStub<RsFile> {
-    public RsFileStub(RsFile file) {
+    @NotNull
+    private final RsAttributeModel attributeModel;
+    @NotNull
+    private final List<RsModuleDeclaration> moduleDeclarations;
+
+    public RsFileStub(RsFile file,
+                      @NotNull RsAttributeModel attributeModel,
+                      @NotNull List<RsModuleDeclaration> moduleDeclarations) {
         super(file);
+        this.attributeModel = attributeModel;
+        this.moduleDeclarations = moduleDeclarations;
+    }
+
+    /**
+     * @see RsFile#getAttributeModel()
+     */
+    @NotNull
+    public RsAttributeModel getAttributeModel() {
+        return attributeModel;
+    }
+
+    /**
+     * @see RsFile#getModuleDeclarations()
+     */
+    @NotNull
+    public List<RsModuleDeclaration> getModuleDeclarations() {
+        return moduleDeclarations;
     }
 }
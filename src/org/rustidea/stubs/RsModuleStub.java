@@ -16,14 +16,35 @@
 
 package org.rustidea.stubs;
 
-import com.intellij.psi.stubs.NamedStubBase;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsModule;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
 
-public class RsModuleStub extends NamedStubBase<RsModule> implements IRsNamedItemStub<RsModule> {
-    public RsModuleStub(StubElement parent, StringRef name) {
-        super(parent, RsPsiTypes.MODULE, name);
+public class RsModuleStub extends IRsNamedItemStubBase<RsModule> {
+    private final boolean bodyLazy;
+    private final boolean outOfLine;
+
+    public RsModuleStub(StubElement parent, StringRef name, boolean bodyLazy, boolean outOfLine,
+                        @NotNull RsVisibility visibility, @Nullable String docSummary,
+                        @NotNull RsAttributeModel attributeModel) {
+        super(parent, RsPsiTypes.MODULE, name, visibility, docSummary, attributeModel);
+        this.bodyLazy = bodyLazy;
+        this.outOfLine = outOfLine;
+    }
+
+    /**
+     * Items of module body left as token tree are not present in stub tree.
+     */
+    public boolean isBodyLazy() {
+        return bodyLazy;
+    }
+
+    public boolean isOutOfLine() {
+        return outOfLine;
     }
 }
@@ -16,14 +16,26 @@
 
 package org.rustidea.stubs;
 
-import com.intellij.psi.stubs.NamedStubBase;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsStaticItem;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
 
-public class RsStaticItemStub extends NamedStubBase<RsStaticItem> implements IRsNamedItemStub<RsStaticItem> {
-    public RsStaticItemStub(StubElement parent, StringRef name) {
-        super(parent, RsPsiTypes.STATIC_ITEM, name);
+public class RsStaticItemStub extends IRsTypedItemStubBase<RsStaticItem> {
+    private final boolean mutable;
+
+    public RsStaticItemStub(StubElement parent, StringRef name, @Nullable StringRef typeText, boolean mutable,
+                            @NotNull RsVisibility visibility, @Nullable String docSummary,
+                            @NotNull RsAttributeModel attributeModel) {
+        super(parent, RsPsiTypes.STATIC_ITEM, name, typeText, visibility, docSummary, attributeModel);
+        this.mutable = mutable;
+    }
+
+    public boolean isMutable() {
+        return mutable;
     }
 }
@@ -20,11 +20,30 @@ import com.intellij.psi.stubs.NamedStub;
 import com.intellij.psi.stubs.NamedStubBase;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.rustidea.psi.RsStructField;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
 
 public class RsStructFieldStub extends NamedStubBase<RsStructField> implements NamedStub<RsStructField> {
-    public RsStructFieldStub(StubElement parent, StringRef name) {
+    @NotNull
+    private final RsVisibility visibility;
+    private final StringRef typeText;
+
+    public RsStructFieldStub(StubElement parent, StringRef name, @NotNull RsVisibility visibility, StringRef typeText) {
         super(parent, RsPsiTypes.STRUCT_FIELD, name);
+        this.visibility = visibility;
+        this.typeText = typeText;
+    }
+
+    @NotNull
+    public RsVisibility getVisibility() {
+        return visibility;
+    }
+
+    @Nullable
+    public String getTypeText() {
+        return StringRef.toString(typeText);
     }
 }
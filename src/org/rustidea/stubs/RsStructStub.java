@@ -16,14 +16,28 @@
 
 package org.rustidea.stubs;
 
-import com.intellij.psi.stubs.NamedStubBase;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsStruct;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
 
-public class RsStructStub extends NamedStubBase<RsStruct> implements IRsNamedItemStub<RsStruct> {
-    public RsStructStub(StubElement parent, StringRef name) {
-        super(parent, RsPsiTypes.STRUCT, name);
+import java.util.List;
+
+public class RsStructStub extends IRsNamedItemStubBase<RsStruct> {
+    public RsStructStub(StubElement parent, StringRef name, @NotNull RsVisibility visibility,
+                        @Nullable String docSummary, @NotNull RsAttributeModel attributeModel) {
+        super(parent, RsPsiTypes.STRUCT, name, visibility, docSummary, attributeModel);
+    }
+
+    /**
+     * Derive names are part of the stubbed attribute model and are written through the stub name table.
+     */
+    @NotNull
+    public List<String> getDeriveNames() {
+        return getAttributeModel().getDeriveNames();
     }
 }
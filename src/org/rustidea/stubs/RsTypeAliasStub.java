@@ -16,14 +16,19 @@
 
 package org.rustidea.stubs;
 
-import com.intellij.psi.stubs.NamedStubBase;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsTypeAlias;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
 
-public class RsTypeAliasStub extends NamedStubBase<RsTypeAlias> implements IRsNamedItemStub<RsTypeAlias> {
-    public RsTypeAliasStub(StubElement parent, StringRef name) {
-        super(parent, RsPsiTypes.TYPE_ALIAS, name);
+public class RsTypeAliasStub extends IRsTypedItemStubBase<RsTypeAlias> {
+    public RsTypeAliasStub(StubElement parent, StringRef name, @Nullable StringRef typeText,
+                           @NotNull RsVisibility visibility, @Nullable String docSummary,
+                           @NotNull RsAttributeModel attributeModel) {
+        super(parent, RsPsiTypes.TYPE_ALIAS, name, typeText, visibility, docSummary, attributeModel);
     }
 }
@@ -18,50 +18,48 @@ package org.rustidea.stubs;
 
 import com.intellij.psi.stubs.StubBase;
 import com.intellij.psi.stubs.StubElement;
-import com.intellij.reference.SoftReference;
-import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-import org.rustidea.psi.IRsReferenceElement;
+import org.rustidea.psi.RsAttributeModel;
 import org.rustidea.psi.RsUseDecl;
+import org.rustidea.psi.RsUsePath;
+import org.rustidea.psi.RsVisibility;
 import org.rustidea.psi.types.RsPsiTypes;
-import org.rustidea.util.NotImplementedException;
-
-import java.lang.ref.Reference;
 
 public class RsUseDeclStub extends StubBase<RsUseDecl> implements IRsItemStub<RsUseDecl> {
-    private final StringRef text;
-    private final byte flags;
-    @Nullable
-    private Reference<IRsReferenceElement> reference = null;
+    @NotNull
+    private final RsUsePath usePath;
+    @NotNull
+    private final RsVisibility visibility;
+    @NotNull
+    private final RsAttributeModel attributeModel;
 
-    public RsUseDeclStub(StubElement parent, final StringRef referenceText, final byte flags) {
+    public RsUseDeclStub(StubElement parent, @NotNull final RsUsePath usePath,
+                         @NotNull final RsVisibility visibility, @NotNull final RsAttributeModel attributeModel) {
         super(parent, RsPsiTypes.USE_DECL);
-        this.text = referenceText;
-        this.flags = flags;
+        this.usePath = usePath;
+        this.visibility = visibility;
+        this.attributeModel = attributeModel;
     }
 
     @NotNull
-    public RsUseDecl.Type getType() {
-        return RsUseDecl.Type.unpack(flags);
+    @Override
+    public RsVisibility getVisibility() {
+        return visibility;
     }
 
-    @Nullable
-    public String getReferenceText() {
-        return StringRef.toString(text);
+    @NotNull
+    public RsUseDecl.Type getType() {
+        return usePath.getType();
     }
 
-    @Nullable
-    public IRsReferenceElement getUseReference() {
-        IRsReferenceElement ref = SoftReference.dereference(reference);
-        if (ref == null) {
-            // TODO:RJP-43 Implement this (build reference PSI from `text` with `getPsi()` as context).
-            throw new NotImplementedException();
-        }
-        return ref;
+    @NotNull
+    public RsUsePath getUsePath() {
+        return usePath;
     }
 
-    public byte getFlags() {
-        return flags;
+    @NotNull
+    @Override
+    public RsAttributeModel getAttributeModel() {
+        return attributeModel;
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Condition;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.project.RsCfgService;
+import org.rustidea.psi.IRsItem;
+import org.rustidea.psi.RsStructField;
+import org.rustidea.psi.RsVisibility;
+import org.rustidea.psi.types.RsFileElementType;
+
+import java.util.Collection;
+
+public abstract class IRsStringStubIndex<PsiT extends PsiElement> extends StringStubIndexExtension<PsiT> {
+    @NotNull
+    private final Class<PsiT> psiClass;
+
+    protected IRsStringStubIndex(@NotNull final Class<PsiT> psiClass) {
+        this.psiClass = psiClass;
+    }
+
+    @Override
+    public int getVersion() {
+        return super.getVersion() + RsFileElementType.VERSION;
+    }
+
+    @NotNull
+    public Collection<String> getAllKeys(@NotNull final Project project) {
+        return StubIndex.getInstance().getAllKeys(getKey(), project);
+    }
+
+    @NotNull
+    public Collection<PsiT> get(@NotNull final String key,
+                                @NotNull final Project project,
+                                @NotNull final GlobalSearchScope scope) {
+        return StubIndex.getElements(getKey(), key, project, scope, psiClass);
+    }
+
+    /**
+     * Same as {@link #get(String, Project, GlobalSearchScope)}, but without elements disabled by active
+     * configuration, see {@link RsCfgService}.
+     */
+    @NotNull
+    public Collection<PsiT> getEnabled(@NotNull final String key,
+                                       @NotNull final Project project,
+                                       @NotNull final GlobalSearchScope scope) {
+        return RsCfgService.getInstance(project).filterEnabled(get(key, project, scope));
+    }
+
+    /**
+     * Same as {@link #getEnabled(String, Project, GlobalSearchScope)}, but only with elements declared {@code pub}.
+     * Visibility is read from stubs, so this is meant for lookups outside of declaring module, like completion.
+     */
+    @NotNull
+    public Collection<PsiT> getPublic(@NotNull final String key,
+                                      @NotNull final Project project,
+                                      @NotNull final GlobalSearchScope scope) {
+        return ContainerUtil.filter(getEnabled(key, project, scope), new Condition<PsiT>() {
+            @Override
+            public boolean value(PsiT element) {
+                return isPublic(element);
+            }
+        });
+    }
+
+    private static boolean isPublic(@NotNull final PsiElement element) {
+        if (element instanceof IRsItem) {
+            return ((IRsItem) element).getVisibility() == RsVisibility.PUBLIC;
+        }
+        if (element instanceof RsStructField) {
+            return ((RsStructField) element).getVisibility() == RsVisibility.PUBLIC;
+        }
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public abstract StubIndexKey<String, PsiT> getKey();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs.index;
+
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.RsExternCrateDecl;
+
+/**
+ * Names under which extern crates are bound, i.e. alias if present.
+ */
+public class RsExternCrateDeclIndex extends IRsStringStubIndex<RsExternCrateDecl> {
+    public static final StubIndexKey<String, RsExternCrateDecl> KEY = StubIndexKey.createIndexKey("rust.extern.crate.decl");
+    private static final RsExternCrateDeclIndex INSTANCE = new RsExternCrateDeclIndex();
+
+    public RsExternCrateDeclIndex() {
+        super(RsExternCrateDecl.class);
+    }
+
+    @NotNull
+    public static RsExternCrateDeclIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, RsExternCrateDecl> getKey() {
+        return KEY;
+    }
+}
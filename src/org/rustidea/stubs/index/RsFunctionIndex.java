@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs.index;
+
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.RsFunction;
+
+/**
+ * Names of functions.
+ */
+public class RsFunctionIndex extends IRsStringStubIndex<RsFunction> {
+    public static final StubIndexKey<String, RsFunction> KEY = StubIndexKey.createIndexKey("rust.function");
+    private static final RsFunctionIndex INSTANCE = new RsFunctionIndex();
+
+    public RsFunctionIndex() {
+        super(RsFunction.class);
+    }
+
+    @NotNull
+    public static RsFunctionIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, RsFunction> getKey() {
+        return KEY;
+    }
+}
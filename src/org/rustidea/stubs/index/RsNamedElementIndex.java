@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs.index;
+
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.IRsNameIdentifierOwner;
+
+/**
+ * Names of all named items and struct fields.
+ */
+public class RsNamedElementIndex extends IRsStringStubIndex<IRsNameIdentifierOwner> {
+    public static final StubIndexKey<String, IRsNameIdentifierOwner> KEY = StubIndexKey.createIndexKey("rust.named.element");
+    private static final RsNamedElementIndex INSTANCE = new RsNamedElementIndex();
+
+    public RsNamedElementIndex() {
+        super(IRsNameIdentifierOwner.class);
+    }
+
+    @NotNull
+    public static RsNamedElementIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, IRsNameIdentifierOwner> getKey() {
+        return KEY;
+    }
+}
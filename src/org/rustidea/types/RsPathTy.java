@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.types;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Path type, e.g. {@code a::b::C<T>}. Represented as a chain of segments, so common prefixes are shared.
+ */
+public final class RsPathTy extends RsTy {
+    /**
+     * Qualifier of global paths, e.g. {@code ::std}.
+     */
+    public static final RsPathTy GLOBAL = intern(new RsPathTy(null, "", EMPTY_ARRAY));
+
+    @Nullable
+    private final RsPathTy qualifier;
+    @NotNull
+    private final String name;
+    @NotNull
+    private final RsTy[] typeArguments;
+
+    private RsPathTy(@Nullable final RsPathTy qualifier, @NotNull final String name, @NotNull final RsTy[] typeArguments) {
+        super(31 * (31 * System.identityHashCode(qualifier) + name.hashCode()) + RsTupleTy.identityHashCode(typeArguments));
+        this.qualifier = qualifier;
+        this.name = name;
+        this.typeArguments = typeArguments;
+    }
+
+    /**
+     * @param typeArguments interned types, the array is not copied.
+     */
+    @NotNull
+    public static RsPathTy create(@Nullable final RsPathTy qualifier,
+                                  @NotNull @NonNls final String name,
+                                  @NotNull final RsTy... typeArguments) {
+        return intern(new RsPathTy(qualifier, name, typeArguments.length == 0 ? EMPTY_ARRAY : typeArguments));
+    }
+
+    @Nullable
+    public RsPathTy getQualifier() {
+        return qualifier;
+    }
+
+    @NotNull
+    @NonNls
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public List<RsTy> getTypeArguments() {
+        return typeArguments.length == 0 ? Collections.<RsTy>emptyList() : Collections.unmodifiableList(Arrays.asList(typeArguments));
+    }
+
+    public boolean isGlobal() {
+        RsPathTy root = this;
+        while (root.qualifier != null) {
+            root = root.qualifier;
+        }
+        return root == GLOBAL;
+    }
+
+    @Override
+    protected boolean isSameStructure(@NotNull final RsTy other) {
+        final RsPathTy path = (RsPathTy) other;
+        return qualifier == path.qualifier && name.equals(path.name) && RsTupleTy.identityEquals(typeArguments, path.typeArguments);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        if (qualifier != null) {
+            sb.append(qualifier).append("::");
+        }
+        sb.append(name);
+        if (typeArguments.length > 0) {
+            sb.append('<');
+            RsTupleTy.join(sb, typeArguments);
+            sb.append('>');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.types;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tuple type, e.g. {@code (i32, T)}. Unit type {@code ()} is a tuple without elements, see {@link #UNIT}.
+ */
+public final class RsTupleTy extends RsTy {
+    public static final RsTupleTy UNIT = intern(new RsTupleTy(EMPTY_ARRAY));
+
+    @NotNull
+    private final RsTy[] elements;
+
+    private RsTupleTy(@NotNull final RsTy[] elements) {
+        super(identityHashCode(elements));
+        this.elements = elements;
+    }
+
+    /**
+     * @param elements interned types, the array is not copied.
+     */
+    @NotNull
+    public static RsTupleTy create(@NotNull final RsTy... elements) {
+        return elements.length == 0 ? UNIT : intern(new RsTupleTy(elements));
+    }
+
+    @NotNull
+    public List<RsTy> getElements() {
+        return elements.length == 0 ? Collections.<RsTy>emptyList() : Collections.unmodifiableList(Arrays.asList(elements));
+    }
+
+    public boolean isUnit() {
+        return this == UNIT;
+    }
+
+    @Override
+    protected boolean isSameStructure(@NotNull final RsTy other) {
+        return identityEquals(elements, ((RsTupleTy) other).elements);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("(");
+        join(sb, elements);
+        // single-element tuple needs trailing comma to differ from parenthesized type
+        if (elements.length == 1) sb.append(',');
+        return sb.append(')').toString();
+    }
+
+    static int identityHashCode(@NotNull final RsTy[] types) {
+        int result = 1;
+        for (RsTy type : types) {
+            result = 31 * result + System.identityHashCode(type);
+        }
+        return result;
+    }
+
+    static boolean identityEquals(@NotNull final RsTy[] a, @NotNull final RsTy[] b) {
+        if (a.length != b.length) return false;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) return false;
+        }
+        return true;
+    }
+
+    static void join(@NotNull final StringBuilder sb, @NotNull final RsTy[] types) {
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(types[i]);
+        }
+    }
+}
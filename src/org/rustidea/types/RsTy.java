@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.types;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Canonical, immutable representation of a Rust type, detached from PSI.
+ *
+ * <p>All instances are hash-consed: structurally equal types are the same object, so types can be compared
+ * with {@code ==} and used as map keys cheaply. Interning is weak, so unused types are garbage collected.
+ * Instances are created with {@link RsTyFactory} or static factory methods of subclasses.</p>
+ */
+public abstract class RsTy {
+    public static final RsTy[] EMPTY_ARRAY = new RsTy[0];
+    private static final Interner<RsTy> INTERNER = Interners.newWeakInterner();
+
+    private final int hashCode;
+
+    protected RsTy(final int hashCode) {
+        this.hashCode = hashCode;
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    protected static <T extends RsTy> T intern(@NotNull final T ty) {
+        return (T) INTERNER.intern(ty);
+    }
+
+    /**
+     * Structural equality used for interning only. Children are interned already, so they are compared
+     * by reference and this check is shallow.
+     */
+    protected abstract boolean isSameStructure(@NotNull RsTy other);
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RsTy other = (RsTy) o;
+        return hashCode == other.hashCode && isSameStructure(other);
+    }
+
+    @Override
+    public final int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * @return canonical source-like form, e.g. {@code ::std::vec::Vec<(i32, ())>}.
+     */
+    @NotNull
+    @Override
+    public abstract String toString();
+}
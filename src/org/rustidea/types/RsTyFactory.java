@@ -0,0 +1,265 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.types;
+
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.psi.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds interned {@link RsTy} instances from PSI or from type text stored in stubs.
+ */
+public final class RsTyFactory {
+    private RsTyFactory() {
+    }
+
+    @NotNull
+    public static RsTy fromPsi(@Nullable final IRsType type) {
+        if (type instanceof RsUnitType) {
+            return RsTupleTy.UNIT;
+        }
+        if (type instanceof RsTupleType) {
+            final RsTy[] elements = fromPsi(((RsTupleType) type).getTypes());
+            return elements == null ? RsUnknownTy.INSTANCE : RsTupleTy.create(elements);
+        }
+        if (type instanceof RsPathType) {
+            final RsPathTy path = fromPsi(((RsPathType) type).getReferenceElement());
+            return path == null ? RsUnknownTy.INSTANCE : path;
+        }
+        return RsUnknownTy.INSTANCE;
+    }
+
+    /**
+     * @return null if reference contains errors or is not a plain type path (e.g. glob or list reference)
+     */
+    @Nullable
+    public static RsPathTy fromPsi(@NotNull final IRsReferenceElement reference) {
+        if (reference instanceof RsRelationReferenceElement) {
+            final RsRelationReferenceElement relation = (RsRelationReferenceElement) reference;
+            switch (relation.getRelationType()) {
+                case GLOBAL:
+                    return RsPathTy.GLOBAL;
+                case SELF:
+                    return RsPathTy.create(null, "self");
+                case SUPER:
+                    return RsPathTy.create(null, "super");
+            }
+            return null;
+        }
+
+        if (!(reference instanceof RsReferenceElement) && !(reference instanceof RsTypedReferenceElement)) {
+            return null;
+        }
+
+        final String name = reference.getReferenceName();
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+
+        // qualifier is the only reference child, RsReferenceElement#getQualifier does not see relation qualifiers
+        final IRsReferenceElement qualifierElement = PsiTreeUtil.getChildOfType(reference, IRsReferenceElement.class);
+        RsPathTy qualifier = null;
+        if (qualifierElement != null) {
+            qualifier = fromPsi(qualifierElement);
+            if (qualifier == null) {
+                return null;
+            }
+        }
+
+        RsTy[] typeArguments = RsTy.EMPTY_ARRAY;
+        if (reference instanceof RsTypedReferenceElement) {
+            final RsTypeList typeList = ((RsTypedReferenceElement) reference).getTypeList();
+            if (typeList != null) {
+                typeArguments = fromPsi(typeList.getTypes());
+                if (typeArguments == null) {
+                    return null;
+                }
+            }
+        }
+
+        return RsPathTy.create(qualifier, name, typeArguments);
+    }
+
+    @Nullable
+    private static RsTy[] fromPsi(@NotNull final IRsType[] types) {
+        if (types.length == 0) {
+            return RsTy.EMPTY_ARRAY;
+        }
+        final RsTy[] result = new RsTy[types.length];
+        for (int i = 0; i < types.length; i++) {
+            result[i] = fromPsi(types[i]);
+            if (result[i] == RsUnknownTy.INSTANCE) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get canonical text of given type for storing in stubs. Types supported by {@link RsTy} are printed by
+     * {@link RsTy#toString()}, other types keep their source text with whitespace runs collapsed.
+     *
+     * @return null if type is missing
+     */
+    @Nullable
+    public static String getNormalizedText(@Nullable final IRsType type) {
+        if (type == null) {
+            return null;
+        }
+        final RsTy ty = fromPsi(type);
+        if (ty != RsUnknownTy.INSTANCE) {
+            return ty.toString();
+        }
+        return type.getText().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Parses type text as printed by {@link RsTy#toString()} or written in source, e.g. {@code ::a::B<(C, D)>}.
+     *
+     * @return {@link RsUnknownTy#INSTANCE} if text is not a supported type
+     */
+    @NotNull
+    public static RsTy fromText(@NotNull final CharSequence text) {
+        final TextParser parser = new TextParser(text);
+        final RsTy type = parser.type();
+        return type != null && parser.atEnd() ? type : RsUnknownTy.INSTANCE;
+    }
+
+    private static final class TextParser {
+        @NotNull
+        private final CharSequence text;
+        private int offset;
+
+        private TextParser(@NotNull final CharSequence text) {
+            this.text = text;
+        }
+
+        @Nullable
+        private RsTy type() {
+            skipWhitespace();
+            if (at('(')) {
+                return tuple();
+            }
+            return path();
+        }
+
+        @Nullable
+        private RsTy tuple() {
+            offset++;
+            final List<RsTy> elements = new ArrayList<RsTy>();
+            boolean trailingComma = false;
+            while (true) {
+                skipWhitespace();
+                if (at(')')) {
+                    offset++;
+                    break;
+                }
+                final RsTy element = type();
+                if (element == null) return null;
+                elements.add(element);
+                skipWhitespace();
+                trailingComma = at(',');
+                if (trailingComma) {
+                    offset++;
+                } else if (!at(')')) {
+                    return null;
+                }
+            }
+            // (T) is just parenthesized T
+            if (elements.size() == 1 && !trailingComma) {
+                return elements.get(0);
+            }
+            return RsTupleTy.create(elements.toArray(new RsTy[elements.size()]));
+        }
+
+        @Nullable
+        private RsPathTy path() {
+            RsPathTy path = null;
+            if (atDoubleColon()) {
+                offset += 2;
+                path = RsPathTy.GLOBAL;
+            }
+            while (true) {
+                skipWhitespace();
+                final String name = identifier();
+                if (name == null) return null;
+                skipWhitespace();
+                RsTy[] typeArguments = RsTy.EMPTY_ARRAY;
+                if (at('<')) {
+                    typeArguments = typeArguments();
+                    if (typeArguments == null) return null;
+                    skipWhitespace();
+                }
+                path = RsPathTy.create(path, name, typeArguments);
+                if (!atDoubleColon()) {
+                    return path;
+                }
+                offset += 2;
+            }
+        }
+
+        @Nullable
+        private RsTy[] typeArguments() {
+            offset++;
+            final List<RsTy> arguments = new ArrayList<RsTy>();
+            while (true) {
+                final RsTy argument = type();
+                if (argument == null) return null;
+                arguments.add(argument);
+                skipWhitespace();
+                if (at('>')) {
+                    offset++;
+                    return arguments.toArray(new RsTy[arguments.size()]);
+                }
+                if (!at(',')) return null;
+                offset++;
+            }
+        }
+
+        @Nullable
+        private String identifier() {
+            final int start = offset;
+            while (offset < text.length() && Character.isJavaIdentifierPart(text.charAt(offset))) {
+                offset++;
+            }
+            return start == offset ? null : text.subSequence(start, offset).toString();
+        }
+
+        private boolean at(final char c) {
+            return offset < text.length() && text.charAt(offset) == c;
+        }
+
+        private boolean atDoubleColon() {
+            return offset + 1 < text.length() && text.charAt(offset) == ':' && text.charAt(offset + 1) == ':';
+        }
+
+        private void skipWhitespace() {
+            while (offset < text.length() && Character.isWhitespace(text.charAt(offset))) {
+                offset++;
+            }
+        }
+
+        private boolean atEnd() {
+            skipWhitespace();
+            return offset == text.length();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.types;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.project.RsModuleTreeService;
+import org.rustidea.psi.IRsItemOwner;
+import org.rustidea.psi.RsStruct;
+import org.rustidea.psi.RsTypeAlias;
+import org.rustidea.psi.RsUseDecl;
+import org.rustidea.psi.RsUsePath;
+import org.rustidea.stubs.index.RsStructIndex;
+import org.rustidea.stubs.index.RsTypeAliasIndex;
+import org.rustidea.stubs.index.RsUseDeclIndex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Follows chains of type aliases, e.g. {@code type A = B; type B = Vec<C>;}, across files. Declared types are
+ * read from stubs and aliases are looked up in {@link RsTypeAliasIndex}, so no AST is loaded.
+ *
+ * <p>Only single-segment paths are followed, because qualified paths cannot be resolved without name resolution.
+ * An alias declared in the same module as the referring alias wins. If that module declares a struct or imports
+ * a name with {@code use} instead, the name does not refer to an alias and chasing stops. Otherwise the name must be
+ * unique among aliases in the same crate, as computed by {@link RsModuleTreeService}, or chasing stops. Paths with
+ * type arguments are not followed, because alias type parameters are not substituted.</p>
+ */
+public final class RsTypeAliasResolver {
+    private RsTypeAliasResolver() {
+    }
+
+    @NotNull
+    public static Result resolve(@NotNull final RsTypeAlias alias) {
+        final List<RsTypeAlias> chain = new ArrayList<RsTypeAlias>();
+        final Set<RsTypeAlias> visited = new HashSet<RsTypeAlias>();
+        final Project project = alias.getProject();
+        final GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+
+        RsTypeAlias current = alias;
+        while (true) {
+            chain.add(current);
+            visited.add(current);
+
+            final RsTy type = getDeclaredTy(current);
+            final RsTypeAlias next = findAlias(type, current, project, scope);
+            if (next == null) {
+                return new Result(type, chain, false);
+            }
+            if (visited.contains(next)) {
+                return new Result(RsUnknownTy.INSTANCE, chain, true);
+            }
+            current = next;
+        }
+    }
+
+    @NotNull
+    private static RsTy getDeclaredTy(@NotNull final RsTypeAlias alias) {
+        final String typeText = alias.getTypeText();
+        return typeText == null ? RsUnknownTy.INSTANCE : RsTyFactory.fromText(typeText);
+    }
+
+    @Nullable
+    private static RsTypeAlias findAlias(@NotNull final RsTy type,
+                                         @NotNull final RsTypeAlias context,
+                                         @NotNull final Project project,
+                                         @NotNull final GlobalSearchScope scope) {
+        if (!(type instanceof RsPathTy)) {
+            return null;
+        }
+        final RsPathTy path = (RsPathTy) type;
+        if (path.getQualifier() != null || path.isGlobal() || !path.getTypeArguments().isEmpty()) {
+            return null;
+        }
+
+        final String name = path.getName();
+        final Collection<RsTypeAlias> candidates = RsTypeAliasIndex.getInstance().getEnabled(name, project, scope);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        final IRsItemOwner owner = context.getOwner();
+        for (RsTypeAlias candidate : candidates) {
+            if (owner != null && owner.equals(candidate.getOwner())) {
+                return candidate;
+            }
+        }
+
+        final PsiFile contextFile = context.getContainingFile();
+        if (isShadowed(name, owner, contextFile, project)) {
+            return null;
+        }
+
+        final VirtualFile contextVirtualFile = contextFile.getVirtualFile();
+        if (contextVirtualFile == null) {
+            return null;
+        }
+        final RsModuleTreeService moduleTree = RsModuleTreeService.getInstance(project);
+        final VirtualFile crateRoot = moduleTree.getCrateRoot(contextVirtualFile);
+        RsTypeAlias result = null;
+        for (RsTypeAlias candidate : candidates) {
+            final VirtualFile candidateFile = candidate.getContainingFile().getVirtualFile();
+            if (candidateFile == null || !crateRoot.equals(moduleTree.getCrateRoot(candidateFile))) {
+                continue;
+            }
+            if (result != null) {
+                // ambiguous
+                return null;
+            }
+            result = candidate;
+        }
+        return result;
+    }
+
+    /**
+     * Check whether given module binds the name to something else than an alias, i.e. declares a struct with this
+     * name or imports it with {@code use}.
+     */
+    private static boolean isShadowed(@NotNull final String name,
+                                      @Nullable final IRsItemOwner owner,
+                                      @NotNull final PsiFile file,
+                                      @NotNull final Project project) {
+        if (owner == null) {
+            return false;
+        }
+        final GlobalSearchScope fileScope = GlobalSearchScope.fileScope(file);
+        for (RsStruct struct : RsStructIndex.getInstance().getEnabled(name, project, fileScope)) {
+            if (owner.equals(struct.getOwner())) {
+                return true;
+            }
+        }
+        for (RsUseDecl useDecl : RsUseDeclIndex.getInstance().getEnabled(name, project, fileScope)) {
+            if (owner.equals(useDecl.getOwner()) && isBound(useDecl.getUsePath(), name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unlike {@link RsUsePath#getImportedNames()}, renamed declarations bind only the alias.
+     */
+    private static boolean isBound(@NotNull final RsUsePath usePath, @NotNull final String name) {
+        final List<String> listNames = usePath.getListNames();
+        if (listNames != null) {
+            for (String listName : listNames) {
+                if (name.equals(RsUsePath.SELF.equals(listName) ? usePath.getLastSegment() : listName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final String alias = usePath.getAlias();
+        return name.equals(alias != null ? alias : usePath.getLastSegment());
+    }
+
+    public static final class Result {
+        @NotNull
+        private final RsTy type;
+        @NotNull
+        private final List<RsTypeAlias> chain;
+        private final boolean cyclic;
+
+        private Result(@NotNull final RsTy type, @NotNull final List<RsTypeAlias> chain, final boolean cyclic) {
+            this.type = type;
+            this.chain = Collections.unmodifiableList(chain);
+            this.cyclic = cyclic;
+        }
+
+        /**
+         * @return type at the end of the chain, {@link RsUnknownTy#INSTANCE} if aliases form a cycle
+         */
+        @NotNull
+        public RsTy getType() {
+            return type;
+        }
+
+        /**
+         * @return visited aliases, starting with the resolved one
+         */
+        @NotNull
+        public List<RsTypeAlias> getChain() {
+            return chain;
+        }
+
+        public boolean isCyclic() {
+            return cyclic;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.types;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Type which could not be built, e.g. because of syntax errors or not yet supported syntax.
+ * Unknown types are never equal to anything but themselves.
+ */
+public final class RsUnknownTy extends RsTy {
+    public static final RsUnknownTy INSTANCE = new RsUnknownTy();
+
+    private RsUnknownTy() {
+        super(0);
+    }
+
+    @Override
+    protected boolean isSameStructure(@NotNull final RsTy other) {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "?";
+    }
+}
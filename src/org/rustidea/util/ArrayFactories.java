@@ -17,30 +17,65 @@
 package org.rustidea.util;
 
 import com.intellij.util.ArrayFactory;
+import com.intellij.util.containers.ContainerUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Array;
+import java.util.concurrent.ConcurrentMap;
 
-// TODO:RJP-44 Caching may give better performance.
+/**
+ * Shared {@link ArrayFactory} instances and zero-length arrays, one per element class.
+ *
+ * <p>Factories returned by {@link #get(Class)} hand out the shared empty array for zero-length
+ * requests, so PSI accessors do not allocate when they find nothing.</p>
+ */
 public class ArrayFactories {
+    private static final ConcurrentMap<Class<?>, CachedArrayFactory<?>> FACTORIES = ContainerUtil.newConcurrentMap();
+
     private ArrayFactories() {
     }
 
     @NotNull
-    @SuppressWarnings("unchecked")
     public static <T> T[] empty(@NotNull final Class<T> cls) {
-        return (T[]) Array.newInstance(cls, 0);
+        return get0(cls).empty;
     }
 
     @NotNull
     public static <T> ArrayFactory<T> get(@NotNull final Class<T> cls) {
-        return new ArrayFactory<T>() {
-            @NotNull
-            @Override
-            @SuppressWarnings("unchecked")
-            public T[] create(int count) {
-                return (T[]) Array.newInstance(cls, count);
+        return get0(cls);
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private static <T> CachedArrayFactory<T> get0(@NotNull final Class<T> cls) {
+        CachedArrayFactory<T> factory = (CachedArrayFactory<T>) FACTORIES.get(cls);
+        if (factory == null) {
+            factory = new CachedArrayFactory<T>(cls);
+            final CachedArrayFactory<T> existing = (CachedArrayFactory<T>) FACTORIES.putIfAbsent(cls, factory);
+            if (existing != null) {
+                factory = existing;
             }
-        };
+        }
+        return factory;
+    }
+
+    private static final class CachedArrayFactory<T> implements ArrayFactory<T> {
+        @NotNull
+        private final Class<T> cls;
+        @NotNull
+        private final T[] empty;
+
+        @SuppressWarnings("unchecked")
+        private CachedArrayFactory(@NotNull final Class<T> cls) {
+            this.cls = cls;
+            this.empty = (T[]) Array.newInstance(cls, 0);
+        }
+
+        @NotNull
+        @Override
+        @SuppressWarnings("unchecked")
+        public T[] create(int count) {
+            return count == 0 ? empty : (T[]) Array.newInstance(cls, count);
+        }
     }
 }
@@ -0,0 +1,7 @@
+fn main() {
+    let mut a = 1;
+    println!(a);
+    if a { loop {} }
+    fn inner() {}
+    vec![a].len()
+}
\ No newline at end of file
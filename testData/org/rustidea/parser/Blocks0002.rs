@@ -0,0 +1,5 @@
+fn main() {
+    #[allow(unused)] let x = 1;
+    #[cfg(x)] foo();
+    #[cfg(y)]
+}
\ No newline at end of file
@@ -0,0 +1,3 @@
+const A: S = S { a: [1, 2] };
+static B: u8 = 1
+fn f() {}
\ No newline at end of file
@@ -0,0 +1,2 @@
+fn foo() {}
+fn bar<T>(&self, x: T, mut y: i32) -> (T, i32);
\ No newline at end of file
@@ -0,0 +1,3 @@
+foo! { a (b [c] {d}) }
+macro_rules! bar { () => {} }
+vec![1, 2];
\ No newline at end of file
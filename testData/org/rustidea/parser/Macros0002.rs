@@ -0,0 +1,3 @@
+foo! { a )
+bar! (b]
+baz! { c
\ No newline at end of file
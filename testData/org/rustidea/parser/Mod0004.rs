@@ -0,0 +1,7 @@
+#[cfg(test)]
+mod tests {
+    struct A;
+}
+mod b {
+    struct C;
+}
\ No newline at end of file
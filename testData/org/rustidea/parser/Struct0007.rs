@@ -0,0 +1 @@
+struct P {pub x: a::B, y: ()}
\ No newline at end of file
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.navigation;
+
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.vfs.VirtualFileFilter;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.ArrayUtil;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.*;
+
+public class RsGotoContributorTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int FILE_COUNT = 5000;
+
+    public void testGotoSymbol() throws Exception {
+        myFixture.addFileToProject("lib.rs", "" +
+            "extern crate foo as bar;\n" +
+            "const C: i32 = 1;\n" +
+            "static S: i32 = 1;\n" +
+            "type T = i32;\n" +
+            "fn f() {}\n" +
+            "mod m {\n" +
+            "    struct P { x: i32 }\n" +
+            "}\n");
+        forbidFileLoading();
+
+        final RsGotoSymbolContributor contributor = new RsGotoSymbolContributor();
+        final String[] names = contributor.getNames(getProject(), false);
+        for (String name : new String[]{"bar", "C", "S", "T", "f", "m", "P", "x"}) {
+            assertTrue(name, ArrayUtil.contains(name, names));
+        }
+        assertFalse(ArrayUtil.contains("foo", names));
+
+        assertInstanceOf(single(contributor, "bar"), RsExternCrateDecl.class);
+        assertInstanceOf(single(contributor, "C"), RsConstItem.class);
+        assertInstanceOf(single(contributor, "S"), RsStaticItem.class);
+        assertInstanceOf(single(contributor, "T"), RsTypeAlias.class);
+        assertInstanceOf(single(contributor, "f"), RsFunction.class);
+        assertInstanceOf(single(contributor, "m"), RsModule.class);
+        assertInstanceOf(single(contributor, "P"), RsStruct.class);
+        assertInstanceOf(single(contributor, "x"), RsStructField.class);
+    }
+
+    public void testGotoClass() throws Exception {
+        myFixture.addFileToProject("lib.rs", "struct A; type B = A; fn c() {}");
+        forbidFileLoading();
+
+        final RsGotoClassContributor contributor = new RsGotoClassContributor();
+        final String[] names = contributor.getNames(getProject(), false);
+        assertTrue(ArrayUtil.contains("A", names));
+        assertTrue(ArrayUtil.contains("B", names));
+        assertFalse(ArrayUtil.contains("c", names));
+    }
+
+    public void testLargeProjectLookupDoesNotLoadAst() throws Exception {
+        for (int i = 0; i < FILE_COUNT; i++) {
+            myFixture.addFileToProject("f" + i + ".rs", "" +
+                "struct Struct" + i + " { field" + i + ": i32 }\n" +
+                "fn common() {}\n" +
+                "mod inner { const VALUE: i32 = " + i + "; }\n");
+        }
+        forbidFileLoading();
+
+        final RsGotoSymbolContributor symbols = new RsGotoSymbolContributor();
+        final RsGotoClassContributor classes = new RsGotoClassContributor();
+        PlatformTestUtil.startPerformanceTest("goto lookup in " + FILE_COUNT + " files", 5000, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                assertTrue(symbols.getNames(getProject(), false).length >= 2 * FILE_COUNT);
+                assertEquals(FILE_COUNT, symbols.getItemsByName("common", "common", getProject(), false).length);
+                assertEquals(FILE_COUNT, symbols.getItemsByName("VALUE", "VALUE", getProject(), false).length);
+                assertEquals(1, classes.getItemsByName("Struct4999", "Struct", getProject(), false).length);
+                assertEquals(1, symbols.getItemsByName("field123", "field", getProject(), false).length);
+            }
+        }).cpuBound().assertTiming();
+    }
+
+    private void forbidFileLoading() {
+        PsiManagerEx.getInstanceEx(getProject()).setAssertOnFileLoadingFilter(VirtualFileFilter.ALL, getTestRootDisposable());
+    }
+
+    @NotNull
+    private NavigationItem single(@NotNull final IRsGotoContributor contributor, @NotNull final String name) {
+        final NavigationItem[] items = contributor.getItemsByName(name, name, getProject(), false);
+        assertEquals(name, 1, items.length);
+        return items[0];
+    }
+}
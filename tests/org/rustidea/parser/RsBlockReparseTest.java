@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.parser;
+
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.DebugUtil;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.rustidea.RustFileType;
+import org.rustidea.psi.RsBlock;
+import org.rustidea.psi.RsFunction;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.util.RsPsiTreeUtil;
+
+public class RsBlockReparseTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int GROUPS = 400; // 5 lines each
+
+    public void testTypingReparsesInnermostBlock() throws Exception {
+        configureLargeFunction();
+        final RsFunction function = RsPsiTreeUtil.getRequiredChildOfType(myFixture.getFile(), RsFunction.class);
+        final RsBlock body = function.getBody();
+        assertNotNull(body);
+        final PsiElement innerBlock = getInnerBlockAtCaret();
+
+        typeAndCommit("x");
+
+        assertTrue(function.isValid());
+        assertSame(body, function.getBody());
+        assertNotSame(innerBlock, getInnerBlockAtCaret());
+        assertSameTreeAsFreshParse();
+    }
+
+    public void testTypingPerformance() throws Exception {
+        configureLargeFunction();
+        PlatformTestUtil.startPerformanceTest("typing in 2000-line function", 500, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                for (int i = 0; i < 50; i++) {
+                    typeAndCommit("x");
+                }
+            }
+        }).cpuBound().assertTiming();
+        assertSameTreeAsFreshParse();
+    }
+
+    private void configureLargeFunction() {
+        final StringBuilder sb = new StringBuilder("fn big() {\n");
+        for (int i = 0; i < GROUPS; i++) {
+            sb.append("    {\n");
+            sb.append("        let a").append(i).append(" = ").append(i).append(";\n");
+            sb.append("        foo!(a").append(i).append(");\n");
+            sb.append("        bar(a").append(i).append(");\n");
+            sb.append("    }\n");
+        }
+        sb.append("}\n");
+
+        final String caretAnchor = "let a" + (GROUPS / 2);
+        final int caret = sb.indexOf(caretAnchor) + caretAnchor.length();
+        sb.insert(caret, "<caret>");
+
+        myFixture.configureByText(RustFileType.INSTANCE, sb.toString());
+        // force parsing of all blocks, so the benchmark measures reparse and not the initial lazy parse
+        DebugUtil.psiToString(myFixture.getFile(), false);
+    }
+
+    private PsiElement getInnerBlockAtCaret() {
+        final PsiElement element = myFixture.getFile().findElementAt(myFixture.getCaretOffset());
+        return RsPsiTreeUtil.getParentOfType(element, RsBlock.class);
+    }
+
+    private void typeAndCommit(String text) {
+        myFixture.type(text);
+        PsiDocumentManager.getInstance(getProject()).commitDocument(myFixture.getEditor().getDocument());
+    }
+
+    private void assertSameTreeAsFreshParse() {
+        final PsiFile file = myFixture.getFile();
+        final RsFile fresh = RsParserFacade.getFactory(getProject()).createFileFromText(file.getText());
+        assertEquals(DebugUtil.psiToString(fresh, false), DebugUtil.psiToString(file, false));
+    }
+}
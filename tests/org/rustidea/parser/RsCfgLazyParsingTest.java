@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.impl.source.tree.LazyParseableElement;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.types.RsFileElementType;
+import org.rustidea.psi.types.RsPsiTypes;
+
+public class RsCfgLazyParsingTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final Logger LOG = Logger.getInstance(RsCfgLazyParsingTest.class);
+    private static final int ITEMS = 2000;
+    private static final int ITERATIONS = 10;
+
+    public void testCfgGatedModuleIsNotParsedUntilAccessed() throws Exception {
+        final RsFile file = parse(createCrate("#[cfg(test)]"));
+
+        final ASTNode body = getModuleBody(file);
+        assertNotNull(body);
+        assertFalse(((LazyParseableElement) body).isParsed());
+    }
+
+    public void testCfgGatedModuleItemsAreStubbed() throws Exception {
+        final RsFile file = parse(createCrate("#[cfg(test)]"));
+        final StubElement fileStub = buildStubs(file);
+
+        final StubElement module = fileStub.findChildStubByType(RsPsiTypes.MODULE);
+        assertNotNull(module);
+        assertEquals(ITEMS, module.getChildrenStubs().size());
+        assertTrue(((LazyParseableElement) getModuleBody(file)).isParsed());
+    }
+
+    /**
+     * Cfg-gated bodies are skipped only by editor parsing. Stub building descends into them, so indexing a
+     * test-heavy crate costs the same as if the module was not cfg-gated.
+     */
+    public void testSavedParseTime() throws Exception {
+        final String eager = createCrate("#[allow(dead_code)]");
+        final String lazy = createCrate("#[cfg(test)]");
+
+        final long eagerParseTime = measure(eager, false);
+        final long lazyParseTime = measure(lazy, false);
+        final long eagerIndexTime = measure(eager, true);
+        final long lazyIndexTime = measure(lazy, true);
+        LOG.info(String.format("Parsing test-heavy crate: eager %d ms, cfg-lazy %d ms, saved %d ms",
+            eagerParseTime, lazyParseTime, eagerParseTime - lazyParseTime));
+        LOG.info(String.format("Building stubs of test-heavy crate: eager %d ms, cfg-lazy %d ms, saved %d ms",
+            eagerIndexTime, lazyIndexTime, eagerIndexTime - lazyIndexTime));
+
+        PlatformTestUtil.startPerformanceTest("parse and stub test-heavy crate", 1000, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                buildStubs(parse(lazy));
+            }
+        }).cpuBound().assertTiming();
+    }
+
+    /**
+     * Half of the crate is tests module, prefixed with given attribute.
+     */
+    private static String createCrate(String testsAttribute) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ITEMS; i++) {
+            sb.append("pub struct S").append(i).append("<T> { a: T, b: Vec<u8>, c: (i32, T) }\n");
+        }
+        sb.append(testsAttribute).append("\nmod tests {\n");
+        for (int i = 0; i < ITEMS; i++) {
+            sb.append("    struct T").append(i).append("<T> { a: T, b: Vec<u8>, c: (i32, T) }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private long measure(String text, boolean withStubs) {
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            final RsFile file = parse(text);
+            if (withStubs) {
+                buildStubs(file);
+            }
+        }
+        return (System.currentTimeMillis() - start) / ITERATIONS;
+    }
+
+    private RsFile parse(String text) {
+        final RsFile file = RsParserFacade.getFactory(getProject()).createFileFromText(text);
+        file.getNode().getFirstChildNode(); // force parsing
+        return file;
+    }
+
+    private static ASTNode getModuleBody(RsFile file) {
+        return file.getNode().findChildByType(RsPsiTypes.MODULE).findChildByType(RsPsiTypes.MODULE_BODY);
+    }
+
+    private static StubElement buildStubs(RsFile file) {
+        return RsFileElementType.INSTANCE.getBuilder().buildStubTree(file);
+    }
+}
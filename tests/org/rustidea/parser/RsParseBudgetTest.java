@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.parser;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsModule;
+import org.rustidea.psi.RsStruct;
+import org.rustidea.psi.RsTokenTree;
+import org.rustidea.psi.util.RsPsiTreeUtil;
+import org.rustidea.stubs.index.RsStructIndex;
+
+public class RsParseBudgetTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final String TEXT = "mod a { struct B; }\nmod c { struct D; }\n";
+
+    @Override
+    protected void tearDown() throws Exception {
+        System.clearProperty(RsParseBudget.SIZE_LIMIT_PROPERTY);
+        System.clearProperty(RsParseBudget.TIME_LIMIT_PROPERTY);
+        super.tearDown();
+    }
+
+    public void testAtSizeLimit() throws Exception {
+        System.setProperty(RsParseBudget.SIZE_LIMIT_PROPERTY, String.valueOf(TEXT.length()));
+        final RsFile file = parse();
+        assertFalse(RsParseBudget.isDegraded(file));
+        assertFullyParsed(getModules(file)[0]);
+        assertFullyParsed(getModules(file)[1]);
+    }
+
+    public void testAboveSizeLimit() throws Exception {
+        System.setProperty(RsParseBudget.SIZE_LIMIT_PROPERTY, String.valueOf(TEXT.length() - 1));
+        final RsFile file = parse();
+        assertTrue(RsParseBudget.isDegraded(file));
+        assertDegraded(getModules(file)[0]);
+        assertDegraded(getModules(file)[1]);
+    }
+
+    public void testTimeLimitKeepsTreeShape() throws Exception {
+        System.setProperty(RsParseBudget.TIME_LIMIT_PROPERTY, "0");
+        final RsFile file = parse();
+        assertFalse(RsParseBudget.isDegraded(file));
+        assertTrue(RsParseBudget.isSlow(file));
+        assertTrue(RsParseBudget.isAnalysisSkipped(file));
+        assertFullyParsed(getModules(file)[0]);
+        assertFullyParsed(getModules(file)[1]);
+    }
+
+    public void testForceFullParse() throws Exception {
+        System.setProperty(RsParseBudget.SIZE_LIMIT_PROPERTY, "0");
+        myFixture.configureByText("large.rs", TEXT);
+        assertTrue(RsParseBudget.isDegraded(myFixture.getFile()));
+
+        RsParseBudget.forceFullParse(getProject(), myFixture.getFile().getVirtualFile());
+
+        final PsiFile file = PsiManager.getInstance(getProject()).findFile(myFixture.getFile().getVirtualFile());
+        assertFalse(RsParseBudget.isDegraded(file));
+        assertFullyParsed(getModules(file)[1]);
+    }
+
+    public void testForceFullParseReachesStubIndex() throws Exception {
+        System.setProperty(RsParseBudget.SIZE_LIMIT_PROPERTY, "0");
+        myFixture.configureByText("large.rs", TEXT);
+        assertEmpty(RsStructIndex.getInstance().get("D", getProject(), GlobalSearchScope.allScope(getProject())));
+
+        RsParseBudget.forceFullParse(getProject(), myFixture.getFile().getVirtualFile());
+
+        assertSize(1, RsStructIndex.getInstance().get("D", getProject(), GlobalSearchScope.allScope(getProject())));
+    }
+
+    public void testRestoreLimits() throws Exception {
+        System.setProperty(RsParseBudget.SIZE_LIMIT_PROPERTY, "0");
+        myFixture.configureByText("large.rs", TEXT);
+        final VirtualFile virtualFile = myFixture.getFile().getVirtualFile();
+        RsParseBudget.forceFullParse(getProject(), virtualFile);
+        assertTrue(RsParseBudget.isFullParseForced(virtualFile));
+
+        RsParseBudget.restoreLimits(getProject(), virtualFile);
+
+        assertFalse(RsParseBudget.isFullParseForced(virtualFile));
+        final PsiFile file = PsiManager.getInstance(getProject()).findFile(virtualFile);
+        assertTrue(RsParseBudget.isDegraded(file));
+        assertEmpty(RsStructIndex.getInstance().get("D", getProject(), GlobalSearchScope.allScope(getProject())));
+    }
+
+    private RsFile parse() {
+        final RsFile file = RsParserFacade.getFactory(getProject()).createFileFromText(TEXT);
+        file.getNode().getFirstChildNode(); // force parsing
+        return file;
+    }
+
+    private static RsModule[] getModules(PsiFile file) {
+        final RsModule[] modules = RsPsiTreeUtil.getChildrenOfType(file, RsModule.class);
+        assertNotNull(modules);
+        assertEquals(2, modules.length);
+        return modules;
+    }
+
+    private static void assertFullyParsed(RsModule module) {
+        assertNotNull(RsPsiTreeUtil.getChildOfType(module, RsStruct.class));
+        assertNull(RsPsiTreeUtil.getChildOfType(module, RsTokenTree.class));
+    }
+
+    private static void assertDegraded(RsModule module) {
+        assertNull(RsPsiTreeUtil.getChildOfType(module, RsStruct.class));
+        assertNotNull(RsPsiTreeUtil.getChildOfType(module, RsTokenTree.class));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.parser;
+
+import com.intellij.psi.impl.DebugUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.rustidea.parser.RsParserMemo.Rule;
+import org.rustidea.parser.RsParserMemo.Statistics;
+
+public class RsParserMemoTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int GROUPS = 100; // 3 statements each
+
+    public void testStatementAttributesAreNotParsedThrice() throws Exception {
+        final Statistics stats = parse(adversarialText());
+
+        // Attributes of every statement are first tried by item parser, whose result can't be replayed, so each
+        // attributed statement parses them once more. Without memo, attributed expression statements would parse
+        // them a third time in let declaration, and statements without attributes would fail twice.
+        assertEquals(2 * GROUPS, stats.getRepetitionCount(Rule.ATTRIBUTE_LIST));
+        assertEquals(2 * GROUPS, stats.getHitCount(Rule.ATTRIBUTE_LIST));
+    }
+
+    public void testOtherSpeculativeRulesAreNotRepeated() throws Exception {
+        final Statistics stats = parse(adversarialText());
+
+        for (Rule rule : new Rule[]{Rule.MACRO_INVOCATION_STATEMENT, Rule.PATH, Rule.TYPE, Rule.TYPE_LIST}) {
+            assertTrue(rule.toString(), stats.getExecutionCount(rule) > 0);
+            assertEquals(rule.toString(), 0, stats.getRepetitionCount(rule));
+        }
+    }
+
+    private Statistics parse(String text) {
+        final Statistics stats = RsParserMemo.startCollecting();
+        try {
+            // walk whole tree, so that lazy function body is parsed too
+            DebugUtil.psiToString(RsParserFacade.getFactory(getProject()).createFileFromText(text), false);
+        } finally {
+            RsParserMemo.stopCollecting();
+        }
+        return stats;
+    }
+
+    private static String adversarialText() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("use a::b::{c, d, self};\n");
+        sb.append("type T<U> = a::b::C<d::E<F<G, (H, I<J>)> >, K>;\n");
+        sb.append("fn f(x: Vec<Vec<(u8, Option<u16>)> >, y: a::B<c::D>) -> Option<(A, B)> {\n");
+        for (int i = 0; i < GROUPS; i++) {
+            sb.append("    #[a(b(c(d(e))), f = \"g\")] #[h] x.y();\n");
+            sb.append("    #[allow(unused)] let v = 1;\n");
+            sb.append("    vec![[[1]]].len();\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+}
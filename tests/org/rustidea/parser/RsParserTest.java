@@ -39,6 +39,14 @@ public class RsParserTest extends ParsingTestCase {
         doTest(true);
     }
 
+    public void testBlocks0001() {
+        doTest(true);
+    }
+
+    public void testBlocks0002() {
+        doTest(true);
+    }
+
     public void testConstAndStatic0001() {
         doTest(true);
     }
@@ -47,6 +55,10 @@ public class RsParserTest extends ParsingTestCase {
         doTest(true);
     }
 
+    public void testConstAndStatic0003() {
+        doTest(true);
+    }
+
     public void testExternCrate0001() {
         doTest(true);
     }
@@ -55,6 +67,18 @@ public class RsParserTest extends ParsingTestCase {
         doTest(true);
     }
 
+    public void testFunctions0001() {
+        doTest(true);
+    }
+
+    public void testMacros0001() {
+        doTest(true);
+    }
+
+    public void testMacros0002() {
+        doTest(true);
+    }
+
     public void testMod0001() {
         doTest(true);
     }
@@ -67,6 +91,10 @@ public class RsParserTest extends ParsingTestCase {
         doTest(true);
     }
 
+    public void testMod0004() {
+        doTest(true);
+    }
+
     public void testUse0001() {
         doTest(true);
     }
@@ -111,6 +139,10 @@ public class RsParserTest extends ParsingTestCase {
         doTest(true);
     }
 
+    public void testStruct0007() {
+        doTest(true);
+    }
+
     public void testTypeParams0001() {
         doTest(true);
     }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.project;
+
+import com.intellij.navigation.NavigationItem;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.navigation.RsGotoSymbolContributor;
+import org.rustidea.psi.IRsItem;
+import org.rustidea.psi.IRsNamedItem;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsModule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RsCfgServiceTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final String TEXT = "" +
+        "#[cfg(unix)] fn a() {}\n" +
+        "#[cfg(windows)] fn b() {}\n" +
+        "#[cfg(not(test))] fn c() {}\n" +
+        "#[cfg(all(unix, feature = \"x\"))] mod m { fn d() {} }\n" +
+        "#[cfg(any(windows, feature = \"y\"))] mod n { fn e() {} }\n" +
+        "#[cfg(unix)] #[cfg(test)] fn f() {}\n" +
+        "fn g() {}\n";
+
+    private RsCfgSet myOldCfgSet;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        final RsCfgService service = RsCfgService.getInstance(getProject());
+        myOldCfgSet = service.getActiveCfgSet();
+        service.setActiveCfgSet(RsCfgSet.of("unix", "feature = \"y\""));
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            RsCfgService.getInstance(getProject()).setActiveCfgSet(myOldCfgSet);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testStubLevelFiltering() throws Exception {
+        final RsFile file = (RsFile) myFixture.addFileToProject("lib.rs", TEXT);
+        final RsCfgService service = RsCfgService.getInstance(getProject());
+
+        assertEquals(Arrays.asList("a", "c", "n", "g"), names(service.getEnabledItems(file)));
+
+        final RsModule n = (RsModule) file.getItems()[4];
+        assertTrue(service.isEnabled(n.getItems()[0]));
+        final RsModule m = (RsModule) file.getItems()[3];
+        assertFalse(service.isEnabled(m.getItems()[0]));
+
+        assertNull("cfg filtering should not load AST", ((PsiFileImpl) file).getTreeElement());
+    }
+
+    public void testGotoSymbolSkipsDisabledItems() throws Exception {
+        myFixture.addFileToProject("lib.rs", TEXT);
+        final RsGotoSymbolContributor contributor = new RsGotoSymbolContributor();
+        assertSize(1, contributor.getItemsByName("a", "a", getProject(), false));
+        assertEmpty(contributor.getItemsByName("b", "b", getProject(), false));
+        assertEmpty(contributor.getItemsByName("d", "d", getProject(), false));
+        final NavigationItem[] e = contributor.getItemsByName("e", "e", getProject(), false);
+        assertSize(1, e);
+
+        RsCfgService.getInstance(getProject()).setActiveCfgSet(RsCfgSet.of("windows"));
+        assertEmpty(contributor.getItemsByName("a", "a", getProject(), false));
+        assertSize(1, contributor.getItemsByName("b", "b", getProject(), false));
+    }
+
+    public void testEvaluator() throws Exception {
+        final RsCfgEvaluator evaluator = new RsCfgEvaluator(RsCfgSet.of("unix", "target_os=\"linux\""));
+        final RsFile file = (RsFile) myFixture.addFileToProject("lib.rs", "" +
+            "#[cfg(target_os = \"linux\")] fn a() {}\n" +
+            "#[cfg(target_os = \"macos\")] fn b() {}\n" +
+            "#[cfg(not(any(windows, target_os = \"macos\")))] fn c() {}\n" +
+            "#[cfg(all())] fn d() {}\n" +
+            "#[cfg(any())] fn e() {}\n");
+        final IRsItem[] items = file.getItems();
+        assertTrue(evaluator.isEnabled(items[0].getAttributeModel()));
+        assertFalse(evaluator.isEnabled(items[1].getAttributeModel()));
+        assertTrue(evaluator.isEnabled(items[2].getAttributeModel()));
+        assertTrue(evaluator.isEnabled(items[3].getAttributeModel()));
+        assertFalse(evaluator.isEnabled(items[4].getAttributeModel()));
+    }
+
+    public void testUnknownPredicatesAreEnabled() throws Exception {
+        final RsFile file = (RsFile) myFixture.addFileToProject("lib.rs", "" +
+            "#[cfg(feature = \"x\")] fn a() {}\n" +
+            "#[cfg(not(feature = \"x\"))] fn b() {}\n" +
+            "#[cfg(test)] mod tests { fn c() {} }\n" +
+            "#[cfg(not(test))] fn d() {}\n" +
+            "#[cfg(all(windows, feature = \"x\"))] fn e() {}\n" +
+            "#[cfg(not(all(unix, feature = \"x\")))] fn f() {}\n" +
+            "#[cfg(any(unix, test))] fn g() {}\n");
+        final IRsItem[] items = file.getItems();
+
+        final RsCfgEvaluator defaults = new RsCfgEvaluator(RsCfgSet.of("unix").withUndetermined("test"));
+        assertEquals(Arrays.asList(true, true, true, true, false, true, true), enabled(defaults, items));
+
+        final RsCfgEvaluator features = new RsCfgEvaluator(RsCfgSet.of("unix", "feature = \"y\""));
+        assertEquals(Arrays.asList(false, true, false, true, false, true, true), enabled(features, items));
+
+        assertTrue(RsCfgService.getDefaultCfgSet().isUndetermined("test"));
+        assertFalse(RsCfgService.getDefaultCfgSet().isSet("test"));
+    }
+
+    public void testStateRoundTrip() throws Exception {
+        final RsCfgService service = RsCfgService.getInstance(getProject());
+        final RsCfgSet cfgSet = RsCfgSet.of("unix", "target_os = \"linux\"", "feature = \"a\"", "feature = \"b\"")
+            .withUndetermined("test");
+        service.setActiveCfgSet(cfgSet);
+
+        final RsCfgService.State state = service.getState();
+        assertEquals(Arrays.asList("feature=\"a\"", "feature=\"b\"", "target_os=\"linux\"", "unix"), state.options);
+        assertEquals(Arrays.asList("test"), state.undetermined);
+        final RsCfgService loaded = new RsCfgService();
+        loaded.loadState(state);
+        assertEquals(cfgSet, loaded.getActiveCfgSet());
+
+        service.setActiveCfgSet(RsCfgService.getDefaultCfgSet());
+        assertNull(service.getState().options);
+    }
+
+    @NotNull
+    private static List<Boolean> enabled(@NotNull final RsCfgEvaluator evaluator, @NotNull final IRsItem[] items) {
+        final List<Boolean> result = new ArrayList<Boolean>();
+        for (IRsItem item : items) {
+            result.add(evaluator.isEnabled(item.getAttributeModel()));
+        }
+        return result;
+    }
+
+    @NotNull
+    private static List<String> names(@NotNull final List<IRsItem> items) {
+        final List<String> names = new ArrayList<String>();
+        for (IRsItem item : items) {
+            names.add(((IRsNamedItem) item).getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.project;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.rustidea.psi.IRsModule;
+import org.rustidea.psi.RsModule;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RsCrateUsageServiceTest extends LightPlatformCodeInsightFixtureTestCase {
+    public void testUsageMap() throws Exception {
+        final VirtualFile a = myFixture.addFileToProject("a.rs", "extern crate libc;\nextern crate serde as s;\n").getVirtualFile();
+        final VirtualFile b = myFixture.addFileToProject("b.rs", "mod inner { extern crate libc; }\n").getVirtualFile();
+
+        final RsCrateUsageService service = RsCrateUsageService.getInstance(getProject());
+        assertEquals(new HashSet<String>(Arrays.asList("libc", "serde")), service.getCrateNames());
+        assertEquals(new HashSet<VirtualFile>(Arrays.asList(a, b)), service.getFilesUsing("libc"));
+        assertEquals(Collections.singleton(a), service.getFilesUsing("serde"));
+        assertEmpty(service.getFilesUsing("s"));
+        assertEquals(new HashSet<String>(Arrays.asList("libc", "serde")), service.getCratesUsedBy(a));
+        assertTrue(service.getDependentFilesScope("serde").contains(a));
+        assertFalse(service.getDependentFilesScope("serde").contains(b));
+
+        final Set<IRsModule> modules = service.getModulesUsing("libc");
+        assertEquals(2, modules.size());
+        boolean hasInline = false;
+        for (IRsModule module : modules) {
+            hasInline |= module instanceof RsModule && "inner".equals(module.getName());
+        }
+        assertTrue(hasInline);
+    }
+
+    public void testIncrementalUpdate() throws Exception {
+        final PsiFile a = myFixture.addFileToProject("a.rs", "extern crate libc;\n");
+        final RsCrateUsageService service = RsCrateUsageService.getInstance(getProject());
+        assertEquals(Collections.singleton("libc"), service.getCrateNames());
+
+        final VirtualFile b = myFixture.addFileToProject("b.rs", "extern crate rand;\n").getVirtualFile();
+        assertEquals(Collections.singleton(b), service.getFilesUsing("rand"));
+
+        setText(a, "extern crate regex;\n");
+        assertEmpty(service.getFilesUsing("libc"));
+        assertEquals(Collections.singleton(a.getVirtualFile()), service.getFilesUsing("regex"));
+        assertEquals(new HashSet<String>(Arrays.asList("rand", "regex")), service.getCrateNames());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), new Runnable() {
+            @Override
+            public void run() {
+                a.delete();
+            }
+        });
+        assertEquals(Collections.singleton("rand"), service.getCrateNames());
+    }
+
+    public void testVfsChanges() throws Exception {
+        final PsiFile a = myFixture.addFileToProject("a.rs", "extern crate libc;\n");
+        final VirtualFile c = myFixture.addFileToProject("c.txt", "extern crate rand;\n").getVirtualFile();
+        final VirtualFile d = myFixture.addFileToProject("dir/d.rs", "extern crate regex;\n").getVirtualFile();
+        final RsCrateUsageService service = RsCrateUsageService.getInstance(getProject());
+        assertEquals(new HashSet<String>(Arrays.asList("libc", "regex")), service.getCrateNames());
+
+        new WriteCommandAction.Simple(getProject()) {
+            @Override
+            protected void run() throws Throwable {
+                c.rename(this, "c.rs");
+                d.getParent().delete(this);
+            }
+        }.execute().throwException();
+        assertEquals(new HashSet<String>(Arrays.asList("libc", "rand")), service.getCrateNames());
+        assertEquals(Collections.singleton(c), service.getFilesUsing("rand"));
+        assertEquals(Collections.singleton(a.getVirtualFile()), service.getFilesUsing("libc"));
+
+        final PsiFile cFile = PsiManager.getInstance(getProject()).findFile(c);
+        assertNull("re-reading a file should not parse it", ((PsiFileImpl) cFile).getTreeElement());
+    }
+
+    public void testOnlyDirtyFilesAreRead() throws Exception {
+        final PsiFile a = myFixture.addFileToProject("a.rs", "extern crate libc;\n");
+        for (int i = 0; i < 10; i++) {
+            myFixture.addFileToProject("f" + i + ".rs", "extern crate c" + i + ";\n");
+        }
+        final RsCrateUsageService service = RsCrateUsageService.getInstance(getProject());
+        assertEquals(11, service.getCrateNames().size());
+        final int readCount = service.getReadFileCount();
+
+        setText(a, "extern crate regex;\n");
+        assertEquals(Collections.singleton(a.getVirtualFile()), service.getFilesUsing("regex"));
+        assertEquals(1, service.getReadFileCount() - readCount);
+    }
+
+    private void setText(final PsiFile file, final String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), new Runnable() {
+            @Override
+            public void run() {
+                final PsiDocumentManager manager = PsiDocumentManager.getInstance(getProject());
+                final Document document = manager.getDocument(file);
+                assertNotNull(document);
+                document.setText(text);
+                manager.commitDocument(document);
+            }
+        });
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.project;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+public class RsModuleTreeServiceTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int MODULE_COUNT = 100;
+    private static final int LEAF_COUNT = 99;
+
+    public void testResolution() throws Exception {
+        final VirtualFile lib = add("lib.rs", "mod a; mod b; #[path = \"x/y.rs\"] mod c; mod inl { mod d; } mod missing;");
+        final VirtualFile a = add("a.rs", "mod e;");
+        final VirtualFile b = add("b/mod.rs", "");
+        final VirtualFile c = add("x/y.rs", "");
+        final VirtualFile d = add("inl/d.rs", "");
+        final VirtualFile e = add("a/e.rs", "");
+        final VirtualFile orphan = add("orphan.rs", "");
+
+        final RsModuleTreeService service = RsModuleTreeService.getInstance(getProject());
+        assertEquals(Arrays.asList(a, b, c, d), service.getChildModuleFiles(lib));
+        assertSame(lib, service.getParentModuleFile(d));
+        assertSame(a, service.getParentModuleFile(e));
+        assertNull(service.getParentModuleFile(lib));
+        assertNull(service.getParentModuleFile(orphan));
+        assertSame(lib, service.getCrateRoot(e));
+        assertSame(lib, service.getCrateRoot(lib));
+        assertSame(orphan, service.getCrateRoot(orphan));
+    }
+
+    public void testIncrementalUpdate() throws Exception {
+        final PsiFile lib = myFixture.addFileToProject("lib.rs", "mod a;");
+        final VirtualFile a = add("a.rs", "mod b;");
+        final RsModuleTreeService service = RsModuleTreeService.getInstance(getProject());
+        assertSame(lib.getVirtualFile(), service.getCrateRoot(a));
+
+        // declared file appears later
+        final VirtualFile b = add("a/b.rs", "");
+        assertSame(lib.getVirtualFile(), service.getCrateRoot(b));
+
+        // declaration removed
+        setText(lib, "mod z;");
+        assertNull(service.getParentModuleFile(a));
+        assertSame(a, service.getCrateRoot(b));
+
+        // preferred candidate appears
+        setText(lib, "mod a;");
+        assertSame(lib.getVirtualFile(), service.getCrateRoot(b));
+    }
+
+    public void testDirectoryEvents() throws Exception {
+        final VirtualFile lib = add("lib.rs", "mod a; mod c;");
+        final VirtualFile a = add("a.rs", "mod b;");
+        final VirtualFile b = add("a/b.rs", "");
+        final VirtualFile c = add("c.rs", "");
+        final RsModuleTreeService service = RsModuleTreeService.getInstance(getProject());
+        assertSame(lib, service.getCrateRoot(b));
+        final int warmUpCount = service.getComputedFileCount();
+
+        // unrelated directory does not rebuild the tree
+        new WriteCommandAction.Simple(getProject()) {
+            @Override
+            protected void run() throws Throwable {
+                lib.getParent().createChildDirectory(this, "unrelated");
+            }
+        }.execute().throwException();
+        assertSame(lib, service.getCrateRoot(c));
+        assertEquals(warmUpCount, service.getComputedFileCount());
+
+        // only files declaring modules which may be in deleted directory (a/b.rs and a/mod.rs) are re-read
+        new WriteCommandAction.Simple(getProject()) {
+            @Override
+            protected void run() throws Throwable {
+                b.getParent().delete(this);
+            }
+        }.execute().throwException();
+        assertEmpty(service.getChildModuleFiles(a));
+        assertSame(lib, service.getCrateRoot(c));
+        assertEquals(warmUpCount + 2, service.getComputedFileCount());
+    }
+
+    public void testRebuildCostIsProportionalToChange() throws Exception {
+        final StringBuilder libText = new StringBuilder();
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            libText.append("mod m").append(i).append(";\n");
+            final StringBuilder modText = new StringBuilder();
+            for (int j = 0; j < LEAF_COUNT; j++) {
+                modText.append("mod l").append(j).append(";\n");
+                add("m" + i + "/l" + j + ".rs", "fn f() {}");
+            }
+            add("m" + i + "/mod.rs", modText.toString());
+        }
+        final VirtualFile lib = add("lib.rs", libText.toString());
+        final VirtualFile leaf = myFixture.findFileInTempDir("m42/l7.rs");
+        final PsiFile module = getPsiManager().findFile(myFixture.findFileInTempDir("m42/mod.rs"));
+        assertNotNull(module);
+
+        final RsModuleTreeService service = RsModuleTreeService.getInstance(getProject());
+        assertSame(lib, service.getCrateRoot(leaf));
+        final int warmUpCount = service.getComputedFileCount();
+
+        setText(module, module.getText() + "fn g() {}\n");
+        assertSame(lib, service.getCrateRoot(leaf));
+        assertTrue(service.getComputedFileCount() - warmUpCount <= 2);
+
+        PlatformTestUtil.startPerformanceTest("module tree lookups after warm-up", 200, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                for (int i = 0; i < MODULE_COUNT; i++) {
+                    final VirtualFile file = myFixture.findFileInTempDir("m" + i + "/l" + (i % LEAF_COUNT) + ".rs");
+                    for (int k = 0; k < 1000; k++) {
+                        assertSame(lib, service.getCrateRoot(file));
+                    }
+                }
+            }
+        }).cpuBound().assertTiming();
+    }
+
+    @NotNull
+    private VirtualFile add(@NotNull final String path, @NotNull final String text) {
+        return myFixture.addFileToProject(path, text).getVirtualFile();
+    }
+
+    private void setText(@NotNull final PsiFile file, @NotNull final String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), new Runnable() {
+            @Override
+            public void run() {
+                final PsiDocumentManager manager = PsiDocumentManager.getInstance(getProject());
+                final Document document = manager.getDocument(file);
+                assertNotNull(document);
+                document.setText(text);
+                manager.commitDocument(document);
+            }
+        });
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.rustidea.parser.RsParserFacade;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public class RsAttributeAllocationTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int ITERATIONS = 10000;
+
+    public void testNoAllocationForItemsWithoutAttributes() throws Exception {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return;
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+        final long threadId = Thread.currentThread().getId();
+
+        final RsFile file = RsParserFacade.getFactory(getProject()).createFileFromText(
+            "struct S;\nmod m { }\nfn f() { }\nuse a::b;\n");
+        final IRsItem[] items = file.getItems();
+        assertEquals(4, items.length);
+
+        // warm up caches and JIT before measuring
+        queryAttributes(items);
+
+        final long baselineStart = allocations.getThreadAllocatedBytes(threadId);
+        final long baselineEnd = allocations.getThreadAllocatedBytes(threadId);
+        final long baseline = baselineEnd - baselineStart;
+
+        final long start = allocations.getThreadAllocatedBytes(threadId);
+        final int count = queryAttributes(items);
+        final long end = allocations.getThreadAllocatedBytes(threadId);
+
+        assertEquals(0, count);
+        // less than one byte per query means nothing is allocated on the no-result path
+        assertTrue("allocated " + (end - start - baseline) + " bytes",
+            end - start - baseline < ITERATIONS * items.length);
+    }
+
+    private static int queryAttributes(final IRsItem[] items) {
+        int count = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (IRsItem item : items) {
+                count += item.getAttributes().length;
+            }
+        }
+        return count;
+    }
+}
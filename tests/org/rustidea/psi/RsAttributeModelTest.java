@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class RsAttributeModelTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final String ITEM = "" +
+        "#[derive(Clone, Debug)]\n" +
+        "#[cfg(any(unix, feature = \"foo\"))]\n" +
+        "#[allow(dead_code, unused)]\n" +
+        "#[deny(missing_docs)]\n" +
+        "#[doc = \"Hello\\nworld\"]\n" +
+        "#[derive(PartialEq)]\n" +
+        "#[inline]\n" +
+        "struct S;\n";
+
+    public void testModel() throws Exception {
+        final RsAttributeModel model = parse(ITEM).getItems()[0].getAttributeModel();
+        assertEquals(Arrays.asList("Clone", "Debug", "PartialEq"), model.getDeriveNames());
+        assertEquals(1, model.getCfgPredicates().size());
+        assertEquals("any(unix, feature = \"foo\")", model.getCfgPredicates().get(0).toString());
+        assertTrue(model.isCfgGated());
+        assertEquals(RsAttributeModel.LintLevel.ALLOW, model.getLintLevel("dead_code"));
+        assertEquals(RsAttributeModel.LintLevel.ALLOW, model.getLintLevel("unused"));
+        assertEquals(RsAttributeModel.LintLevel.DENY, model.getLintLevel("missing_docs"));
+        assertNull(model.getLintLevel("non_camel_case_types"));
+        assertFalse(model.getAttributes("allow").get(0).getArgs().isEmpty());
+        assertEquals(2, model.getAttributes("derive").size());
+        assertEquals(5, model.getAttributes().size());
+    }
+
+    public void testModelSkipsOtherAttributes() throws Exception {
+        final RsAttributeModel model = parse(ITEM).getItems()[0].getAttributeModel();
+        assertNull(model.getValue("doc"));
+        assertFalse(model.hasAttribute("doc"));
+        assertFalse(model.hasAttribute("inline"));
+        final IRsItem item = parse("#[doc = \"x\"] #[inline] fn f() {}").getItems()[0];
+        assertSame(RsAttributeModel.EMPTY, item.getAttributeModel());
+    }
+
+    public void testNoAttributes() throws Exception {
+        assertSame(RsAttributeModel.EMPTY, parse("struct S;").getItems()[0].getAttributeModel());
+        assertEquals(Collections.<String>emptyList(), RsAttributeModel.EMPTY.getDeriveNames());
+        assertFalse(RsAttributeModel.EMPTY.isCfgGated());
+    }
+
+    public void testStubModelEqualsPsiModel() throws Exception {
+        final RsFile file = (RsFile) myFixture.addFileToProject("lib.rs", ITEM + "#[cfg(test)] mod tests;\n");
+        final IRsItem[] items = file.getItems();
+        assertNull(((PsiFileImpl) file).getTreeElement());
+        final RsAttributeModel structModel = items[0].getAttributeModel();
+        final RsAttributeModel moduleModel = items[1].getAttributeModel();
+        assertNull("stub model should not load AST", ((PsiFileImpl) file).getTreeElement());
+
+        final RsFile fresh = parse(file.getText());
+        assertEquals(fresh.getItems()[0].getAttributeModel().getAttributes(), structModel.getAttributes());
+        assertEquals(fresh.getItems()[1].getAttributeModel().getAttributes(), moduleModel.getAttributes());
+        assertEquals("test", moduleModel.getCfgPredicates().get(0).getName());
+    }
+
+    public void testModelIsDroppedOnChange() throws Exception {
+        final IRsItem item = parse("#[derive(Clone)] struct S;").getItems()[0];
+        final RsModifierList replacement = parse("#[derive(Debug)] struct T;").getItems()[0].getModifierList();
+        assertNotNull(replacement);
+        assertEquals(Collections.singletonList("Clone"), item.getAttributeModel().getDeriveNames());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), new Runnable() {
+            @Override
+            public void run() {
+                final RsModifierList modifierList = item.getModifierList();
+                assertNotNull(modifierList);
+                modifierList.replace(replacement);
+            }
+        });
+
+        assertEquals(Collections.singletonList("Debug"), item.getAttributeModel().getDeriveNames());
+    }
+
+    @NotNull
+    private RsFile parse(@NotNull final String text) {
+        return RsParserFacade.getFactory(getProject()).createFileFromText(text);
+    }
+}
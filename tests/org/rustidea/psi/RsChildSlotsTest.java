@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+
+public class RsChildSlotsTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int ITEMS = 200;
+    private static final int ATTRIBUTES = 50;
+
+    public void testCompositeSlotIsDroppedOnChange() throws Exception {
+        final RsAttribute attribute = (RsAttribute) parse("#[foo] struct S;").getItems()[0].getAttributes()[0];
+        final RsMeta replacement = ((RsAttribute) parse("#[bar] struct S;").getItems()[0].getAttributes()[0]).getRootMeta();
+        assertNotNull(replacement);
+        assertEquals("foo", getRootMetaName(attribute));
+
+        WriteCommandAction.runWriteCommandAction(getProject(), new Runnable() {
+            @Override
+            public void run() {
+                final RsMeta meta = attribute.getRootMeta();
+                assertNotNull(meta);
+                meta.replace(replacement);
+            }
+        });
+
+        assertEquals("bar", getRootMetaName(attribute));
+    }
+
+    public void testStubSlotIsDroppedOnChange() throws Exception {
+        final IRsItem item = parse("struct S;").getItems()[0];
+        final RsModifierList modifierList = parse("pub struct T;").getItems()[0].getModifierList();
+        assertNotNull(modifierList);
+        assertNull(item.getModifierList());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), new Runnable() {
+            @Override
+            public void run() {
+                item.addBefore(modifierList, item.getFirstChild());
+            }
+        });
+
+        assertNotNull(item.getModifierList());
+    }
+
+    public void testPerformance() throws Exception {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ITEMS; i++) {
+            for (int j = 0; j < ATTRIBUTES; j++) {
+                sb.append("#[attr").append(j).append("(a, b = \"c\")]\n");
+            }
+            sb.append("pub struct S").append(i).append(";\n");
+        }
+        final IRsItem[] items = parse(sb.toString()).getItems();
+        assertEquals(ITEMS, items.length);
+
+        PlatformTestUtil.startPerformanceTest("query attributes of items with long modifier lists", 200,
+            new ThrowableRunnable() {
+                @Override
+                public void run() throws Throwable {
+                    for (int k = 0; k < 20; k++) {
+                        for (IRsItem item : items) {
+                            final RsModifierList modifierList = item.getModifierList();
+                            assertNotNull(modifierList);
+                            assertTrue(modifierList.hasPub());
+                            for (IRsAttribute attribute : item.getAttributes()) {
+                                assertFalse(((RsAttribute) attribute).isInner());
+                                assertNotNull(((RsAttribute) attribute).getRootMeta());
+                            }
+                        }
+                    }
+                }
+            }).cpuBound().assertTiming();
+    }
+
+    private static String getRootMetaName(@NotNull final RsAttribute attribute) {
+        final RsMeta meta = attribute.getRootMeta();
+        assertNotNull(meta);
+        return meta.getName();
+    }
+
+    @NotNull
+    private RsFile parse(@NotNull final String text) {
+        return RsParserFacade.getFactory(getProject()).createFileFromText(text);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFileFilter;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.SerializationManagerEx;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.rustidea.parser.RsParserFacade;
+import org.rustidea.stubs.index.RsNamedElementIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+
+public class RsDocSummaryTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int ITEM_COUNT = 100;
+
+    public void testLineDocs() throws Exception {
+        assertEquals("Hello world, this is a summary.", extract(
+            "/// Hello   world,",
+            "///this is a summary.",
+            "///",
+            "/// Second paragraph."));
+    }
+
+    public void testBlockDocs() throws Exception {
+        assertEquals("Hello world.", extract("/**\n * Hello\n * world.\n *\n * Second paragraph.\n */"));
+        assertEquals("Inner docs.", extract("/*! Inner docs. */"));
+    }
+
+    public void testEmpty() throws Exception {
+        assertNull(extract());
+        assertNull(extract("///", "///   ", "/** */"));
+    }
+
+    public void testTruncated() throws Exception {
+        final String summary = extract("/// " + StringUtil.repeat("word ", 100));
+        assertNotNull(summary);
+        assertTrue(summary.length() <= RsDocSummary.MAX_LENGTH);
+        assertTrue(summary.endsWith("word..."));
+    }
+
+    public void testReadFromStub() throws Exception {
+        final String text = "" +
+            "/// Adds numbers.\n" +
+            "///\n" +
+            "/// Details.\n" +
+            "#[inline] pub fn add() {}\n" +
+            "/** A structure. */ struct S;\n" +
+            "/// Module docs.\n" +
+            "mod m {}\n" +
+            "/// Constant.\n" +
+            "const C: i32 = 1;\n" +
+            "/// Static with braced initializer.\n" +
+            "static P: Point = Point { x: 1 };\n" +
+            "fn undocumented() {}\n";
+        // initializers are skipped as plain tokens, they must not swallow docs of following items
+        assertFalse(PsiTreeUtil.hasErrorElements(RsParserFacade.getFactory(getProject()).createFileFromText(text)));
+
+        myFixture.addFileToProject("lib.rs", text);
+        PsiManagerEx.getInstanceEx(getProject()).setAssertOnFileLoadingFilter(VirtualFileFilter.ALL, getTestRootDisposable());
+
+        assertEquals("Adds numbers.", docSummary("add"));
+        assertEquals("A structure.", docSummary("S"));
+        assertEquals("Module docs.", docSummary("m"));
+        assertEquals("Constant.", docSummary("C"));
+        assertEquals("Static with braced initializer.", docSummary("P"));
+        assertNull(docSummary("undocumented"));
+    }
+
+    public void testStubSizeGrowth() throws Exception {
+        final StringBuilder documented = new StringBuilder();
+        final StringBuilder undocumented = new StringBuilder();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            for (int j = 0; j < 3; j++) {
+                documented.append("/// ").append(StringUtil.repeat("Long documentation line. ", 20)).append('\n');
+                documented.append("///\n");
+            }
+            documented.append("fn f").append(i).append("() {}\n");
+            undocumented.append("fn f").append(i).append("() {}\n");
+        }
+
+        final int growth = stubSize("documented.rs", documented) - stubSize("undocumented.rs", undocumented);
+        assertTrue("stub grew by " + growth + " bytes", growth > 0);
+        assertTrue("stub grew by " + growth + " bytes", growth <= ITEM_COUNT * (RsDocSummary.MAX_LENGTH + 4));
+    }
+
+    @Nullable
+    private static String extract(@NotNull final String... docTexts) {
+        return RsDocSummary.extract(Arrays.asList(docTexts));
+    }
+
+    @Nullable
+    private String docSummary(@NotNull final String name) {
+        final Collection<IRsNameIdentifierOwner> elements =
+            RsNamedElementIndex.getInstance().get(name, getProject(), GlobalSearchScope.allScope(getProject()));
+        assertSize(1, elements);
+        return ((IRsNamedItem) elements.iterator().next()).getDocSummary();
+    }
+
+    private int stubSize(@NotNull final String fileName, @NotNull final CharSequence text) throws Exception {
+        final PsiFile file = myFixture.addFileToProject(fileName, text.toString());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SerializationManagerEx.getInstanceEx().serialize(((PsiFileImpl) file).calcStubTree().getRoot(), out);
+        return out.size();
+    }
+}
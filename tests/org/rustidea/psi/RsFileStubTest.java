@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class RsFileStubTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final String TEXT = "" +
+        "#![no_std]\n" +
+        "#![feature(box_syntax, core)]\n" +
+        "#![crate_type = \"lib\"]\n" +
+        "//! Crate docs\n" +
+        "mod a;\n" +
+        "#[path = \"other/b.rs\"] mod b;\n" +
+        "mod c {\n" +
+        "    mod d;\n" +
+        "    mod e { mod f; }\n" +
+        "}\n" +
+        "#[cfg(test)] mod tests { mod lazy; }\n" +
+        "fn main() {}\n";
+
+    public void testStubPayload() throws Exception {
+        final RsFile file = (RsFile) myFixture.addFileToProject("lib.rs", TEXT);
+        final RsAttributeModel attributes = file.getAttributeModel();
+        final List<RsModuleDeclaration> declarations = file.getModuleDeclarations();
+        assertNull("file payload should be read from stub", ((PsiFileImpl) file).getTreeElement());
+
+        assertTrue(attributes.hasAttribute("no_std"));
+        assertEquals(2, attributes.getAttributes("feature").get(0).getArgs().size());
+        assertEquals("lib", attributes.getValue("crate_type"));
+        assertEquals(3, attributes.getAttributes().size());
+
+        assertEquals(Arrays.asList(
+            new RsModuleDeclaration("a", null, Collections.<String>emptyList()),
+            new RsModuleDeclaration("b", "other/b.rs", Collections.<String>emptyList()),
+            new RsModuleDeclaration("d", null, Collections.singletonList("c")),
+            new RsModuleDeclaration("f", null, Arrays.asList("c", "e"))), declarations);
+        assertEquals("#[path = \"other/b.rs\"] b", declarations.get(1).toString());
+        assertEquals("c::e::f", declarations.get(3).toString());
+    }
+
+    public void testStubMatchesPsi() throws Exception {
+        final RsFile stubbed = (RsFile) myFixture.addFileToProject("lib.rs", TEXT);
+        final RsFile parsed = parse(TEXT);
+        assertEquals(parsed.getModuleDeclarations(), stubbed.getModuleDeclarations());
+        assertEquals(parsed.getAttributeModel().getAttributes(), stubbed.getAttributeModel().getAttributes());
+    }
+
+    public void testOutOfLine() throws Exception {
+        final IRsItem[] items = parse("mod a; mod b {} mod c { fn f() {} }").getItems();
+        assertTrue(((RsModule) items[0]).isOutOfLine());
+        assertFalse(((RsModule) items[1]).isOutOfLine());
+        assertFalse(((RsModule) items[2]).isOutOfLine());
+    }
+
+    public void testEmpty() throws Exception {
+        final RsFile file = (RsFile) myFixture.addFileToProject("lib.rs", "fn main() {}");
+        assertSame(RsAttributeModel.EMPTY, file.getAttributeModel());
+        assertEmpty(file.getModuleDeclarations());
+    }
+
+    @NotNull
+    private RsFile parse(@NotNull final String text) {
+        return RsParserFacade.getFactory(getProject()).createFileFromText(text);
+    }
+}
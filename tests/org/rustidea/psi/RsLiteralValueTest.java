@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiElement;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class RsLiteralValueTest extends LightPlatformCodeInsightFixtureTestCase {
+    public void testBool() throws Exception {
+        assertEquals(Boolean.TRUE, literal("true").getValue());
+        assertEquals(Boolean.FALSE, literal("false").getValue());
+    }
+
+    public void testInteger() throws Exception {
+        assertEquals(1000L, literal("1_000").getValue());
+        assertEquals(0xAAFL, literal("0xAafi32").getValue());
+        assertEquals(39L, literal("0b100_111").getValue());
+        assertEquals(8L, literal("0o10usize").getValue());
+        assertEquals(new BigInteger("ffffffffffffffff", 16), literal("0xffff_ffff_ffff_ffffu64").getValue());
+    }
+
+    public void testFloat() throws Exception {
+        assertEquals(123.0E+77, literal("123.0E+77f32").getValue());
+        assertEquals(1000.5, literal("1_000.5").getValue());
+    }
+
+    public void testChar() throws Exception {
+        assertEquals((int) 'a', literal("'a'").getValue());
+        assertEquals(0x1F600, literal("'\\u{1F600}'").getValue());
+        assertEquals(0xFF, literal("b'\\xff'").getValue());
+    }
+
+    public void testString() throws Exception {
+        assertEquals("foo\nbar", literal("\"foo\\nbar\"").getValue());
+        assertEquals("foo \" bar", literal("r#\"foo \" bar\"#").getValue());
+    }
+
+    public void testByteString() throws Exception {
+        assertArrayEquals(new byte[]{'f', 'o', 'o', (byte) 0xff}, (byte[]) literal("b\"foo\\xff\"").getValue());
+        assertArrayEquals(new byte[]{'a', '\\', 'n'}, (byte[]) literal("br\"a\\n\"").getValue());
+    }
+
+    public void testCachedByteArrayIsNotShared() throws Exception {
+        final RsLiteral literal = literal("b\"foo\"");
+        final byte[] value = (byte[]) literal.getValue();
+        assertNotNull(value);
+        value[0] = 'x';
+        assertArrayEquals(new byte[]{'f', 'o', 'o'}, (byte[]) literal.getValue());
+    }
+
+    public void testCacheIsDroppedOnChange() throws Exception {
+        final RsLiteral literal = literal("1u8");
+        assertEquals(1L, literal.getValue());
+        assertEquals("u8", literal.getSuffix());
+
+        final PsiElement replacement = literal("0x20i64").getFirstChild();
+        WriteCommandAction.runWriteCommandAction(getProject(), new Runnable() {
+            @Override
+            public void run() {
+                literal.getFirstChild().replace(replacement);
+            }
+        });
+
+        assertEquals(32L, literal.getValue());
+        assertEquals("0x20", literal.getValueString());
+        assertEquals("i64", literal.getSuffix());
+    }
+
+    @NotNull
+    private RsLiteral literal(@NotNull final String text) {
+        final RsFile file = RsParserFacade.getFactory(getProject()).createFileFromText("#![a = " + text + "]");
+        final RsLiteral literal = ((RsAttribute) file.getAttributes()[0]).getRootMeta().getValue();
+        assertNotNull(literal);
+        return literal;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+import org.rustidea.psi.types.RsElementTypeContainment;
+import org.rustidea.psi.types.RsPsiTypes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RsRecursiveElementVisitorTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final Logger LOG = Logger.getInstance(RsRecursiveElementVisitorTest.class);
+    private static final int ITEMS = 2000;
+    private static final int ITERATIONS = 10;
+    private static final TokenSet USE_DECL = TokenSet.create(RsPsiTypes.USE_DECL);
+
+    public void testContainment() throws Exception {
+        assertFalse(RsElementTypeContainment.canContain(RsPsiTypes.LITERAL, RsPsiTypes.ITEM_TOKEN_SET));
+        assertFalse(RsElementTypeContainment.canContain(RsPsiTypes.ATTRIBUTE, TokenSet.create(RsPsiTypes.FUNCTION)));
+        assertFalse(RsElementTypeContainment.canContain(RsPsiTypes.STRUCT, USE_DECL));
+        assertTrue(RsElementTypeContainment.canContain(RsPsiTypes.FUNCTION, TokenSet.create(RsPsiTypes.LITERAL)));
+        assertTrue(RsElementTypeContainment.canContain(RsPsiTypes.BLOCK, USE_DECL));
+        assertTrue(RsElementTypeContainment.canContain(RsPsiTypes.META, TokenSet.create(RsPsiTypes.META)));
+    }
+
+    public void testSameElementsAsNaiveWalk() throws Exception {
+        final RsFile file = parse(createCrate(10));
+        for (IElementType type : new IElementType[]{RsPsiTypes.USE_DECL, RsPsiTypes.LITERAL, RsPsiTypes.STRUCT_FIELD,
+            RsPsiTypes.BLOCK, RsPsiTypes.REFERENCE_ELEMENT, RsPsiTypes.MODULE}) {
+            final TokenSet types = TokenSet.create(type);
+            assertEquals(type.toString(), naiveCollect(file, types), collect(file, types));
+        }
+    }
+
+    public void testStopWalking() throws Exception {
+        final RsFile file = parse(createCrate(10));
+        final List<PsiElement> visited = new ArrayList<PsiElement>();
+        new RsRecursiveElementVisitor(USE_DECL) {
+            @Override
+            public void visitElement(PsiElement element) {
+                visited.add(element);
+                stopWalking();
+            }
+        }.walk(file);
+        assertEquals(1, visited.size());
+    }
+
+    public void testDeepTree() throws Exception {
+        final int depth = 5000;
+        final StringBuilder sb = new StringBuilder("fn f() ");
+        for (int i = 0; i < depth; i++) {
+            sb.append('{');
+        }
+        sb.append("let x;");
+        for (int i = 0; i < depth; i++) {
+            sb.append('}');
+        }
+        final RsFile file = parse(sb.toString());
+        assertEquals(1, collect(file, TokenSet.create(RsPsiTypes.LET_DECL)).size());
+        assertEquals(depth, collect(file, TokenSet.create(RsPsiTypes.BLOCK)).size());
+    }
+
+    public void testPerformance() throws Exception {
+        final RsFile file = parse(createCrate(ITEMS));
+        assertEquals(ITEMS, collect(file, USE_DECL).size());
+
+        final long naiveStart = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            naiveCollect(file, USE_DECL);
+        }
+        final long naiveTime = (System.currentTimeMillis() - naiveStart) / ITERATIONS;
+
+        final long prunedStart = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            collect(file, USE_DECL);
+        }
+        final long prunedTime = (System.currentTimeMillis() - prunedStart) / ITERATIONS;
+        LOG.info(String.format("Looking for use declarations: naive walk %d ms, pruned walk %d ms", naiveTime, prunedTime));
+
+        PlatformTestUtil.startPerformanceTest("pruned walk looking for use declarations", 100, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    collect(file, USE_DECL);
+                }
+            }
+        }).cpuBound().assertTiming();
+    }
+
+    @NotNull
+    private static String createCrate(final int items) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < items; i++) {
+            sb.append("use a::b").append(i).append(";\n");
+            sb.append("#[doc = \"structure ").append(i).append("\"]\n");
+            sb.append("#[derive(Clone, Debug)]\n");
+            sb.append("pub struct S").append(i).append("<T> { a: T, b: Vec<u8>, c: (i32, T), d: ::std::string::String }\n");
+        }
+        sb.append("fn f(x: i32) -> i32 { use a::c; #[cfg(test)] mod m { } x }\n");
+        return sb.toString();
+    }
+
+    @NotNull
+    private static List<PsiElement> collect(@NotNull final PsiElement root, @NotNull final TokenSet types) {
+        final List<PsiElement> result = new ArrayList<PsiElement>();
+        new RsRecursiveElementVisitor(types) {
+            @Override
+            public void visitElement(PsiElement element) {
+                result.add(element);
+            }
+        }.walk(root);
+        return result;
+    }
+
+    @NotNull
+    private static List<PsiElement> naiveCollect(@NotNull final PsiElement root, @NotNull final TokenSet types) {
+        final List<PsiElement> result = new ArrayList<PsiElement>();
+        root.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (types.contains(PsiUtilCore.getElementType(element))) {
+                    result.add(element);
+                }
+                super.visitElement(element);
+            }
+        });
+        return result;
+    }
+
+    @NotNull
+    private RsFile parse(@NotNull final String text) {
+        return RsParserFacade.getFactory(getProject()).createFileFromText(text);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RsStubItemTraversalTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int FILES = 200;
+
+    public void testWalkingItemsDoesNotLoadAst() throws Exception {
+        final List<RsFile> files = new ArrayList<RsFile>();
+        for (int i = 0; i < FILES; i++) {
+            final PsiFile file = myFixture.addFileToProject("src/file" + i + ".rs",
+                "extern crate foo;\n" +
+                "use a::b::c;\n" +
+                "pub struct S" + i + " { x: i32 }\n" +
+                "fn f" + i + "(x: i32) -> i32 { x }\n" +
+                "mod m" + i + " {\n" +
+                "    type T = i32;\n" +
+                "    mod inner { struct X; }\n" +
+                "}\n" +
+                "mod ext;\n");
+            files.add((RsFile) file);
+        }
+
+        int count = 0;
+        for (RsFile file : files) {
+            count += walk(file);
+        }
+        assertEquals(FILES * 9, count);
+
+        for (RsFile file : files) {
+            assertNull("AST of " + file.getName() + " has been loaded", ((PsiFileImpl) file).getTreeElement());
+        }
+    }
+
+    public void testCfgGatedModuleItemsAreReadFromStubs() throws Exception {
+        final RsFile file = (RsFile) myFixture.addFileToProject("src/lib.rs",
+            "#[cfg(test)]\nmod tests { struct A; struct B; }\n");
+
+        final RsModule tests = (RsModule) file.getItems()[0];
+        assertFalse(tests.isBodyLazy());
+        assertEquals(2, tests.getItems().length);
+        assertNull(((PsiFileImpl) file).getTreeElement());
+    }
+
+    private static int walk(IRsItemOwner owner) {
+        int count = 0;
+        for (IRsItem item : owner.getItems()) {
+            count++;
+            if (item instanceof RsModule) {
+                count += walk((RsModule) item);
+            }
+        }
+        return count;
+    }
+}
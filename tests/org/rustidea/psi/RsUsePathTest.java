@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi;
+
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class RsUsePathTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final String TEXT = "" +
+        "use foo;\n" +
+        "use ::std::io::Read;\n" +
+        "use self::a::b as c;\n" +
+        "use super::x::{self, y, z};\n" +
+        "use a::b::*;\n" +
+        "use self::*;\n";
+
+    public void testStubPaths() throws Exception {
+        final RsFile file = (RsFile) myFixture.addFileToProject("lib.rs", TEXT);
+        final IRsItem[] items = file.getItems();
+        final RsUsePath[] paths = new RsUsePath[items.length];
+        for (int i = 0; i < items.length; i++) {
+            paths[i] = ((RsUseDecl) items[i]).getUsePath();
+            assertEquals(paths[i].getType(), ((RsUseDecl) items[i]).getType());
+        }
+        assertNull("use paths should be read from stub", ((PsiFileImpl) file).getTreeElement());
+
+        assertEquals("foo", paths[0].toString());
+        assertEquals(RsUsePath.Relation.NONE, paths[0].getRelation());
+
+        assertEquals("::std::io::Read", paths[1].toString());
+        assertEquals(RsUsePath.Relation.GLOBAL, paths[1].getRelation());
+        assertEquals(Arrays.asList("std", "io", "Read"), paths[1].getSegments());
+
+        assertEquals("self::a::b as c", paths[2].toString());
+        assertEquals(RsUseDecl.Type.RENAMED, paths[2].getType());
+        assertEquals(Arrays.asList("c", "b"), paths[2].getImportedNames());
+
+        assertEquals("super::x::{self, y, z}", paths[3].toString());
+        assertEquals(RsUseDecl.Type.LIST, paths[3].getType());
+        assertEquals(Arrays.asList("x", "y", "z"), paths[3].getImportedNames());
+
+        assertEquals("a::b::*", paths[4].toString());
+        assertTrue(paths[4].isGlob());
+        assertEmpty(paths[4].getImportedNames());
+
+        assertEquals("self::*", paths[5].toString());
+        assertEquals(Collections.<String>emptyList(), paths[5].getSegments());
+    }
+
+    public void testStubMatchesPsi() throws Exception {
+        final RsFile stubbed = (RsFile) myFixture.addFileToProject("lib.rs", TEXT);
+        final RsFile parsed = RsParserFacade.getFactory(getProject()).createFileFromText(TEXT);
+        for (int i = 0; i < parsed.getItems().length; i++) {
+            assertEquals(usePath(parsed, i), usePath(stubbed, i));
+        }
+    }
+
+    public void testSegmentsAreInterned() throws Exception {
+        final RsFile file = RsParserFacade.getFactory(getProject()).createFileFromText("use a::Name; use b::Name;");
+        assertSame(usePath(file, 0).getLastSegment(), usePath(file, 1).getLastSegment());
+    }
+
+    @NotNull
+    private static RsUsePath usePath(@NotNull final RsFile file, final int index) {
+        return ((RsUseDecl) file.getItems()[index]).getUsePath();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.types;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.impl.source.tree.CompositeElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.rustidea.parser.RsParserFacade;
+
+import java.io.File;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class RsElementTypeContainmentTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final String PARSER_TEST_DATA = "testData/org/rustidea/parser";
+
+    /**
+     * Every parent-child pair produced by the parser must be declared, otherwise pruning walks would silently
+     * skip elements.
+     */
+    public void testParserTestDataMatchesDeclaredChildren() throws Exception {
+        final File[] files = new File(PARSER_TEST_DATA).listFiles();
+        assertNotNull(files);
+
+        final Set<String> undeclared = new TreeSet<String>();
+        int checked = 0;
+        for (File file : files) {
+            if (!file.getName().endsWith(".rs")) continue;
+            final String text = FileUtil.loadFile(file, true);
+            checkChildren(RsParserFacade.getFactory(getProject()).createFileFromText(text).getNode(), undeclared);
+            checked++;
+        }
+
+        assertTrue(checked > 0);
+        assertEmpty(undeclared);
+    }
+
+    private static void checkChildren(ASTNode node, Set<String> undeclared) {
+        final IElementType parent = node.getElementType();
+        // getFirstChildNode() parses lazy elements
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            if (!(child instanceof CompositeElement) || child.getElementType() == TokenType.ERROR_ELEMENT) continue;
+            if (RsElementTypeContainment.isKnown(parent)
+                && !RsElementTypeContainment.isDeclaredChild(parent, child.getElementType())) {
+                undeclared.add(parent + " -> " + child.getElementType());
+            }
+            checkChildren(child, undeclared);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.psi.util;
+
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.Processor;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+import org.rustidea.psi.IRsAttribute;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsLiteral;
+import org.rustidea.psi.RsMeta;
+import org.rustidea.psi.types.RsPsiTypes;
+
+import java.util.List;
+
+public class RsDescendantTraversalTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int DEPTH = 200;
+
+    public void testDocumentOrder() throws Exception {
+        final IRsAttribute attribute = nestedAttribute(DEPTH);
+        final List<RsLiteral> literals =
+            RsPsiTreeUtil.collectDescendantsOfType(attribute, RsLiteral.class, TokenSet.EMPTY);
+        assertEquals(DEPTH, literals.size());
+        for (int i = 0; i < DEPTH; i++) {
+            assertEquals("\"v" + i + "\"", literals.get(i).getText());
+        }
+    }
+
+    public void testEarlyTermination() throws Exception {
+        final IRsAttribute attribute = nestedAttribute(DEPTH);
+        final int[] visited = {0};
+        final boolean completed = RsPsiTreeUtil.processDescendantsOfType(attribute, RsLiteral.class, TokenSet.EMPTY,
+            new Processor<RsLiteral>() {
+                @Override
+                public boolean process(RsLiteral literal) {
+                    return ++visited[0] < 3;
+                }
+            });
+        assertFalse(completed);
+        assertEquals(3, visited[0]);
+    }
+
+    public void testPruning() throws Exception {
+        final IRsAttribute attribute = nestedAttribute(DEPTH);
+        final List<RsMeta> metas =
+            RsPsiTreeUtil.collectDescendantsOfType(attribute, RsMeta.class, TokenSet.create(RsPsiTypes.META_LIST));
+        assertEquals(1, metas.size());
+        assertEquals("a0", metas.get(0).getName());
+    }
+
+    public void testDoesNotLeaveRoot() throws Exception {
+        final RsFile file = createFile("#[a(x = \"1\")] mod m;\n#[b(y = \"2\")] mod n;");
+        final IRsAttribute first = file.getItems()[0].getAttributes()[0];
+        final List<RsLiteral> literals =
+            RsPsiTreeUtil.collectDescendantsOfType(first, RsLiteral.class, TokenSet.EMPTY);
+        assertEquals(1, literals.size());
+        assertEquals("\"1\"", literals.get(0).getText());
+    }
+
+    public void testPerformance() throws Exception {
+        final IRsAttribute attribute = nestedAttribute(DEPTH);
+        PlatformTestUtil.startPerformanceTest("walk deeply nested meta lists", 500, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                for (int i = 0; i < 1000; i++) {
+                    assertEquals(DEPTH, RsPsiTreeUtil.collectDescendantsOfType(
+                        attribute, RsLiteral.class, TokenSet.EMPTY).size());
+                }
+            }
+        }).cpuBound().assertTiming();
+    }
+
+    /**
+     * Builds {@code #[a0(x = "v0", a1(x = "v1", ...))] mod m;}.
+     */
+    @NotNull
+    private IRsAttribute nestedAttribute(final int depth) {
+        final StringBuilder sb = new StringBuilder("#[");
+        for (int i = 0; i < depth; i++) {
+            sb.append('a').append(i).append("(x = \"v").append(i).append('"');
+            if (i + 1 < depth) sb.append(", ");
+        }
+        for (int i = 0; i < depth; i++) {
+            sb.append(')');
+        }
+        sb.append("] mod m;");
+        return createFile(sb.toString()).getItems()[0].getAttributes()[0];
+    }
+
+    @NotNull
+    private RsFile createFile(@NotNull final String text) {
+        return RsParserFacade.getFactory(getProject()).createFileFromText(text);
+    }
+}
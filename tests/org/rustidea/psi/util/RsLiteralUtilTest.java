@@ -18,7 +18,10 @@ package org.rustidea.psi.util;
 
 import org.junit.Test;
 
+import java.math.BigInteger;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class RsLiteralUtilTest {
     @Test
@@ -30,4 +33,23 @@ public class RsLiteralUtilTest {
         assertEquals("5 #\"# foo", RsLiteralUtil.removeRawStringHashes("r\"5 #\"# foo\""));
         assertEquals("6 #\"# foo", RsLiteralUtil.removeRawStringHashes("r\"6 #\"# foo"));
     }
+
+    @Test
+    public void testDecodeInteger() {
+        assertEquals(1000L, RsLiteralUtil.decodeInteger("1_000"));
+        assertEquals(0xAAFL, RsLiteralUtil.decodeInteger("0xAaf"));
+        assertEquals(39L, RsLiteralUtil.decodeInteger("0b100_111"));
+        assertEquals(Long.MAX_VALUE, RsLiteralUtil.decodeInteger("9223372036854775807"));
+        assertEquals(new BigInteger("9223372036854775808"), RsLiteralUtil.decodeInteger("9223372036854775808"));
+        assertNull(RsLiteralUtil.decodeInteger("0x"));
+        assertNull(RsLiteralUtil.decodeInteger("0b102"));
+        assertNull(RsLiteralUtil.decodeInteger("0x-1"));
+    }
+
+    @Test
+    public void testDecodeFloat() {
+        assertEquals(123.0E+77, RsLiteralUtil.decodeFloat("123.0E+77"), 0.0);
+        assertEquals(1.0, RsLiteralUtil.decodeFloat("1."), 0.0);
+        assertNull(RsLiteralUtil.decodeFloat("1e"));
+    }
 }
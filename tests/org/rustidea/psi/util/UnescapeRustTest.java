@@ -67,6 +67,7 @@ public class UnescapeRustTest {
             {"\\u{000000}", "\0", true, true},
             {"\\u{0000000}", "\\u{0000000}", true, true},
             {"\\u{00000000}", "\\u{00000000}", true, true},
+            {"\\u{1F600}", "\uD83D\uDE00", true, true},
             {"\\u{}", "\\u{}", true, true},
             {"\\u{", "\\u{", true, true},
             {"\\u", "\\u", true, true},
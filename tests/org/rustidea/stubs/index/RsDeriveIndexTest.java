@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs.index;
+
+import com.intellij.openapi.vfs.VirtualFileFilter;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.psi.RsStruct;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RsDeriveIndexTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final int FILE_COUNT = 2000;
+
+    public void testDeriveNames() throws Exception {
+        myFixture.addFileToProject("lib.rs", "" +
+            "#[derive(Clone, Debug)] struct A;\n" +
+            "#[derive(Debug)] #[derive(Serialize)] struct B;\n" +
+            "#[derive] struct C;\n" +
+            "struct D;\n" +
+            "mod m { #[derive(Clone)] struct E; }\n");
+        PsiManagerEx.getInstanceEx(getProject()).setAssertOnFileLoadingFilter(VirtualFileFilter.ALL, getTestRootDisposable());
+
+        assertEquals(names("A", "E"), names(get("Clone")));
+        assertEquals(names("A", "B"), names(get("Debug")));
+        assertEquals(names("B"), names(get("Serialize")));
+        assertEmpty(get("derive"));
+    }
+
+    public void testLookupPerformance() throws Exception {
+        for (int i = 0; i < FILE_COUNT; i++) {
+            myFixture.addFileToProject("f" + i + ".rs", "" +
+                "#[derive(Clone, Debug)] struct A" + i + ";\n" +
+                "#[derive(Serialize)] struct B" + i + ";\n" +
+                "#[derive(Trait" + i + ")] struct C" + i + ";\n" +
+                "struct D" + i + ";\n");
+        }
+
+        PlatformTestUtil.startPerformanceTest("derive index lookup in " + FILE_COUNT + " files", 2000, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                assertEquals(FILE_COUNT, get("Clone").size());
+                assertEquals(FILE_COUNT, get("Serialize").size());
+                for (int i = 0; i < FILE_COUNT; i += 10) {
+                    assertEquals(1, get("Trait" + i).size());
+                }
+            }
+        }).cpuBound().assertTiming();
+    }
+
+    @NotNull
+    private Collection<RsStruct> get(@NotNull final String deriveName) {
+        return RsDeriveIndex.getInstance().get(deriveName, getProject(), GlobalSearchScope.allScope(getProject()));
+    }
+
+    @NotNull
+    private static Set<String> names(@NotNull final Collection<RsStruct> structs) {
+        final Set<String> names = new HashSet<String>();
+        for (RsStruct struct : structs) {
+            names.add(struct.getName());
+        }
+        return names;
+    }
+
+    @NotNull
+    private static Set<String> names(@NotNull final String... names) {
+        final Set<String> result = new HashSet<String>();
+        for (String name : names) {
+            result.add(name);
+        }
+        return result;
+    }
+}
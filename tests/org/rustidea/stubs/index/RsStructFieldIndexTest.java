@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs.index;
+
+import com.intellij.openapi.vfs.VirtualFileFilter;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsStruct;
+import org.rustidea.psi.RsStructField;
+import org.rustidea.psi.RsVisibility;
+import org.rustidea.types.RsTyFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RsStructFieldIndexTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final String TEXT = "" +
+        "struct A { pub x: a::B<C>, y: () }\n" +
+        "struct B { x: ( i32,i32 ) }\n" +
+        "struct T(i32);\n";
+
+    public void testFieldsFromStubs() throws Exception {
+        myFixture.addFileToProject("lib.rs", TEXT);
+        PsiManagerEx.getInstanceEx(getProject()).setAssertOnFileLoadingFilter(VirtualFileFilter.ALL, getTestRootDisposable());
+
+        assertEquals(names("A", "B"), names(getStructs("x")));
+        assertEquals(names("A"), names(getStructs("y")));
+        assertEmpty(getStructs("z"));
+
+        for (RsStructField field : getFields("x")) {
+            final RsStruct owner = field.getOwner();
+            assertNotNull(owner);
+            if ("A".equals(owner.getName())) {
+                assertEquals(RsVisibility.PUBLIC, field.getVisibility());
+                assertEquals("a::B<C>", field.getTypeText());
+            } else {
+                assertEquals(RsVisibility.PRIVATE, field.getVisibility());
+                assertEquals("(i32, i32)", field.getTypeText());
+            }
+        }
+    }
+
+    public void testStubMatchesPsi() throws Exception {
+        final RsFile parsed = RsParserFacade.getFactory(getProject()).createFileFromText(TEXT);
+        final RsStructField field = PsiTreeUtil.findChildOfType(parsed, RsStructField.class);
+        assertNotNull(field);
+        assertEquals(RsVisibility.PUBLIC, field.getVisibility());
+        assertEquals("a::B<C>", field.getTypeText());
+        assertSame(RsTyFactory.fromPsi(field.getType()), RsTyFactory.fromText(field.getTypeText()));
+    }
+
+    @NotNull
+    private Collection<RsStruct> getStructs(@NotNull final String fieldName) {
+        return RsStructByFieldIndex.getInstance().get(fieldName, getProject(), GlobalSearchScope.allScope(getProject()));
+    }
+
+    @NotNull
+    private Collection<RsStructField> getFields(@NotNull final String fieldName) {
+        return RsStructFieldIndex.getInstance().get(fieldName, getProject(), GlobalSearchScope.allScope(getProject()));
+    }
+
+    @NotNull
+    private static Set<String> names(@NotNull final Collection<RsStruct> structs) {
+        final Set<String> names = new HashSet<String>();
+        for (RsStruct struct : structs) {
+            names.add(struct.getName());
+        }
+        return names;
+    }
+
+    @NotNull
+    private static Set<String> names(@NotNull final String... names) {
+        final Set<String> result = new HashSet<String>();
+        for (String name : names) {
+            result.add(name);
+        }
+        return result;
+    }
+}
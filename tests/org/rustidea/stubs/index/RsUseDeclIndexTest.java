@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs.index;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.vfs.VirtualFileFilter;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.SerializationManagerEx;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsUseDecl;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collection;
+
+public class RsUseDeclIndexTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final Logger LOG = Logger.getInstance(RsUseDeclIndexTest.class);
+    private static final int FILE_COUNT = 2000;
+    private static final int USE_DECLS_PER_FILE = 4;
+    /**
+     * Path segments and names are written as name enumerator ids, so a declaration should take a few dozen bytes.
+     */
+    private static final int MAX_STUB_SIZE_PER_DECL = 64;
+
+    public void testImportedNames() throws Exception {
+        final RsFile file = (RsFile) myFixture.addFileToProject("lib.rs", "" +
+            "use foo;\n" +
+            "use foo::bar::baz;\n" +
+            "use foo::bar::qux as fbq;\n" +
+            "use a::b::{c, self, d};\n" +
+            "use a::e::*;\n");
+        forbidFileLoading();
+
+        assertEquals(1, get("foo").size());
+        assertEquals(1, get("baz").size());
+        assertEquals(1, get("qux").size());
+        final RsUseDecl renamed = assertOneElement(get("fbq"));
+        assertEquals(RsUseDecl.Type.RENAMED, renamed.getType());
+        assertEquals("fbq", renamed.getAliasName());
+        assertSame(renamed, assertOneElement(get("qux")));
+
+        final RsUseDecl list = assertOneElement(get("c"));
+        assertEquals(RsUseDecl.Type.LIST, list.getType());
+        assertSame(list, assertOneElement(get("b")));
+        assertSame(list, assertOneElement(get("d")));
+        assertNull(list.getAliasName());
+
+        assertEmpty(get("e"));
+        assertEmpty(get("a"));
+        assertEmpty(get("self"));
+        assertEmpty(get("bar"));
+        assertEquals(5, file.getItems().length);
+    }
+
+    public void testPsiMatchesStub() throws Exception {
+        final RsFile file = RsParserFacade.getFactory(getProject()).createFileFromText("use x::y as z; use x::{y}; use x::*; use x::y;");
+        assertEquals(RsUseDecl.Type.RENAMED, ((RsUseDecl) file.getItems()[0]).getType());
+        assertEquals("z", ((RsUseDecl) file.getItems()[0]).getAliasName());
+        assertEquals(RsUseDecl.Type.LIST, ((RsUseDecl) file.getItems()[1]).getType());
+        assertEquals(RsUseDecl.Type.GLOB, ((RsUseDecl) file.getItems()[2]).getType());
+        assertEquals(RsUseDecl.Type.SIMPLE, ((RsUseDecl) file.getItems()[3]).getType());
+    }
+
+    public void testStubSize() throws Exception {
+        final int emptySize = stubSize("empty.rs", "");
+        final int size = stubSize("uses.rs", createFileText(0));
+        final int perDecl = (size - emptySize) / USE_DECLS_PER_FILE;
+        LOG.info(String.format("Use declaration stubs: %d bytes per file, %d bytes per declaration", size, perDecl));
+        assertTrue("use declaration stub takes " + perDecl + " bytes", perDecl <= MAX_STUB_SIZE_PER_DECL);
+    }
+
+    public void testLookupPerformance() throws Exception {
+        for (int i = 0; i < FILE_COUNT; i++) {
+            myFixture.addFileToProject("f" + i + ".rs", createFileText(i));
+        }
+        forbidFileLoading();
+
+        final Collection<String> keys = RsUseDeclIndex.getInstance().getAllKeys(getProject());
+        // HashMap, io, Read, Write + Item + one alias per file
+        assertTrue(keys.size() >= 5 + FILE_COUNT);
+        assertEquals(FILE_COUNT, get("HashMap").size());
+
+        PlatformTestUtil.startPerformanceTest("use decl index lookup in " + FILE_COUNT + " files", 3000, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                for (int i = 0; i < FILE_COUNT; i += 10) {
+                    assertEquals(1, get("Alias" + i).size());
+                }
+                assertEquals(FILE_COUNT, get("Write").size());
+                assertEquals(FILE_COUNT, get("Item").size());
+            }
+        }).cpuBound().assertTiming();
+    }
+
+    @NotNull
+    private static String createFileText(final int i) {
+        return "" +
+            "use std::collections::HashMap;\n" +
+            "use std::io::{self, Read, Write};\n" +
+            "use m" + i + "::Item as Alias" + i + ";\n" +
+            "use m" + i + "::*;\n";
+    }
+
+    private int stubSize(@NotNull final String fileName, @NotNull final String text) throws Exception {
+        final PsiFile file = myFixture.addFileToProject(fileName, text);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SerializationManagerEx.getInstanceEx().serialize(((PsiFileImpl) file).calcStubTree().getRoot(), out);
+        return out.size();
+    }
+
+    private void forbidFileLoading() {
+        PsiManagerEx.getInstanceEx(getProject()).setAssertOnFileLoadingFilter(VirtualFileFilter.ALL, getTestRootDisposable());
+    }
+
+    @NotNull
+    private Collection<RsUseDecl> get(@NotNull final String name) {
+        return RsUseDeclIndex.getInstance().get(name, getProject(), GlobalSearchScope.allScope(getProject()));
+    }
+}
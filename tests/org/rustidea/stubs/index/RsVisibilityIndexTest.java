@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.stubs.index;
+
+import com.intellij.openapi.vfs.VirtualFileFilter;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+import org.rustidea.psi.IRsItem;
+import org.rustidea.psi.IRsNameIdentifierOwner;
+import org.rustidea.psi.RsUseDecl;
+import org.rustidea.psi.RsVisibility;
+
+import java.util.Collection;
+
+public class RsVisibilityIndexTest extends LightPlatformCodeInsightFixtureTestCase {
+    private static final String TEXT = "" +
+        "pub fn pubFn() {}\n" +
+        "fn privFn() {}\n" +
+        "pub const PUB_CONST: Point = Point { x: 1, y: 2 };\n" +
+        "const PRIV_CONST: i32 = 1;\n" +
+        "pub static PUB_STATIC: (i32, i32) = (1, 2);\n" +
+        "static PRIV_STATIC: i32 = 1;\n" +
+        "pub struct PubStruct;\n" +
+        "#[derive(Clone)] struct PrivStruct;\n" +
+        "#[derive(Clone)] pub struct PubStructWithAttrs;\n" +
+        "pub type PubAlias = i32;\n" +
+        "type PrivAlias = i32;\n" +
+        "pub mod pubMod {}\n" +
+        "mod privMod {}\n" +
+        "pub extern crate pubCrate;\n" +
+        "extern crate privCrate;\n" +
+        "pub use a::PubUse;\n" +
+        "use a::PrivUse;\n";
+
+    public void testStubVisibility() throws Exception {
+        // initializers are skipped without building PSI, items after them must still get their own visibility
+        assertFalse(PsiTreeUtil.hasErrorElements(RsParserFacade.getFactory(getProject()).createFileFromText(TEXT)));
+
+        myFixture.addFileToProject("lib.rs", TEXT);
+        PsiManagerEx.getInstanceEx(getProject()).setAssertOnFileLoadingFilter(VirtualFileFilter.ALL, getTestRootDisposable());
+
+        for (String name : new String[]{"pubFn", "PUB_CONST", "PUB_STATIC", "PubStruct", "PubStructWithAttrs",
+            "PubAlias", "pubMod", "pubCrate"}) {
+            assertEquals(name, RsVisibility.PUBLIC, visibility(name));
+            assertSize(1, RsNamedElementIndex.getInstance().getPublic(name, getProject(), scope()));
+        }
+        for (String name : new String[]{"privFn", "PRIV_CONST", "PRIV_STATIC", "PrivStruct", "PrivAlias", "privMod",
+            "privCrate"}) {
+            assertEquals(name, RsVisibility.PRIVATE, visibility(name));
+            assertEmpty(RsNamedElementIndex.getInstance().getPublic(name, getProject(), scope()));
+        }
+
+        assertEquals(RsVisibility.PUBLIC, useDecl("PubUse").getVisibility());
+        assertEquals(RsVisibility.PRIVATE, useDecl("PrivUse").getVisibility());
+        assertEmpty(RsUseDeclIndex.getInstance().getPublic("PrivUse", getProject(), scope()));
+    }
+
+    public void testPackRoundTrip() throws Exception {
+        for (RsVisibility visibility : RsVisibility.values()) {
+            assertEquals(visibility, RsVisibility.unpack(visibility.pack()));
+        }
+    }
+
+    @NotNull
+    private RsVisibility visibility(@NotNull final String name) {
+        final Collection<IRsNameIdentifierOwner> elements =
+            RsNamedElementIndex.getInstance().get(name, getProject(), scope());
+        assertSize(1, elements);
+        return ((IRsItem) elements.iterator().next()).getVisibility();
+    }
+
+    @NotNull
+    private RsUseDecl useDecl(@NotNull final String name) {
+        final Collection<RsUseDecl> elements = RsUseDeclIndex.getInstance().get(name, getProject(), scope());
+        assertSize(1, elements);
+        return elements.iterator().next();
+    }
+
+    @NotNull
+    private GlobalSearchScope scope() {
+        return GlobalSearchScope.allScope(getProject());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.types;
+
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+import org.rustidea.psi.RsFile;
+import org.rustidea.psi.RsTypeAlias;
+
+import java.lang.ref.WeakReference;
+
+public class RsTyInterningTest extends LightPlatformCodeInsightFixtureTestCase {
+    public void testPsiAndTextAreSameInstance() throws Exception {
+        final RsTy fromPsi = typeOf("type A = ::std::vec::Vec<(i32, ())>;");
+        assertSame(fromPsi, typeOf("type B = ::std::vec::Vec<(i32,())>;"));
+        assertSame(fromPsi, RsTyFactory.fromText("::std::vec::Vec<(i32, ())>"));
+        assertSame(fromPsi, RsTyFactory.fromText(fromPsi.toString()));
+        assertEquals("::std::vec::Vec<(i32, ())>", fromPsi.toString());
+    }
+
+    public void testStructure() throws Exception {
+        final RsPathTy path = (RsPathTy) typeOf("type A = self::a::B<C, D>;");
+        assertEquals("B", path.getName());
+        assertEquals(2, path.getTypeArguments().size());
+        assertSame(RsTyFactory.fromText("C"), path.getTypeArguments().get(0));
+        assertSame(RsTyFactory.fromText("self::a"), path.getQualifier());
+        assertFalse(path.isGlobal());
+        assertTrue(((RsPathTy) RsTyFactory.fromText("::a::b")).isGlobal());
+    }
+
+    public void testTuples() throws Exception {
+        assertSame(RsTupleTy.UNIT, typeOf("type A = ();"));
+        assertSame(RsTupleTy.UNIT, RsTyFactory.fromText("( )"));
+        assertSame(RsTyFactory.fromText("i32"), RsTyFactory.fromText("(i32)"));
+        assertNotSame(RsTyFactory.fromText("i32"), RsTyFactory.fromText("(i32,)"));
+        assertEquals("(i32,)", RsTyFactory.fromText("(i32,)").toString());
+        assertSame(typeOf("type A = (a::B, ());"), RsTyFactory.fromText("(a::B, ())"));
+    }
+
+    public void testDifferentTypesAreDifferentInstances() throws Exception {
+        assertNotSame(RsTyFactory.fromText("a::B"), RsTyFactory.fromText("::a::B"));
+        assertNotSame(RsTyFactory.fromText("a::B<C>"), RsTyFactory.fromText("a::B<D>"));
+        assertNotSame(RsTyFactory.fromText("(A, B)"), RsTyFactory.fromText("(B, A)"));
+        assertNotSame(RsTyFactory.fromText("a::b::C"), RsTyFactory.fromText("a::bb::C"));
+    }
+
+    public void testUnknown() throws Exception {
+        assertSame(RsUnknownTy.INSTANCE, RsTyFactory.fromText(""));
+        assertSame(RsUnknownTy.INSTANCE, RsTyFactory.fromText("a::"));
+        assertSame(RsUnknownTy.INSTANCE, RsTyFactory.fromText("a::B<C"));
+        assertSame(RsUnknownTy.INSTANCE, RsTyFactory.fromText("a b"));
+        assertFalse(RsUnknownTy.INSTANCE.equals(RsTyFactory.fromText("?")));
+    }
+
+    public void testInterningIsWeak() throws Exception {
+        WeakReference<RsTy> ref = new WeakReference<RsTy>(RsTyFactory.fromText("unique::Name<for_::Gc>"));
+        for (int i = 0; i < 10 && ref.get() != null; i++) {
+            System.gc();
+        }
+        assertNull(ref.get());
+    }
+
+    @NotNull
+    private RsTy typeOf(@NotNull final String text) {
+        final RsFile file = RsParserFacade.getFactory(getProject()).createFileFromText(text);
+        return RsTyFactory.fromPsi(((RsTypeAlias) file.getItems()[0]).getType());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015 Marek Kaput
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rustidea.types;
+
+import com.intellij.openapi.vfs.VirtualFileFilter;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.impl.PsiManagerEx;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.rustidea.parser.RsParserFacade;
+import org.rustidea.psi.IRsItem;
+import org.rustidea.psi.IRsTypedItem;
+import org.rustidea.psi.RsStaticItem;
+import org.rustidea.psi.RsTypeAlias;
+import org.rustidea.stubs.index.IRsStringStubIndex;
+import org.rustidea.stubs.index.RsConstItemIndex;
+import org.rustidea.stubs.index.RsNamedElementIndex;
+import org.rustidea.stubs.index.RsStaticItemIndex;
+import org.rustidea.stubs.index.RsTypeAliasIndex;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RsTypeAliasResolverTest extends LightPlatformCodeInsightFixtureTestCase {
+    public void testSignatureStubs() throws Exception {
+        final String text = "" +
+            "type Alias = ::std::vec::Vec< ( i32 , () ) >;\n" +
+            "const CONST: Option<u8> = None;\n" +
+            "const BRACED: Point = Point { x: (1, 2) };\n" +
+            "static STATIC: u8 = 0;\n" +
+            "static mut STATIC_MUT: (u8, u16) = (0, 0);\n" +
+            "const MISSING = 1;\n";
+        final Map<String, String> astTypeTexts = new HashMap<String, String>();
+        for (IRsItem item : RsParserFacade.getFactory(getProject()).createFileFromText(text).getItems()) {
+            astTypeTexts.put(((IRsTypedItem) item).getName(), ((IRsTypedItem) item).getTypeText());
+        }
+
+        myFixture.addFileToProject("lib.rs", text);
+        assertNoFileLoading();
+
+        assertEquals("Point", single(RsConstItemIndex.getInstance(), "BRACED").getTypeText());
+        for (Map.Entry<String, String> entry : astTypeTexts.entrySet()) {
+            final IRsTypedItem item = (IRsTypedItem) single(RsNamedElementIndex.getInstance(), entry.getKey());
+            assertEquals("stub and AST type text differ", entry.getValue(), item.getTypeText());
+        }
+
+        assertEquals("::std::vec::Vec<(i32, ())>", single(RsTypeAliasIndex.getInstance(), "Alias").getTypeText());
+        assertEquals("Option<u8>", single(RsConstItemIndex.getInstance(), "CONST").getTypeText());
+        assertNull(single(RsConstItemIndex.getInstance(), "MISSING").getTypeText());
+
+        final RsStaticItem immutable = single(RsStaticItemIndex.getInstance(), "STATIC");
+        assertEquals("u8", immutable.getTypeText());
+        assertFalse(immutable.isMutable());
+        final RsStaticItem mutable = single(RsStaticItemIndex.getInstance(), "STATIC_MUT");
+        assertEquals("(u8, u16)", mutable.getTypeText());
+        assertTrue(mutable.isMutable());
+    }
+
+    public void testChainAcrossFiles() throws Exception {
+        myFixture.addFileToProject("lib.rs", "mod a;\nmod b;\nmod c;\n");
+        myFixture.addFileToProject("a.rs", "type A = B;\n");
+        myFixture.addFileToProject("b.rs", "type B = C;\n");
+        myFixture.addFileToProject("c.rs", "type C = Vec<(i32, u8)>;\n");
+        assertNoFileLoading();
+
+        final RsTypeAliasResolver.Result result = RsTypeAliasResolver.resolve(alias("A"));
+        assertFalse(result.isCyclic());
+        assertSame(RsTyFactory.fromText("Vec<(i32, u8)>"), result.getType());
+        assertEquals(3, result.getChain().size());
+        assertEquals("C", result.getChain().get(2).getName());
+    }
+
+    public void testPreferSameModule() throws Exception {
+        myFixture.addFileToProject("lib.rs", "mod a;\nmod b;\nmod c;\n");
+        myFixture.addFileToProject("a.rs", "type A = T;\ntype T = i32;\n");
+        myFixture.addFileToProject("b.rs", "type T = u8;\n");
+        myFixture.addFileToProject("c.rs", "type D = T;\n");
+        assertNoFileLoading();
+
+        assertSame(RsTyFactory.fromText("i32"), RsTypeAliasResolver.resolve(alias("A")).getType());
+        // ambiguous, chasing stops at the reference
+        assertSame(RsTyFactory.fromText("T"), RsTypeAliasResolver.resolve(alias("D")).getType());
+    }
+
+    public void testSameFileOtherModuleDoesNotWin() throws Exception {
+        myFixture.addFileToProject("lib.rs", "mod a;\nmod b;\n");
+        myFixture.addFileToProject("a.rs", "mod inner { type T = u8; }\ntype A = T;\n");
+        myFixture.addFileToProject("b.rs", "type T = i32;\n");
+        assertNoFileLoading();
+
+        // inner::T is not in scope of A, so both candidates count and the name is ambiguous
+        assertSame(RsTyFactory.fromText("T"), RsTypeAliasResolver.resolve(alias("A")).getType());
+    }
+
+    public void testShadowedByStructOrUse() throws Exception {
+        myFixture.addFileToProject("lib.rs", "mod a;\nmod b;\n");
+        myFixture.addFileToProject("a.rs", "" +
+            "struct Foo;\n" +
+            "type A = Foo;\n" +
+            "use x::Bar;\n" +
+            "type B = Bar;\n" +
+            "use x::Baz as Qux;\n" +
+            "type C = Baz;\n");
+        myFixture.addFileToProject("b.rs", "type Foo = i32;\ntype Bar = i32;\ntype Baz = u8;\n");
+        assertNoFileLoading();
+
+        assertSame(RsTyFactory.fromText("Foo"), RsTypeAliasResolver.resolve(alias("A")).getType());
+        assertSame(RsTyFactory.fromText("Bar"), RsTypeAliasResolver.resolve(alias("B")).getType());
+        // renamed import binds only Qux
+        assertSame(RsTyFactory.fromText("u8"), RsTypeAliasResolver.resolve(alias("C")).getType());
+    }
+
+    public void testQualifiedAndForeignAliasesAreNotFollowed() throws Exception {
+        myFixture.addFileToProject("lib.rs", "mod a;\n");
+        myFixture.addFileToProject("a.rs", "type Qualified = foo::Bar;\ntype Foreign = Other;\n");
+        myFixture.addFileToProject("bar.rs", "type Bar = i32;\n");
+        myFixture.addFileToProject("other/lib.rs", "type Other = u8;\n");
+        assertNoFileLoading();
+
+        assertSame(RsTyFactory.fromText("foo::Bar"), RsTypeAliasResolver.resolve(alias("Qualified")).getType());
+        assertSame(RsTyFactory.fromText("Other"), RsTypeAliasResolver.resolve(alias("Foreign")).getType());
+    }
+
+    public void testCycle() throws Exception {
+        myFixture.addFileToProject("lib.rs", "mod a;\nmod b;\nmod c;\n");
+        myFixture.addFileToProject("a.rs", "type X = Y;\n");
+        myFixture.addFileToProject("b.rs", "type Y = Z;\n");
+        myFixture.addFileToProject("c.rs", "type Z = X;\n");
+        myFixture.addFileToProject("d.rs", "type S = S;\n");
+        assertNoFileLoading();
+
+        final RsTypeAliasResolver.Result result = RsTypeAliasResolver.resolve(alias("X"));
+        assertTrue(result.isCyclic());
+        assertSame(RsUnknownTy.INSTANCE, result.getType());
+        assertEquals(3, result.getChain().size());
+
+        assertTrue(RsTypeAliasResolver.resolve(alias("S")).isCyclic());
+    }
+
+    private void assertNoFileLoading() {
+        PsiManagerEx.getInstanceEx(getProject()).setAssertOnFileLoadingFilter(VirtualFileFilter.ALL, getTestRootDisposable());
+    }
+
+    @NotNull
+    private RsTypeAlias alias(@NotNull final String name) {
+        return single(RsTypeAliasIndex.getInstance(), name);
+    }
+
+    @NotNull
+    private <T extends PsiElement> T single(@NotNull final IRsStringStubIndex<T> index, @NotNull final String name) {
+        final Collection<T> elements = index.get(name, getProject(), GlobalSearchScope.allScope(getProject()));
+        assertSize(1, elements);
+        return elements.iterator().next();
+    }
+}
@@ -21,6 +21,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class ArrayFactoriesTest {
     @Test
@@ -41,4 +42,11 @@ public class ArrayFactoriesTest {
         assertEquals(10, arr10.length);
         assertArrayEquals(new Object[10], arr10);
     }
+
+    @Test
+    public void testCached() throws Exception {
+        assertSame(ArrayFactories.get(String.class), ArrayFactories.get(String.class));
+        assertSame(ArrayFactories.empty(String.class), ArrayFactories.empty(String.class));
+        assertSame(ArrayFactories.empty(String.class), ArrayFactories.get(String.class).create(0));
+    }
 }